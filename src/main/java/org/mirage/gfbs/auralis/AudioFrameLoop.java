@@ -0,0 +1,239 @@
+package org.mirage.gfbs.auralis;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.openal.AL11;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-frame audio update run on the AL thread, independent of the 20 Hz client tick: listener
+ * position/orientation from the latest published snapshot, streamed buffer refills, natural
+ * stop detection, per-source gain eased toward the targets of the last tick, parameter ramps,
+ * entity-following positions and occlusion low-pass filters.
+ * <p>
+ * Listener snapshots are immutable objects published through a volatile field. Gain targets
+ * are reused buffers handed between the client and AL threads, each owned by one side at a
+ * time. Neither handoff blocks the AL thread.
+ */
+final class AudioFrameLoop {
+    record ListenerSnapshot(double x, double y, double z, float[] orientation, long nanos) {}
+
+    /**
+     * Per-tick gain snapshot. A buffer goes from the tick to the published slot, to the frame
+     * loop, then back through the spare slot. The tick only refills buffers it took from a
+     * slot, so it never writes one a frame may still be reading, however late that frame runs.
+     */
+    static final class GainTargets {
+        AuralisSoundInstanceImpl[] instances = new AuralisSoundInstanceImpl[0];
+        float[] unitGains = new float[0];
+        float[] volumes = new float[0];
+        int count;
+
+        private void ensureCapacity(int n) {
+            if (instances.length >= n) return;
+            int capacity = Math.max(n, instances.length * 2);
+            instances = Arrays.copyOf(instances, capacity);
+            unitGains = Arrays.copyOf(unitGains, capacity);
+            volumes = Arrays.copyOf(volumes, capacity);
+        }
+    }
+
+    private static final double TICK_SECONDS = 0.05;
+    // Longest gap between snapshots that is still extrapolated across.
+    private static final double MAX_EXTRAPOLATE_SECONDS = 0.25;
+    private static final double POSITION_EPSILON = 1.0e-4;
+    // Tick snapshots are ignored while render frames published one this recently.
+    private static final long RENDER_STALE_NANOS = 100_000_000L;
+
+    private final OpenALSourcePool sourcePool;
+    private final float volumeSmoothing;
+    private final @Nullable LowpassFilters lowpass;
+
+    private volatile ListenerSnapshot listener;
+    private volatile long lastRenderPublishNanos;
+    private final AtomicReference<GainTargets> publishedGains = new AtomicReference<>();
+    private final AtomicReference<GainTargets> spareGains = new AtomicReference<>();
+    // Client thread only: a published buffer taken back before any frame read it.
+    private @Nullable GainTargets reclaimedGains;
+
+    // AL thread only.
+    private boolean initialized;
+    private long lastFrameNanos;
+    private ListenerSnapshot current;
+    private ListenerSnapshot previous;
+    private double sentX = Double.NaN;
+    private double sentY;
+    private double sentZ;
+    private final float[] sentOrientation = new float[6];
+    private GainTargets frameGains = new GainTargets();
+
+    /**
+     * @param volumeSmoothing fraction of the remaining gain change applied per 20 Hz tick;
+     *                        scaled to the actual frame time, 0 or 1 applies gains immediately
+     * @param lowpass         occlusion filters, or null without occlusion or EFX
+     */
+    AudioFrameLoop(OpenALSourcePool sourcePool, float volumeSmoothing, @Nullable LowpassFilters lowpass) {
+        this.sourcePool = sourcePool;
+        this.volumeSmoothing = volumeSmoothing;
+        this.lowpass = lowpass;
+    }
+
+    /** Publishes the camera state from the render thread. */
+    void publishListener(Vec3 pos, Vec3 forward, Vec3 up) {
+        long now = System.nanoTime();
+        lastRenderPublishNanos = now;
+        publish(pos, forward, up, now);
+    }
+
+    /** Publishes from the client tick, only while no render frames are publishing. */
+    void publishListenerFallback(Vec3 pos, Vec3 forward, Vec3 up) {
+        long now = System.nanoTime();
+        long last = lastRenderPublishNanos;
+        if (last != 0L && now - last < RENDER_STALE_NANOS) return;
+        publish(pos, forward, up, now);
+    }
+
+    private void publish(Vec3 pos, Vec3 forward, Vec3 up, long now) {
+        float[] ori = {
+                (float) forward.x, (float) forward.y, (float) forward.z,
+                (float) up.x, (float) up.y, (float) up.z
+        };
+        listener = new ListenerSnapshot(pos.x, pos.y, pos.z, ori, now);
+    }
+
+    /** The buffer the client tick fills next, with room for {@code capacity} sources. */
+    GainTargets gainBuffer(int capacity) {
+        GainTargets t = reclaimedGains;
+        reclaimedGains = null;
+        if (t == null) t = spareGains.getAndSet(null);
+        if (t == null) t = new GainTargets();
+        t.ensureCapacity(capacity);
+        return t;
+    }
+
+    /**
+     * Publishes the first {@code count} entries of the buffer from {@link #gainBuffer}, split into
+     * volume and the rest so volume ramps can be evaluated per frame.
+     */
+    void publishGains(GainTargets t, int count) {
+        // Drop references left from a longer tick so removed instances can be collected.
+        Arrays.fill(t.instances, count, Math.max(count, t.count), null);
+        t.count = count;
+        reclaimedGains = publishedGains.getAndSet(t);
+    }
+
+    void runFrame() {
+        long now = System.nanoTime();
+        double dt = initialized ? Math.min((now - lastFrameNanos) * 1.0e-9, MAX_EXTRAPOLATE_SECONDS) : TICK_SECONDS;
+        lastFrameNanos = now;
+        if (!initialized) {
+            initialized = true;
+            AL11.alDopplerFactor(0.0f);
+            AL11.alListener3f(AL11.AL_VELOCITY, 0f, 0f, 0f);
+        }
+
+        updateListener(now);
+
+        float k = smoothingFactor(dt);
+        for (Map.Entry<OpenALSourcePool.SourceHandle, AuralisSoundInstanceImpl> e : sourcePool.sourceToInstance.entrySet()) {
+            AuralisSoundInstanceImpl inst = e.getValue();
+            inst.updateStreamedBuffersOnALThread();
+            inst.disposeIfNaturallyStoppedOnALThread();
+            inst.applyFrameParamsOnALThread(now);
+            if (lowpass != null) {
+                lowpass.apply(e.getKey().sourceId(), inst, k);
+            }
+        }
+
+        GainTargets latest = publishedGains.getAndSet(null);
+        if (latest != null) {
+            spareGains.set(frameGains);
+            frameGains = latest;
+        }
+        GainTargets targets = frameGains;
+        AuralisSoundInstanceImpl[] instances = targets.instances;
+        float[] unitGains = targets.unitGains;
+        float[] volumes = targets.volumes;
+        int count = targets.count;
+        for (int i = 0; i < count; i++) {
+            AuralisSoundInstanceImpl inst = instances[i];
+            if (inst != null) {
+                inst.smoothGainOnALThread(unitGains[i], volumes[i], k, now);
+            }
+        }
+    }
+
+    /** Per-tick smoothing converted to this frame's duration, so the rate does not change the curve. */
+    private float smoothingFactor(double dt) {
+        float s = volumeSmoothing;
+        if (s <= 0.0f || s >= 1.0f) return 1.0f;
+        return (float) (1.0 - Math.pow(1.0 - s, dt / TICK_SECONDS));
+    }
+
+    /**
+     * Extrapolates the latest snapshot along the velocity between the last two, so a slow
+     * publisher still yields smooth motion, and skips the AL calls when nothing changed.
+     */
+    private void updateListener(long now) {
+        ListenerSnapshot latest = listener;
+        if (latest == null) return;
+        if (latest != current) {
+            previous = current;
+            current = latest;
+        }
+
+        double x = latest.x();
+        double y = latest.y();
+        double z = latest.z();
+        ListenerSnapshot prev = previous;
+        if (prev != null) {
+            double interval = (latest.nanos() - prev.nanos()) * 1.0e-9;
+            if (interval > 0.0 && interval <= MAX_EXTRAPOLATE_SECONDS) {
+                double ahead = Math.min((now - latest.nanos()) * 1.0e-9, interval) / interval;
+                x += (latest.x() - prev.x()) * ahead;
+                y += (latest.y() - prev.y()) * ahead;
+                z += (latest.z() - prev.z()) * ahead;
+            }
+        }
+
+        if (Double.isNaN(sentX)
+                || Math.abs(x - sentX) > POSITION_EPSILON
+                || Math.abs(y - sentY) > POSITION_EPSILON
+                || Math.abs(z - sentZ) > POSITION_EPSILON) {
+            AL11.alListener3f(AL11.AL_POSITION, (float) x, (float) y, (float) z);
+            sentX = x;
+            sentY = y;
+            sentZ = z;
+        }
+
+        float[] ori = latest.orientation();
+        if (!Arrays.equals(ori, sentOrientation)) {
+            AL11.alListenerfv(AL11.AL_ORIENTATION, ori);
+            System.arraycopy(ori, 0, sentOrientation, 0, ori.length);
+        }
+    }
+}
@@ -24,6 +24,7 @@ package org.mirage.gfbs.auralis;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.fml.common.Mod;
 import org.lwjgl.openal.*;
+import org.mirage.gfbs.auralis.utils.TimingWheel;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -101,6 +102,34 @@ public final class AuralisAL implements AutoCloseable {
         }
     }
 
+    /** ALC_SOFT_device_clock and AL_SOFT_source_start_delay, which older LWJGL builds lack. */
+    private static final class AlTimingExt {
+        static final int ALC_DEVICE_CLOCK_SOFT = 0x1600;
+        static final Method ALC_GET_INTEGER64V;
+        static final Method AL_SOURCE_PLAY_AT_TIME;
+
+        static {
+            Method getInteger64v = null;
+            Method playAtTime = null;
+            try {
+                Class<?> c = Class.forName("org.lwjgl.openal.SOFTDeviceClock");
+                getInteger64v = c.getMethod("alcGetInteger64vSOFT", long.class, int.class, long[].class);
+            } catch (Throwable ignore) {
+            }
+            try {
+                Class<?> c = Class.forName("org.lwjgl.openal.SOFTSourceStartDelay");
+                playAtTime = c.getMethod("alSourcePlayAtTimeSOFT", int.class, long.class);
+            } catch (Throwable ignore) {
+            }
+            ALC_GET_INTEGER64V = getInteger64v;
+            AL_SOURCE_PLAY_AT_TIME = playAtTime;
+        }
+    }
+
+    // Timer resolution and wheel size: 1 ms ticks, ~0.5 s per rotation.
+    private static final long TIMER_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int TIMER_SLOTS = 512;
+
     public static final class Config {
         /** OpenAL device name, or null for default device. */
         public final String deviceName;
@@ -205,6 +234,15 @@ public final class AuralisAL implements AutoCloseable {
 
     private final AtomicReference<Throwable> fatalError;
 
+    private volatile Runnable frameCallback;
+    private volatile long framePeriodNanos;
+    private volatile long nextFrameNanos;
+
+    // AL thread only.
+    private final TimingWheel<Runnable> timers = new TimingWheel<>(TIMER_TICK_NANOS, TIMER_SLOTS, System.nanoTime());
+    private volatile boolean hasDeviceClock;
+    private volatile boolean hasStartDelay;
+
     public AuralisAL(Config config) {
         this.config = Objects.requireNonNull(config, "config");
 
@@ -363,6 +401,84 @@ public final class AuralisAL implements AutoCloseable {
         return joinFuture(f);
     }
 
+    /**
+     * Runs {@code frame} on the AL thread every {@code 1/hz} seconds, between queued tasks.
+     * Pass null to stop. Exceptions thrown by the callback are logged, not fatal.
+     */
+    public void setFrameCallback(Runnable frame, int hz) {
+        if (frame != null && hz <= 0) throw new IllegalArgumentException("hz must be positive");
+        framePeriodNanos = (frame != null) ? TimeUnit.SECONDS.toNanos(1) / hz : 0L;
+        nextFrameNanos = System.nanoTime();
+        frameCallback = frame;
+        // Wake a thread blocked in take() so it starts waiting on the frame deadline.
+        queue.offer(() -> {});
+    }
+
+    /**
+     * Runs {@code task} on the AL thread once {@link System#nanoTime()} reaches
+     * {@code deadlineNanos}, to within one millisecond. The loop sleeps until the next timer,
+     * so pending timers cost nothing between deadlines.
+     */
+    public void scheduleAt(long deadlineNanos, Runnable task) {
+        Objects.requireNonNull(task, "task");
+        if (isOnALThread()) {
+            timers.schedule(deadlineNanos, task);
+        } else {
+            submit(() -> timers.schedule(deadlineNanos, task));
+        }
+    }
+
+    /**
+     * Current device clock in nanoseconds (ALC_SOFT_device_clock), the time base of
+     * {@link #playAtDeviceTime}. Falls back to {@link System#nanoTime()} without the extension.
+     */
+    public long deviceTimeNanos() {
+        if (hasDeviceClock) {
+            long[] v = new long[1];
+            try {
+                AlTimingExt.ALC_GET_INTEGER64V.invoke(null, deviceHandle, AlTimingExt.ALC_DEVICE_CLOCK_SOFT, v);
+                return v[0];
+            } catch (Throwable t) {
+                hasDeviceClock = false;
+                hasStartDelay = false;
+                GFBsAuralis.LOGGER.warn("Device clock query failed, falling back to the system clock: {}", t.getMessage());
+            }
+        }
+        return System.nanoTime();
+    }
+
+    /** True if {@link #playAtDeviceTime} starts sources sample-accurately on the device. */
+    public boolean hasSampleAccurateStart() {
+        return hasStartDelay;
+    }
+
+    /**
+     * AL thread only. Starts {@code sourceId} at {@code deviceTimeNanos} with
+     * alSourcePlayAtTimeSOFT where available, otherwise plays it now.
+     */
+    public void playAtDeviceTime(int sourceId, long deviceTimeNanos) {
+        if (hasStartDelay) {
+            try {
+                AlTimingExt.AL_SOURCE_PLAY_AT_TIME.invoke(null, sourceId, deviceTimeNanos);
+                return;
+            } catch (Throwable t) {
+                hasStartDelay = false;
+                GFBsAuralis.LOGGER.warn("alSourcePlayAtTimeSOFT failed, scheduled starts fall back to timer precision: {}", t.getMessage());
+            }
+        }
+        AL11.alSourcePlay(sourceId);
+    }
+
+    private void runTimers(long now) {
+        timers.advance(now, task -> {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                GFBsAuralis.LOGGER.error("Error in OpenAL timer task: {}", t.getMessage(), t);
+            }
+        });
+    }
+
     public long deviceHandle() { ensureRunning(); return deviceHandle; }
     public long contextHandle() { ensureRunning(); return contextHandle; }
     public ALCCapabilities alcCapabilities() { ensureRunning(); return alcCaps; }
@@ -377,7 +493,23 @@ public final class AuralisAL implements AutoCloseable {
 
             while (!stopping.get()) {
                 ALTask task;
-                if (config.idleWaitMillis <= 0L) {
+                Runnable frame = frameCallback;
+                long now = System.nanoTime();
+                runTimers(now);
+                long timerWait = timers.isEmpty() ? Long.MAX_VALUE : Math.max(0L, timers.nextDeadline() - now);
+                if (frame != null) {
+                    long wait = nextFrameNanos - now;
+                    if (wait <= 0L) {
+                        runFrame(frame);
+                        long next = nextFrameNanos + framePeriodNanos;
+                        // Fell behind (e.g. a long task): skip missed frames instead of bursting.
+                        nextFrameNanos = (next - now <= 0L) ? now + framePeriodNanos : next;
+                        continue;
+                    }
+                    task = queue.poll(Math.min(wait, timerWait), TimeUnit.NANOSECONDS);
+                } else if (timerWait != Long.MAX_VALUE) {
+                    task = queue.poll(timerWait, TimeUnit.NANOSECONDS);
+                } else if (config.idleWaitMillis <= 0L) {
                     task = queue.take();
                 } else {
                     task = queue.poll(config.idleWaitMillis, TimeUnit.MILLISECONDS);
@@ -416,6 +548,15 @@ public final class AuralisAL implements AutoCloseable {
         }
     }
 
+    private void runFrame(Runnable frame) {
+        try {
+            frame.run();
+            if (config.strictChecks) alCheck("after frame");
+        } catch (Throwable t) {
+            GFBsAuralis.LOGGER.error("Error in OpenAL frame callback: {}", t.getMessage(), t);
+        }
+    }
+
     private void initOpenAL() {
         // ---- Device open (with safe fallback) ----
         long dev = alcOpenDevice(config.deviceName);
@@ -474,6 +615,9 @@ public final class AuralisAL implements AutoCloseable {
 
         this.alCaps = AL.createCapabilities(this.alcCaps);
 
+        this.hasDeviceClock = AlTimingExt.ALC_GET_INTEGER64V != null && alcIsExtensionPresent(dev, "ALC_SOFT_device_clock");
+        this.hasStartDelay = hasDeviceClock && AlTimingExt.AL_SOURCE_PLAY_AT_TIME != null && alIsExtensionPresent("AL_SOFT_source_start_delay");
+
         AL11.alDistanceModel(AL11.AL_INVERSE_DISTANCE_CLAMPED);
 
         AL11.alDopplerFactor(1.0f);
@@ -515,6 +659,8 @@ public final class AuralisAL implements AutoCloseable {
         this.alCaps = null;
         this.alcCaps = null;
         this.usingThreadLocalContext = false;
+        this.hasDeviceClock = false;
+        this.hasStartDelay = false;
     }
 
     public void alcCheck(String where) {
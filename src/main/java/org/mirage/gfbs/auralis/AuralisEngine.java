@@ -26,20 +26,33 @@ import net.minecraft.client.Camera;
 import net.minecraft.client.resources.sounds.Sound;
 import net.minecraft.client.sounds.SoundManager;
 import net.minecraft.client.sounds.WeighedSoundEvents;
+import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.sounds.SoundEvent;
 import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.Vec3;
 import org.jetbrains.annotations.Nullable;
 import org.lwjgl.openal.AL11;
+import org.lwjgl.system.MemoryStack;
 import org.mirage.gfbs.auralis.api.AuralisSoundInstance;
 import org.mirage.gfbs.auralis.api.IAuralisEngine;
+import org.mirage.gfbs.auralis.api.SoundSpec;
+import org.mirage.gfbs.auralis.utils.OggVorbisDecoder;
 
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 public final class AuralisEngine implements IAuralisEngine {
     private final Minecraft mc;
@@ -48,9 +61,26 @@ public final class AuralisEngine implements IAuralisEngine {
     private final OpenALSourcePool sourcePool;
     private final SoundBufferCache bufferCache;
     private final float attenuationExponent;
-    private final float volumeSmoothing;
+    private final boolean lazyDecode;
+    private final float virtualGainThreshold;
+    private final int virtualHoldTicks;
 
     private final ConcurrentMap<AuralisSoundInstance, AuralisSoundInstanceImpl> instances = new ConcurrentHashMap<>();
+    private final AudioFrameLoop frameLoop;
+    private final boolean framed;
+    private final SpatialGrid grid = new SpatialGrid();
+    private final SoundEventDispatcher events;
+    private final InstanceParams params = new InstanceParams();
+    private final MixerBuses buses = new MixerBuses();
+    private final float[] busGains = new float[MixerBuses.MAX_BUSES];
+    private final TimelineSequencer timelines;
+    private final EntityEmitters emitters;
+    private final @Nullable OcclusionSystem occlusion;
+    private final @Nullable LowpassFilters lowpass;
+    // Client-thread scratch for the attenuation pass.
+    private final List<AuralisSoundInstanceImpl> visited = new ArrayList<>();
+    private int[] visitedSlots = new int[64];
+    private int tickStamp = 0;
 
     public AuralisEngine(
             Minecraft mc,
@@ -59,15 +89,101 @@ public final class AuralisEngine implements IAuralisEngine {
             int streamedChunkSize,
             int maxStreamedBytes,
             float attenuationExponent,
-            float volumeSmoothing
+            float volumeSmoothing,
+            boolean lazyDecode,
+            OggVorbisDecoder.Options residentDecodeOptions,
+            OggVorbisDecoder.Options streamedDecodeOptions,
+            float virtualGainThreshold,
+            int virtualHoldTicks,
+            int voiceStealFadeMillis,
+            int audioUpdateHz,
+            boolean coalesceSoundEvents,
+            List<? extends String> busReservations,
+            float occlusionStrength,
+            int occlusionRaysPerTick
     ) {
         this.mc = Objects.requireNonNull(mc, "mc");
         this.al = Objects.requireNonNull(al, "al");
 
-        this.sourcePool = new OpenALSourcePool(al, maxSources);
-        this.bufferCache = new SoundBufferCache(mc, al, streamedChunkSize, maxStreamedBytes);
+        this.sourcePool = new OpenALSourcePool(al, maxSources, voiceStealFadeMillis);
+        this.bufferCache = new SoundBufferCache(mc, al, streamedChunkSize, maxStreamedBytes, residentDecodeOptions, streamedDecodeOptions);
         this.attenuationExponent = attenuationExponent;
-        this.volumeSmoothing = volumeSmoothing;
+        this.lazyDecode = lazyDecode;
+        this.virtualGainThreshold = Math.max(0.0f, virtualGainThreshold);
+        this.virtualHoldTicks = Math.max(1, virtualHoldTicks);
+        applyBusReservations(busReservations, maxSources);
+
+        this.events = new SoundEventDispatcher(coalesceSoundEvents);
+        this.timelines = new TimelineSequencer(this, al, new TimelineLibrary(mc));
+        this.emitters = new EntityEmitters(mc);
+        if (occlusionStrength > 0.0f) {
+            this.occlusion = new OcclusionSystem(mc, occlusionStrength, occlusionRaysPerTick);
+            // Without EFX occlusion only lowers the gain.
+            this.lowpass = al.alcCapabilities().ALC_EXT_EFX ? new LowpassFilters() : null;
+            if (lowpass == null) {
+                GFBsAuralis.LOGGER.info("ALC_EXT_EFX not available; occlusion will not filter high frequencies");
+            }
+        } else {
+            this.occlusion = null;
+            this.lowpass = null;
+        }
+        this.frameLoop = new AudioFrameLoop(sourcePool, volumeSmoothing, lowpass);
+        this.framed = audioUpdateHz > 0;
+        if (framed) {
+            al.setFrameCallback(frameLoop::runFrame, audioUpdateHz);
+        }
+    }
+
+    /** Parses {@code name=count} entries into source reservations. */
+    private void applyBusReservations(List<? extends String> entries, int maxSources) {
+        int total = 0;
+        for (String entry : entries) {
+            int eq = entry.indexOf('=');
+            int count;
+            try {
+                count = (eq > 0) ? Integer.parseInt(entry.substring(eq + 1).trim()) : -1;
+            } catch (NumberFormatException e) {
+                count = -1;
+            }
+            if (count < 0) {
+                GFBsAuralis.LOGGER.warn("Ignoring malformed bus reservation '{}', expected name=count", entry);
+                continue;
+            }
+            int bus = buses.indexOf(entry.substring(0, eq).trim(), true);
+            sourcePool.setReserved(bus, count);
+            total += count;
+        }
+        if (total >= maxSources) {
+            GFBsAuralis.LOGGER.warn("Bus reservations ({}) leave no sources for unreserved buses (maxSources={})", total, maxSources);
+        }
+    }
+
+    /**
+     * Publishes the camera for the AL frame loop. Called every rendered frame so the listener
+     * follows the camera at frame rate rather than tick rate.
+     */
+    public void publishListener() {
+        Camera cam = mc.gameRenderer.getMainCamera();
+        if (!cam.isInitialized()) return;
+        float pitch = cam.getXRot();
+        float yaw = cam.getYRot();
+        frameLoop.publishListener(
+                cam.getPosition(),
+                Vec3.directionFromRotation(pitch, yaw),
+                Vec3.directionFromRotation(pitch - 90.0F, yaw)
+        );
+    }
+
+    /** Invalidates cached occlusion through a changed block; called from the client level on the client thread. */
+    public void onBlockChanged(BlockPos pos, BlockState oldState, BlockState newState) {
+        if (occlusion != null) {
+            occlusion.onBlockChanged(pos, oldState, newState);
+        }
+    }
+
+    /** Moves entity-attached sounds to their entities; called every rendered frame. */
+    public void updateEmitters(float partialTick) {
+        emitters.update(partialTick);
     }
 
     @Override
@@ -84,52 +200,125 @@ public final class AuralisEngine implements IAuralisEngine {
         ResourceLocation eventId = soundEvent.getLocation();
 
         try {
-            Sound chosen = resolveToConcreteSound(eventId);
-            ResourceLocation raw = chosen.getLocation();
-            String ns = raw.getNamespace();
-            String path = raw.getPath();
-            boolean hasSoundsPrefix = path.startsWith("sounds/");
-            boolean hasOggSuffix = path.endsWith(".ogg");
-            String normalizedPath;
-            if (hasSoundsPrefix && hasOggSuffix) {
-                normalizedPath = path;
-            } else if (hasSoundsPrefix) {
-                normalizedPath = path + ".ogg";
-            } else if (hasOggSuffix) {
-                normalizedPath = "sounds/" + path;
-            } else {
-                normalizedPath = "sounds/" + path + ".ogg";
-            }
-            ResourceLocation soundPath = new ResourceLocation(ns, normalizedPath);
-
-            AuralisSoundInstanceImpl inst;
-            if (streamed) {
-                var bufferIds = bufferCache.acquireStreamedBuffers(soundPath);
-                if (bufferIds.isEmpty()) {
-                    int bufferId = bufferCache.acquireBuffer(soundPath);
-                    if (bufferId == -1) {
-                        throw new RuntimeException("Failed to acquire valid buffer for sound: " + soundPath);
-                    }
-                    inst = new AuralisSoundInstanceImpl(al, bufferId, bufferCache, sourcePool);
-                } else {
-                    inst = new AuralisSoundInstanceImpl(al, bufferIds, bufferCache, sourcePool);
-                }
-            } else {
-                int bufferId = bufferCache.acquireBuffer(soundPath);
-                if (bufferId == -1) {
-                    throw new RuntimeException("Failed to acquire valid buffer for sound: " + soundPath);
-                }
-                inst = new AuralisSoundInstanceImpl(al, bufferId, bufferCache, sourcePool);
+            ResourceLocation soundPath = resolveSoundPath(eventId);
+
+            int slot = params.allocate();
+            AuralisSoundInstanceImpl inst = new AuralisSoundInstanceImpl(al, soundPath, streamed, bufferCache, sourcePool, grid, buses, params, slot, events, emitters);
+            if (!lazyDecode && !inst.acquireBuffers()) {
+                params.release(slot);
+                throw new RuntimeException("Failed to acquire valid buffer for sound: " + soundPath);
             }
 
             instances.put(inst, inst);
+            grid.add(inst);
             return inst;
         } catch (Exception e) {
             GFBsAuralis.LOGGER.error("Failed to create sound instance for: {} ;E: {}", eventId, e.getMessage());
-            return new AuralisSoundInstanceImpl(al, -1, bufferCache, sourcePool);
+            InstanceParams own = new InstanceParams(1);
+            return new AuralisSoundInstanceImpl(al, null, false, bufferCache, sourcePool, grid, buses, own, own.allocate(), events, emitters);
         }
     }
 
+    @Override
+    public AuralisSoundInstance spawn(SoundSpec spec) {
+        return spawnAll(List.of(spec)).get(0);
+    }
+
+    @Override
+    public List<AuralisSoundInstance> spawnAll(List<SoundSpec> specs) {
+        Objects.requireNonNull(specs, "specs");
+        List<AuralisSoundInstance> out = new ArrayList<>(specs.size());
+        // Setters only touch fields while unbound, so all AL work lands in the one task below.
+        List<AuralisSoundInstanceImpl> ready = new ArrayList<>(specs.size());
+        int[] sourceIds = new int[specs.size()];
+        for (SoundSpec spec : specs) {
+            AuralisSoundInstanceImpl inst = createFromSpec(spec);
+            out.add(inst);
+            int sourceId = inst.prepareSpawn();
+            if (sourceId != 0) {
+                sourceIds[ready.size()] = sourceId;
+                ready.add(inst);
+            }
+        }
+        if (!ready.isEmpty()) {
+            al.submit(() -> startSpawned(ready, sourceIds));
+        }
+        return out;
+    }
+
+    /** Creates an unbound instance configured from {@code spec}; nothing reaches the audio thread yet. */
+    AuralisSoundInstanceImpl createFromSpec(SoundSpec spec) {
+        AuralisSoundInstanceImpl inst = (AuralisSoundInstanceImpl) create(spec.soundEvent(), spec.streamed());
+        inst.setVolume(spec.volume())
+                .setPitch(spec.pitch())
+                .setSpeed(spec.speed())
+                .setStatic(spec.isStatic())
+                .setPosition(spec.position())
+                .setLooping(spec.looping())
+                .setPriority(spec.priority())
+                .setMinDistance(spec.minDistance())
+                .setMaxDistance(spec.maxDistance())
+                .setBus(spec.bus());
+        if (spec.startSeconds() >= 0.0f) {
+            inst.seek(spec.startSeconds());
+        }
+        return inst;
+    }
+
+    private static void startSpawned(List<AuralisSoundInstanceImpl> ready, int[] sourceIds) {
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer play = stack.mallocInt(ready.size());
+            for (int i = 0; i < ready.size(); i++) {
+                try {
+                    if (ready.get(i).startSpawnOnALThread(sourceIds[i])) {
+                        play.put(sourceIds[i]);
+                    }
+                } catch (Throwable t) {
+                    GFBsAuralis.LOGGER.error("Failed to start spawned sound: {}", t.getMessage(), t);
+                }
+            }
+            play.flip();
+            if (play.hasRemaining()) {
+                // One call, so the whole batch starts on the same mixer update.
+                AL11.alSourcePlayv(play);
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> preload(Collection<SoundEvent> soundEvents) {
+        Objects.requireNonNull(soundEvents, "soundEvents");
+        Set<ResourceLocation> paths = new LinkedHashSet<>();
+        for (SoundEvent soundEvent : soundEvents) {
+            try {
+                paths.add(resolveSoundPath(soundEvent.getLocation()));
+            } catch (Exception e) {
+                GFBsAuralis.LOGGER.error("Failed to resolve sound for preload: {} ;E: {}", soundEvent.getLocation(), e.getMessage());
+            }
+        }
+        return bufferCache.preload(paths);
+    }
+
+    private ResourceLocation resolveSoundPath(ResourceLocation eventId) {
+        Sound chosen = resolveToConcreteSound(eventId);
+        ResourceLocation raw = chosen.getLocation();
+        String ns = raw.getNamespace();
+        String path = raw.getPath();
+        String base = path.startsWith("sounds/") ? path : "sounds/" + path;
+        if (base.endsWith(".ogg") || base.endsWith(".wav")) {
+            return new ResourceLocation(ns, base);
+        }
+
+        // Extensionless (as in sounds.json): prefer .ogg, fall back to a .wav next to it.
+        ResourceLocation ogg = new ResourceLocation(ns, base + ".ogg");
+        ResourceManager rm = mc.getResourceManager();
+        if (rm.getResource(ogg).isPresent()) {
+            return ogg;
+        }
+        ResourceLocation wav = new ResourceLocation(ns, base + ".wav");
+        return rm.getResource(wav).isPresent() ? wav : ogg;
+    }
+
     private Sound resolveToConcreteSound(ResourceLocation soundEventId) {
         SoundManager sm = mc.getSoundManager();
         @Nullable WeighedSoundEvents events = sm.getSoundEvent(soundEventId);
@@ -160,15 +349,20 @@ public final class AuralisEngine implements IAuralisEngine {
             try {
                 impl.freeBuffers();
             } finally {
-                instances.remove(impl);
+                forget(impl);
             }
         }
     }
 
     @Override
     public void tick() {
+        // First, so sounds it starts this tick get their pending binds processed below.
+        timelines.tick();
+
+        long now = System.nanoTime();
         for (AuralisSoundInstanceImpl inst : instances.values()) {
             try {
+                inst.stepRamps(now);
                 inst.processPendingBindAndPlay();
             } catch (Throwable ignored) {
             }
@@ -180,26 +374,61 @@ public final class AuralisEngine implements IAuralisEngine {
         float yaw = cam.getYRot();
         Vec3 forward = Vec3.directionFromRotation(pitch, yaw);
         Vec3 up = Vec3.directionFromRotation(pitch - 90.0F, yaw);
+        frameLoop.publishListenerFallback(listenerPos, forward, up);
 
-        al.submit(() -> {
-            AL11.alDopplerFactor(0.0f);
+        // Before binding-related AL work, so sources freed by inaudible instances are reused this tick.
+        // Only instances near the listener, plus bound ones wherever they are, need distance work.
+        int stamp = ++tickStamp;
+        visited.clear();
+        Consumer<AuralisSoundInstanceImpl> gather = inst -> {
+            if (inst.usesParams(params) && inst.markVisited(stamp)) {
+                visited.add(inst);
+            }
+        };
+        grid.forEachAudible(listenerPos, gather);
+        sourcePool.sourceToInstance.values().forEach(gather);
 
-            AL11.alListener3f(AL11.AL_POSITION, (float) listenerPos.x, (float) listenerPos.y, (float) listenerPos.z);
-            AL11.alListener3f(AL11.AL_VELOCITY, 0f, 0f, 0f);
+        int count = visited.size();
+        if (visitedSlots.length < count) {
+            visitedSlots = new int[Math.max(count, visitedSlots.length * 2)];
+        }
+        for (int i = 0; i < count; i++) {
+            visitedSlots[i] = visited.get(i).slot();
+        }
+        if (occlusion != null) {
+            occlusion.update(visited, listenerPos);
+        }
+        buses.effectiveGains(busGains);
+        params.computeAttenuation(visitedSlots, count, listenerPos.x, listenerPos.y, listenerPos.z, attenuationExponent, busGains);
 
-            float[] ori = new float[]{
-                    (float) forward.x, (float) forward.y, (float) forward.z,
-                    (float) up.x, (float) up.y, (float) up.z
-            };
-            AL11.alListenerfv(AL11.AL_ORIENTATION, ori);
+        for (AuralisSoundInstanceImpl inst : visited) {
+            try {
+                inst.updateVirtualization(virtualGainThreshold, virtualHoldTicks);
+            } catch (Throwable ignored) {
+            }
+        }
+        for (AuralisSoundInstanceImpl inst : grid.virtuals()) {
+            if (inst.markVisited(stamp)) {
+                inst.expireIfVirtualEnded();
+            }
+        }
 
-            for (AuralisSoundInstanceImpl inst : instances.values()) {
-                inst.updateStreamedBuffersOnALThread();
-                inst.disposeIfNaturallyStoppedOnALThread();
-                inst.applyVelocityZeroOnALThread();
-                inst.applyDistanceAttenuationOnALThread(listenerPos, attenuationExponent, volumeSmoothing);
+        // Snapshot per-source target gains; the AL frame loop eases toward them and must not
+        // read the columns itself.
+        int bound = 0;
+        AudioFrameLoop.GainTargets targets = frameLoop.gainBuffer(count);
+        for (AuralisSoundInstanceImpl inst : visited) {
+            if (inst.isBound()) {
+                int s = inst.slot();
+                targets.instances[bound] = inst;
+                targets.unitGains[bound] = params.attenuation(s) * busGains[params.bus(s)];
+                targets.volumes[bound++] = params.volume(s);
             }
-        });
+        }
+        frameLoop.publishGains(targets, bound);
+        if (!framed) {
+            al.submit(frameLoop::runFrame);
+        }
 
         sourcePool.tickRecycleEndedSources();
 
@@ -213,12 +442,102 @@ public final class AuralisEngine implements IAuralisEngine {
             }
         }
         for (AuralisSoundInstanceImpl inst : toRemove) {
-            instances.remove(inst);
+            forget(inst);
+        }
+
+        events.flush();
+    }
+
+    @Override
+    public long deviceTimeNanos() {
+        return al.deviceTimeNanos();
+    }
+
+    @Override
+    public boolean startTimeline(String runId, ResourceLocation timeline, Vec3 origin, float startSeconds) {
+        Objects.requireNonNull(runId, "runId");
+        Objects.requireNonNull(timeline, "timeline");
+        Objects.requireNonNull(origin, "origin");
+        return timelines.start(runId, timeline, origin, startSeconds);
+    }
+
+    @Override
+    public void stopTimeline(String runId) {
+        timelines.stop(Objects.requireNonNull(runId, "runId"));
+    }
+
+    @Override
+    public void seekTimeline(String runId, float seconds) {
+        timelines.seek(Objects.requireNonNull(runId, "runId"), seconds);
+    }
+
+    /** Drops cached timeline assets so the next start reads them from the reloaded resources. */
+    void clearTimelineCache() {
+        timelines.clearLibrary();
+    }
+
+    @Override
+    public void setEventExecutor(@Nullable Executor executor) {
+        events.setExecutor(executor);
+    }
+
+    @Override
+    public void setBusVolume(String bus, float volume) {
+        buses.setVolume(buses.indexOf(Objects.requireNonNull(bus, "bus"), true), volume);
+    }
+
+    @Override
+    public float getBusVolume(String bus) {
+        return buses.volume(buses.indexOf(Objects.requireNonNull(bus, "bus"), true));
+    }
+
+    @Override
+    public void setBusMuted(String bus, boolean muted) {
+        buses.setMuted(buses.indexOf(Objects.requireNonNull(bus, "bus"), true), muted);
+    }
+
+    @Override
+    public boolean isBusMuted(String bus) {
+        return buses.isMuted(buses.indexOf(Objects.requireNonNull(bus, "bus"), true));
+    }
+
+    @Override
+    public void setBusPaused(String bus, boolean paused) {
+        int b = buses.indexOf(Objects.requireNonNull(bus, "bus"), true);
+        buses.setPaused(b, paused);
+        for (AuralisSoundInstanceImpl inst : instances.values()) {
+            int ib = inst.busIndex();
+            if (b != MixerBuses.MASTER && ib != b) continue;
+            try {
+                if (paused) {
+                    inst.pauseForBus();
+                } else if (!buses.isPaused(ib) && !buses.isPaused(MixerBuses.MASTER)) {
+                    // A sound stays held while its own bus or master is still paused.
+                    inst.resumeForBus();
+                }
+            } catch (Throwable ignored) {
+            }
+        }
+    }
+
+    private void forget(AuralisSoundInstanceImpl inst) {
+        if (instances.remove(inst) != null) {
+            emitters.detach(inst);
+            grid.remove(inst);
+            inst.detachParams();
         }
     }
 
     @Override
     public void shutdown() {
+        if (framed) {
+            al.setFrameCallback(null, 0);
+        }
+        timelines.stopAll();
+        emitters.clear();
+        if (occlusion != null) {
+            occlusion.shutdown();
+        }
         for (AuralisSoundInstanceImpl inst : instances.values()) {
             try {
                 inst.forceStopAndFree();
@@ -226,8 +545,13 @@ public final class AuralisEngine implements IAuralisEngine {
             }
         }
         instances.clear();
+        grid.clear();
+        events.flush();
 
         bufferCache.clearAll();
+        if (lowpass != null) {
+            al.executeBlocking(lowpass::close);
+        }
         sourcePool.close();
         AuralisAL.stopAndClearGlobal();
     }
@@ -21,72 +21,261 @@ package org.mirage.gfbs.auralis;
  * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
  * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  */
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.phys.Vec3;
 import org.jetbrains.annotations.Nullable;
 import org.lwjgl.openal.AL11;
 import org.lwjgl.system.MemoryStack;
+import org.mirage.gfbs.auralis.api.AuralisRampCurve;
 import org.mirage.gfbs.auralis.api.AuralisSoundEvent;
 import org.mirage.gfbs.auralis.api.AuralisSoundInstance;
 import org.mirage.gfbs.auralis.api.AuralisSoundListener;
 
 import java.nio.IntBuffer;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
 
 final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
+    private static final int BUFFERS_UNLOADED = 0;
+    private static final int BUFFERS_LOADING = 1;
+    private static final int BUFFERS_LOADED = 2;
+    private static final int BUFFERS_RELEASED = 3;
+
+    // Voice stealing: gain floor so priority still counts for silent voices, and the tail
+    // length below which a nearly finished sound becomes cheaper to steal.
+    private static final float STEAL_GAIN_FLOOR = 0.05f;
+    private static final float STEAL_TAIL_SECONDS = 2.0f;
+    private static final long MAX_STEAL_FADE_MILLIS = 50;
+    // How early a scheduled start is handed to alSourcePlayAtTimeSOFT; covers AL thread latency.
+    private static final long SCHEDULE_LEAD_NANOS = TimeUnit.MILLISECONDS.toNanos(25);
+
+    // Lifecycle flags, packed into one word so each transition is a single CAS and the
+    // per-tick checks are a single volatile read.
+    private static final int PAUSED = 1;
+    private static final int PENDING_BIND = 1 << 1;
+    private static final int PENDING_PLAY = 1 << 2;
+    private static final int STARTED = 1 << 3;
+    private static final int PENDING_NATURAL_DISPOSE = 1 << 4;
+    private static final int PENDING_ENGINE_REMOVAL = 1 << 5;
+    // Logically playing without a source because it is inaudible; see updateVirtualization.
+    private static final int VIRTUAL = 1 << 6;
+    // Paused, or held before its start, by its bus rather than by the caller; see pauseForBus.
+    private static final int BUS_PAUSED = 1 << 7;
+    // Everything that goes away together with the source.
+    private static final int PLAYBACK_FLAGS = PAUSED | PENDING_BIND | PENDING_PLAY | STARTED | BUS_PAUSED;
+
     private final AuralisAL al;
 
-    private final int alBuffer;
-    private final List<Integer> alStreamedBuffers;
+    private final @Nullable ResourceLocation soundPath;
+    private final boolean streamRequested;
+    private volatile int alBuffer = -1;
+    private volatile List<Integer> alStreamedBuffers = List.of();
+    private volatile @Nullable LiveStream liveStream;
+    private final AtomicInteger bufferState = new AtomicInteger(BUFFERS_UNLOADED);
     private final SoundBufferCache bufferCache;
     private final OpenALSourcePool sourcePool;
+    private final SpatialGrid grid;
+    private final MixerBuses buses;
+    private final SoundEventDispatcher events;
+    private final EntityEmitters emitters;
 
-    private volatile float volume = 1.0f;
-    private volatile float smoothedVolume = 1.0f;
     private volatile float pitch = 1.0f;
     private volatile float speed = 1.0f;
 
-    private volatile boolean isStatic = false;
     private volatile boolean looping = false;
     private volatile boolean isStreamed = false;
 
-    private volatile Vec3 position = Vec3.ZERO;
+    private volatile long cellKey = SpatialGrid.cellKey(Vec3.ZERO);
+    // Start offset (seconds) for the next play(); negative means none.
+    private volatile float pendingSeek = -1.0f;
+
+    /**
+     * Store and slot holding this instance's volume, position, distances and flags, swapped as
+     * one reference so no reader can pair one store with another store's slot.
+     */
+    private record ParamRef(InstanceParams store, int slot) {
+        float volume() { return store.volume(slot); }
+        boolean isStatic() { return store.isStatic(slot); }
+        boolean isSuspended() { return store.isSuspended(slot); }
+        float minDistance() { return store.minDistance(slot); }
+        float maxDistance() { return store.maxDistance(slot); }
+        int bus() { return store.bus(slot); }
+        float audibleGain() { return store.audibleGain(slot); }
+    }
 
-    private volatile float minDistance = 1.0f;
-    private volatile float maxDistance = 48.0f;
+    // Volume, position, distances and the static flag live in the engine's column store.
+    private volatile ParamRef paramRef;
 
     private volatile @Nullable OpenALSourcePool.SourceHandle source;
-    private final AtomicBoolean paused = new AtomicBoolean(false);
+    private final AtomicInteger lifecycle = new AtomicInteger(0);
     private volatile int priority = 50;
     private final Set<AuralisSoundListener> listeners = new CopyOnWriteArraySet<>();
     private final AtomicInteger bufferIndex = new AtomicInteger(0);
-    private final AtomicBoolean pendingBind = new AtomicBoolean(false);
-    private final AtomicBoolean pendingPlay = new AtomicBoolean(false);
-    private final AtomicBoolean startedPlayback = new AtomicBoolean(false);
-    private final AtomicBoolean pendingNaturalDispose = new AtomicBoolean(false);
-    private final AtomicBoolean pendingEngineRemoval = new AtomicBoolean(false);
 
-    AuralisSoundInstanceImpl(AuralisAL al, int alBuffer, SoundBufferCache bufferCache, OpenALSourcePool sourcePool) {
+    private final PlaybackClock clock = new PlaybackClock();
+    // Length in seconds once known on the AL thread, -1 otherwise.
+    private volatile float durationSeconds = -1.0f;
+    // Gain last sent to the source; AL thread only.
+    private float appliedGain = 1.0f;
+    // Client thread only.
+    private int inaudibleTicks = 0;
+    private int visitStamp = 0;
+    // Bumped by every play/pause/stop so a pending scheduled start can tell it was overridden.
+    // Atomic so concurrent callers never share a generation.
+    private final AtomicInteger scheduleGeneration = new AtomicInteger();
+    // Active ramps, set on the client thread and evaluated by both the tick and the AL frame loop.
+    private volatile @Nullable ParamRamp volumeRamp;
+    private volatile @Nullable ParamRamp pitchRamp;
+    private volatile @Nullable ParamRamp positionRamp;
+    // Latest position of the entity this instance follows, for the AL frame loop.
+    private volatile @Nullable Vec3 followed;
+    // Followed position last sent to the source; AL thread only.
+    private @Nullable Vec3 appliedFollow;
+    // Occlusion low-pass target for the AL frame loop; 1 is unfiltered.
+    private volatile float lowpassGainHF = 1.0f;
+
+    /**
+     * Creates an instance for the given resolved asset. No audio data is decoded here;
+     * buffers are acquired by {@link #acquireBuffers()}, either eagerly by the engine or
+     * lazily on the first successful {@link #bind()}.
+     *
+     * @param soundPath resolved sound file, or null for an instance that can never play
+     * @param streamed  prefer chunked streamed buffers, falling back to a single buffer
+     * @param slot      slot already allocated for this instance in {@code params}
+     */
+    AuralisSoundInstanceImpl(AuralisAL al, @Nullable ResourceLocation soundPath, boolean streamed, SoundBufferCache bufferCache, OpenALSourcePool sourcePool, SpatialGrid grid, MixerBuses buses, InstanceParams params, int slot, SoundEventDispatcher events, EntityEmitters emitters) {
         this.al = Objects.requireNonNull(al, "al");
-        this.alBuffer = alBuffer;
-        this.alStreamedBuffers = new ArrayList<>();
+        this.soundPath = soundPath;
+        this.streamRequested = streamed;
         this.bufferCache = Objects.requireNonNull(bufferCache, "bufferCache");
         this.sourcePool = Objects.requireNonNull(sourcePool, "sourcePool");
-        this.isStreamed = false;
+        this.grid = Objects.requireNonNull(grid, "grid");
+        this.buses = Objects.requireNonNull(buses, "buses");
+        this.events = Objects.requireNonNull(events, "events");
+        this.emitters = Objects.requireNonNull(emitters, "emitters");
+        this.paramRef = new ParamRef(Objects.requireNonNull(params, "params"), slot);
     }
 
-    AuralisSoundInstanceImpl(AuralisAL al, List<Integer> alStreamedBuffers, SoundBufferCache bufferCache, OpenALSourcePool sourcePool) {
-        this.al = Objects.requireNonNull(al, "al");
-        this.alBuffer = -1;
-        this.alStreamedBuffers = Objects.requireNonNull(alStreamedBuffers, "alStreamedBuffers");
-        this.bufferCache = Objects.requireNonNull(bufferCache, "bufferCache");
-        this.sourcePool = Objects.requireNonNull(sourcePool, "sourcePool");
-        this.isStreamed = true;
+    int slot() {
+        return paramRef.slot();
+    }
+
+    boolean usesParams(InstanceParams store) {
+        return paramRef.store() == store;
+    }
+
+    /**
+     * Applies a write to the current store and slot. Runs under the store's lock and only while
+     * the reference is still current, so a write racing {@link #detachParams} either lands
+     * before the copy or retries against the private store; it never reaches a released slot.
+     */
+    private void writeParams(ObjIntConsumer<InstanceParams> write) {
+        while (true) {
+            ParamRef r = paramRef;
+            synchronized (r.store()) {
+                if (paramRef == r) {
+                    write.accept(r.store(), r.slot());
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves this instance's parameters into a private single-slot store and frees its engine
+     * slot, so a handle kept after removal can never write into a reused slot.
+     */
+    void detachParams() {
+        InstanceParams own = new InstanceParams(1);
+        int s = own.allocate();
+        ParamRef old;
+        synchronized (paramRef.store()) {
+            old = paramRef;
+            old.store().copySlot(old.slot(), own, s);
+            paramRef = new ParamRef(own, s);
+        }
+        // Only now: writers check the reference under the same lock.
+        old.store().release(old.slot());
+    }
+
+    /**
+     * Decodes/uploads (or takes a cache reference on) the audio data for this instance.
+     *
+     * @return true if buffers are loaded and the instance can be attached to a source
+     */
+    boolean acquireBuffers() {
+        if (soundPath == null) return false;
+        if (!bufferState.compareAndSet(BUFFERS_UNLOADED, BUFFERS_LOADING)) {
+            return bufferState.get() == BUFFERS_LOADED;
+        }
+
+        boolean streamedLoaded = false;
+        int loadedBuffer = -1;
+        if (streamRequested) {
+            List<Integer> ids = bufferCache.acquireStreamedBuffers(soundPath);
+            if (!ids.isEmpty()) {
+                alStreamedBuffers = ids;
+                streamedLoaded = true;
+            } else if (bufferCache.prefersLiveStream(soundPath)) {
+                LiveStream ls = bufferCache.openLiveStream(soundPath);
+                if (ls != null) {
+                    liveStream = ls;
+                    streamedLoaded = true;
+                }
+            }
+        }
+        if (!streamedLoaded) {
+            loadedBuffer = bufferCache.acquireBuffer(soundPath);
+            if (loadedBuffer == -1) {
+                bufferState.compareAndSet(BUFFERS_LOADING, BUFFERS_RELEASED);
+                return false;
+            }
+            alBuffer = loadedBuffer;
+        }
+        isStreamed = streamedLoaded;
+
+        if (!bufferState.compareAndSet(BUFFERS_LOADING, BUFFERS_LOADED)) {
+            // Released while we were decoding; drop the reference we just took.
+            LiveStream ls = liveStream;
+            if (ls != null) {
+                al.submit(ls::close);
+            } else if (streamedLoaded) {
+                bufferCache.releaseStreamedBuffers(alStreamedBuffers);
+            } else {
+                bufferCache.releaseBuffer(loadedBuffer);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /** True while this instance still has (or may still lazily load) audio data. */
+    private boolean hasAudio() {
+        if (soundPath == null) return false;
+        return bufferState.get() != BUFFERS_RELEASED;
+    }
+
+    private boolean has(int flag) {
+        return (lifecycle.get() & flag) != 0;
+    }
+
+    /** Clears {@code clear} and sets {@code set} in one atomic step; returns the previous word. */
+    private int transition(int clear, int set) {
+        while (true) {
+            int prev = lifecycle.get();
+            int next = (prev & ~clear) | set;
+            if (prev == next || lifecycle.compareAndSet(prev, next)) return prev;
+        }
+    }
+
+    /** Clears {@code flag}, returning whether it was set. */
+    private boolean consume(int flag) {
+        return (transition(flag, 0) & flag) != 0;
     }
 
     @Override
@@ -95,62 +284,106 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
     }
 
     void bind() {
+        bindSource(true, true);
+    }
+
+    /**
+     * Takes a source and buffers. The AL setup of the source is submitted here unless
+     * {@code submitSetup} is false, in which case the caller runs {@link #setupSourceOnALThread}.
+     */
+    private void bindSource(boolean fireBind, boolean submitSetup) {
         if (source != null) return;
-        if (!isStreamed && alBuffer == -1) return;
-        if (isStreamed && alStreamedBuffers.isEmpty()) return;
+        if (!hasAudio()) return;
 
-        OpenALSourcePool.SourceHandle h = sourcePool.acquire();
+        OpenALSourcePool.SourceHandle h = sourcePool.acquire(paramRef.bus());
         if (h == null) {
-            pendingBind.set(true);
+            transition(0, PENDING_BIND);
+            return;
+        }
+        if (!acquireBuffers()) {
+            sourcePool.release(h);
+            // Another thread may still be loading; otherwise the asset is unusable.
+            if (hasAudio()) {
+                transition(0, PENDING_BIND);
+            } else {
+                transition(PENDING_BIND | PENDING_PLAY, 0);
+            }
             return;
         }
         this.source = h;
-        pendingBind.set(false);
+        transition(PENDING_BIND, 0);
         final int sourceId = h.sourceId();
 
         sourcePool.sourceToInstance.put(h, this);
 
-        al.submit(() -> {
-            if (source != null && source.sourceId() == sourceId) {
-                AL11.alGetError();
-
-                int state = AL11.alGetSourcei(sourceId, AL11.AL_SOURCE_STATE);
-                if (state == AL11.AL_PLAYING || state == AL11.AL_PAUSED) {
-                    AL11.alSourceStop(sourceId);
+        if (submitSetup) {
+            al.submit(() -> {
+                if (source != null && source.sourceId() == sourceId) {
+                    setupSourceOnALThread(sourceId);
                 }
+            });
+        }
 
-                int queued = AL11.alGetSourcei(sourceId, AL11.AL_BUFFERS_QUEUED);
-                if (queued > 0) {
-                    try (MemoryStack stack = MemoryStack.stackPush()) {
-                        IntBuffer tmp = stack.mallocInt(queued);
-                        AL11.alSourceUnqueueBuffers(sourceId, tmp);
-                    } catch (Throwable ignored) {}
-                }
+        if (fireBind) fireEvent(AuralisSoundEvent.BIND);
+    }
 
-                AL11.alSourcei(sourceId, AL11.AL_BUFFER, 0);
-                AL11.alSourceRewind(sourceId);
+    /** Resets a freshly taken source and attaches this instance's buffers and parameters. */
+    private void setupSourceOnALThread(int sourceId) {
+        AL11.alGetError();
 
-                if (isStreamed) {
-                    AL11.alSourcei(sourceId, AL11.AL_LOOPING, looping ? AL11.AL_TRUE : AL11.AL_FALSE);
-                    queueInitialBuffers(sourceId);
-                } else {
-                    AL11.alSourcei(sourceId, AL11.AL_BUFFER, alBuffer);
-                    AL11.alSourcei(sourceId, AL11.AL_LOOPING, looping ? AL11.AL_TRUE : AL11.AL_FALSE);
-                }
+        int state = AL11.alGetSourcei(sourceId, AL11.AL_SOURCE_STATE);
+        if (state == AL11.AL_PLAYING || state == AL11.AL_PAUSED) {
+            AL11.alSourceStop(sourceId);
+        }
 
-                applyAllParams(sourceId);
-                AL11.alSource3f(sourceId, AL11.AL_VELOCITY, 0f, 0f, 0f);
+        int queued = AL11.alGetSourcei(sourceId, AL11.AL_BUFFERS_QUEUED);
+        if (queued > 0) {
+            try (MemoryStack stack = MemoryStack.stackPush()) {
+                IntBuffer tmp = stack.mallocInt(queued);
+                AL11.alSourceUnqueueBuffers(sourceId, tmp);
+            } catch (Throwable ignored) {}
+        }
 
-                AL11.alSourceRewind(sourceId);
+        AL11.alSourcei(sourceId, AL11.AL_BUFFER, 0);
+        AL11.alSourceRewind(sourceId);
+
+        if (isStreamed) {
+            // Looping a queue is done by re-queueing; AL_LOOPING would spin on the queued buffers.
+            AL11.alSourcei(sourceId, AL11.AL_LOOPING, AL11.AL_FALSE);
+            LiveStream ls = liveStream;
+            if (ls != null) {
+                ls.reset(sourceId);
+                ls.pump(sourceId, looping);
+            } else {
+                queueInitialBuffers(sourceId);
             }
-        });
+        } else {
+            AL11.alSourcei(sourceId, AL11.AL_BUFFER, alBuffer);
+            AL11.alSourcei(sourceId, AL11.AL_LOOPING, looping ? AL11.AL_TRUE : AL11.AL_FALSE);
+        }
+
+        applyAllParams(sourceId);
+        AL11.alSource3f(sourceId, AL11.AL_VELOCITY, 0f, 0f, 0f);
 
-        fireEvent(AuralisSoundEvent.BIND);
+        AL11.alSourceRewind(sourceId);
+        if (durationSeconds < 0.0f) {
+            durationSeconds = lengthSecondsOnALThread();
+        }
     }
 
     void unbind() {
+        scheduleGeneration.incrementAndGet();
+        if (has(VIRTUAL)) {
+            setVirtual(false);
+            clock.stop();
+        }
         OpenALSourcePool.SourceHandle h = this.source;
         if (h == null) return;
+        detachSource(h);
+        fireEvent(AuralisSoundEvent.UNBIND);
+    }
+
+    private void detachSource(OpenALSourcePool.SourceHandle h) {
         final int sourceId = h.sourceId();
 
         ((OpenALSourcePool) sourcePool).sourceToInstance.remove(h);
@@ -171,74 +404,230 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
         });
 
         this.source = null;
-        paused.set(false);
         bufferIndex.set(0);
         sourcePool.release(h);
-        pendingBind.set(false);
-        pendingPlay.set(false);
-        startedPlayback.set(false);
-
-        fireEvent(AuralisSoundEvent.UNBIND);
+        transition(PLAYBACK_FLAGS, 0);
     }
 
     @Override
     public void play() {
-        if (!isStreamed && alBuffer == -1) return;
-        if (isStreamed && alStreamedBuffers.isEmpty()) return;
+        scheduleGeneration.incrementAndGet();
+        if (holdForBus()) return;
+        startPlayback(true);
+    }
+
+    @Override
+    public void playAt(long deviceTimeNanos) {
+        if (!hasAudio()) return;
+        int gen = scheduleGeneration.incrementAndGet();
+        if (holdForBus()) return;
+        // Take the source now so the start itself is a single AL call.
+        if (source == null && !has(VIRTUAL)) {
+            bindSource(true, true);
+        }
+        long delay = deviceTimeNanos - al.deviceTimeNanos();
+        long lead = al.hasSampleAccurateStart() ? SCHEDULE_LEAD_NANOS : 0L;
+        al.scheduleAt(System.nanoTime() + delay - lead, () -> startScheduledOnALThread(gen, deviceTimeNanos));
+    }
+
+    @Override
+    public void playAfter(float delaySeconds) {
+        float d = Float.isFinite(delaySeconds) ? Math.max(0.0f, delaySeconds) : 0.0f;
+        playAt(al.deviceTimeNanos() + (long) (d * 1.0e9));
+    }
 
+    private void startScheduledOnALThread(int gen, long deviceTimeNanos) {
+        if (gen != scheduleGeneration.get()) return;
+        // The bus may have been paused since the start was scheduled.
+        if (holdForBus()) return;
         OpenALSourcePool.SourceHandle h = source;
         if (h == null) {
-            pendingBind.set(true);
-            pendingPlay.set(true);
-            startedPlayback.set(true);
+            // No source came free (or the sound is virtual): start late through the regular path.
+            startPlayback(true);
             return;
         }
-        paused.set(false);
-        startedPlayback.set(true);
+        int sourceId = h.sourceId();
+        long startNanos = System.nanoTime() + Math.max(0L, deviceTimeNanos - al.deviceTimeNanos());
+        float seekTo = pendingSeek;
+        if (seekTo >= 0.0f || !has(PAUSED)) {
+            clock.startAt(Math.max(0.0f, seekTo), startNanos);
+        } else {
+            clock.resume();
+        }
+        transition(PAUSED | BUS_PAUSED, STARTED);
+
+        applyAllParams(sourceId);
+        AL11.alSource3f(sourceId, AL11.AL_VELOCITY, 0f, 0f, 0f);
+        prepareStartOnALThread(sourceId);
+        al.playAtDeviceTime(sourceId, deviceTimeNanos);
+        fireEvent(AuralisSoundEvent.PLAY);
+    }
+
+    private void startPlayback(boolean firePlay) {
+        if (!hasAudio()) return;
+
+        OpenALSourcePool.SourceHandle h = source;
+        if (has(VIRTUAL)) {
+            // Stays virtual; the engine takes a source again once it is audible.
+            float seekTo = pendingSeek;
+            pendingSeek = -1.0f;
+            startClock(seekTo);
+            transition(PAUSED | BUS_PAUSED, 0);
+            if (firePlay) fireEvent(AuralisSoundEvent.PLAY);
+            return;
+        }
+        if (h == null) {
+            transition(0, PENDING_BIND | PENDING_PLAY | STARTED);
+            return;
+        }
+        startClock(pendingSeek);
+        transition(PAUSED | BUS_PAUSED, STARTED);
         final int sourceId = h.sourceId();
 
         al.submit(() -> {
             if (source != null && source.sourceId() == sourceId) {
                 applyAllParams(sourceId);
                 AL11.alSource3f(sourceId, AL11.AL_VELOCITY, 0f, 0f, 0f);
+                prepareStartOnALThread(sourceId);
+                AL11.alSourcePlay(sourceId);
+            }
+        });
 
-                if (isStreamed) {
-                    int processed = AL11.alGetSourcei(sourceId, AL11.AL_BUFFERS_PROCESSED);
-                    if (processed > 0) {
-                        try (MemoryStack stack = MemoryStack.stackPush()) {
-                            IntBuffer tmp = stack.mallocInt(processed);
-                            AL11.alSourceUnqueueBuffers(sourceId, tmp);
-                        } catch (Throwable ignored) {}
-                    }
-                    bufferIndex.set(0);
-                    queueInitialBuffers(sourceId);
-                } else {
-                    int attached = AL11.alGetSourcei(sourceId, AL11.AL_BUFFER);
-                    if (attached != alBuffer) {
-                        int state = AL11.alGetSourcei(sourceId, AL11.AL_SOURCE_STATE);
-                        if (state == AL11.AL_PLAYING || state == AL11.AL_PAUSED) {
-                            AL11.alSourceStop(sourceId);
-                        }
-                        AL11.alSourcei(sourceId, AL11.AL_BUFFER, 0);
-                        AL11.alSourcei(sourceId, AL11.AL_BUFFER, alBuffer);
-                    }
+        if (firePlay) fireEvent(AuralisSoundEvent.PLAY);
+    }
+
+    /** Positions the source for a start (pending seek, restart or resume); the caller plays it. */
+    private void prepareStartOnALThread(int sourceId) {
+        float seekTo = pendingSeek;
+        pendingSeek = -1.0f;
+        int state = AL11.alGetSourcei(sourceId, AL11.AL_SOURCE_STATE);
+
+        if (isStreamed) {
+            if (seekTo >= 0.0f) {
+                startStreamAtOnALThread(sourceId, seekTo);
+            } else if (state == AL11.AL_PLAYING || state == AL11.AL_STOPPED) {
+                startStreamAtOnALThread(sourceId, 0.0f);
+            } else {
+                // Paused, or freshly bound with the first buffers queued: continue from there.
+                refillStreamOnALThread(sourceId);
+            }
+        } else {
+            int attached = AL11.alGetSourcei(sourceId, AL11.AL_BUFFER);
+            if (attached != alBuffer) {
+                if (state == AL11.AL_PLAYING || state == AL11.AL_PAUSED) {
+                    AL11.alSourceStop(sourceId);
                 }
+                AL11.alSourcei(sourceId, AL11.AL_BUFFER, 0);
+                AL11.alSourcei(sourceId, AL11.AL_BUFFER, alBuffer);
+            } else if (seekTo >= 0.0f && (state == AL11.AL_PLAYING || state == AL11.AL_PAUSED)) {
+                AL11.alSourceStop(sourceId);
+            }
+            if (seekTo >= 0.0f) {
+                // Applied by the caller's play.
+                AL11.alSourcef(sourceId, AL11.AL_SEC_OFFSET, residentOffsetOnALThread(seekTo));
+            }
+        }
+    }
 
-                AL11.alSourcePlay(sourceId);
+    /**
+     * Client-thread half of a batched spawn: takes a source and buffers and marks the sound
+     * started, leaving all AL work to {@link #startSpawnOnALThread}. Returns the source id,
+     * or 0 if no source was free or the bus is paused, in which case the sound is queued or
+     * held like a plain play().
+     */
+    int prepareSpawn() {
+        if (!hasAudio()) return 0;
+        if (holdForBus()) return 0;
+        bindSource(true, false);
+        OpenALSourcePool.SourceHandle h = source;
+        if (h == null) {
+            startPlayback(true);
+            return 0;
+        }
+        startClock(pendingSeek);
+        transition(PAUSED | BUS_PAUSED, STARTED);
+        fireEvent(AuralisSoundEvent.PLAY);
+        return h.sourceId();
+    }
+
+    /**
+     * Sets up and positions the source taken by {@link #prepareSpawn()}; the caller starts it.
+     *
+     * @return false if the source was lost in the meantime
+     */
+    boolean startSpawnOnALThread(int sourceId) {
+        OpenALSourcePool.SourceHandle h = source;
+        if (h == null || h.sourceId() != sourceId) return false;
+        setupSourceOnALThread(sourceId);
+        prepareStartOnALThread(sourceId);
+        return true;
+    }
+
+    /** Mirrors {@link #play()} on the logical clock: seek, resume after pause, or restart. */
+    private void startClock(float seekTo) {
+        if (seekTo >= 0.0f) {
+            clock.start(seekTo);
+        } else if (has(PAUSED)) {
+            clock.resume();
+        } else {
+            clock.start(0.0f);
+        }
+    }
+
+    @Override
+    public AuralisSoundInstance seek(float seconds) {
+        float t = Float.isFinite(seconds) ? Math.max(0.0f, seconds) : 0.0f;
+        OpenALSourcePool.SourceHandle h = source;
+        if (h == null) {
+            if (has(VIRTUAL)) {
+                clock.seek(t);
+            } else {
+                pendingSeek = t;
+            }
+            return this;
+        }
+        clock.seek(t);
+        final int sourceId = h.sourceId();
+
+        al.submit(() -> {
+            if (source != null && source.sourceId() == sourceId) {
+                if (!isStreamed) {
+                    // Jumps while playing/paused, otherwise takes effect on the next play.
+                    AL11.alSourcef(sourceId, AL11.AL_SEC_OFFSET, residentOffsetOnALThread(t));
+                } else if (AL11.alGetSourcei(sourceId, AL11.AL_SOURCE_STATE) == AL11.AL_PLAYING) {
+                    startStreamAtOnALThread(sourceId, t);
+                    AL11.alSourcePlay(sourceId);
+                } else {
+                    pendingSeek = t;
+                }
             }
         });
+        return this;
+    }
 
-        fireEvent(AuralisSoundEvent.PLAY);
+    @Override
+    public void playFrom(float seconds) {
+        pendingSeek = Float.isFinite(seconds) ? Math.max(0.0f, seconds) : 0.0f;
+        play();
     }
 
     @Override
     public void pause() {
-        if (!isStreamed && alBuffer == -1) return;
-        if (isStreamed && alStreamedBuffers.isEmpty()) return;
+        if (!hasAudio()) return;
+        scheduleGeneration.incrementAndGet();
+        // The caller's pause wins over a bus hold, so the bus resume leaves it paused.
+        transition(BUS_PAUSED, 0);
 
         OpenALSourcePool.SourceHandle h = source;
+        if (has(VIRTUAL)) {
+            transition(0, PAUSED);
+            clock.pause();
+            fireEvent(AuralisSoundEvent.PAUSE);
+            return;
+        }
         if (h == null) return;
-        paused.set(true);
+        transition(0, PAUSED);
+        clock.pause();
         final int sourceId = h.sourceId();
 
         al.submit(() -> {
@@ -252,18 +641,20 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
 
     @Override
     public void stop() {
-        if (!isStreamed && alBuffer == -1) return;
-        if (isStreamed && alStreamedBuffers.isEmpty()) return;
+        if (!hasAudio()) return;
+        scheduleGeneration.incrementAndGet();
 
+        pendingSeek = -1.0f;
+        clock.stop();
         OpenALSourcePool.SourceHandle h = source;
         if (h == null) {
-            pendingBind.set(false);
-            pendingPlay.set(false);
-            startedPlayback.set(false);
+            if ((transition(PLAYBACK_FLAGS | VIRTUAL, 0) & VIRTUAL) != 0) {
+                grid.setVirtual(this, false);
+                fireEvent(AuralisSoundEvent.STOP);
+            }
             return;
         }
-        paused.set(false);
-        startedPlayback.set(false);
+        transition(PAUSED | BUS_PAUSED | STARTED, 0);
         final int sourceId = h.sourceId();
 
         al.submit(() -> {
@@ -271,7 +662,10 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
                 AL11.alSourceStop(sourceId);
                 AL11.alSourceRewind(sourceId);
                 
-                if (isStreamed) {
+                LiveStream ls = liveStream;
+                if (ls != null) {
+                    ls.reset(sourceId);
+                } else if (isStreamed) {
                     int queued = AL11.alGetSourcei(sourceId, AL11.AL_BUFFERS_QUEUED);
                     if (queued > 0) {
                         try (MemoryStack stack = MemoryStack.stackPush()) {
@@ -290,36 +684,48 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
     @Override
     public boolean isPlaying() {
         OpenALSourcePool.SourceHandle h = source;
-        if (h == null) return false;
+        if (h == null) return has(VIRTUAL) && clock.isRunning();
         return al.callBlocking(() -> AL11.alGetSourcei(h.sourceId(), AL11.AL_SOURCE_STATE) == AL11.AL_PLAYING);
     }
 
     @Override
     public boolean isPaused() {
-        return paused.get();
+        return has(PAUSED);
+    }
+
+    @Override
+    public boolean isVirtual() {
+        return has(VIRTUAL);
     }
 
     @Override
     public AuralisSoundInstance setVolume(float volume) {
         float v = Float.isFinite(volume) ? volume : 0.0f;
-        this.volume = Math.max(0.0f, v);
+        volumeRamp = null;
+        writeParams((store, at) -> store.setVolume(at, Math.max(0.0f, v)));
         pushParamsIfBound();
         return this;
     }
 
     @Override
     public float getVolume() {
-        return volume;
+        return paramRef.volume();
     }
 
     @Override
     public AuralisSoundInstance setPitch(float pitch) {
         float p = Float.isFinite(pitch) ? pitch : 1.0f;
-        this.pitch = clamp(p, 0.01f, 8.0f);
+        pitchRamp = null;
+        applyPitch(p);
         pushParamsIfBound();
         return this;
     }
 
+    private void applyPitch(float p) {
+        this.pitch = clamp(p, 0.01f, 8.0f);
+        clock.setRate(clamp(this.pitch * speed, 0.01f, 8.0f));
+    }
+
     @Override
     public float getPitch() {
         return pitch;
@@ -329,6 +735,7 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
     public AuralisSoundInstance setSpeed(float speed) {
         float s = Float.isFinite(speed) ? speed : 1.0f;
         this.speed = clamp(s, 0.01f, 8.0f);
+        clock.setRate(clamp(pitch * this.speed, 0.01f, 8.0f));
         pushParamsIfBound();
         return this;
     }
@@ -340,54 +747,203 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
 
     @Override
     public AuralisSoundInstance setStatic(boolean isStatic) {
-        this.isStatic = isStatic;
+        if (isStatic) positionRamp = null;
+        writeParams((store, at) -> store.setStatic(at, isStatic));
+        grid.setStatic(this, isStatic);
         pushParamsIfBound();
         return this;
     }
 
     @Override
     public boolean isStatic() {
-        return isStatic;
+        return paramRef.isStatic();
     }
 
     @Override
     public AuralisSoundInstance setPosition(Vec3 pos) {
         Vec3 p = Objects.requireNonNull(pos, "pos");
         if (!isFinite(p)) p = Vec3.ZERO;
-        this.position = p;
+        emitters.detach(this);
+        positionRamp = null;
+        movePosition(p);
         pushParamsIfBound();
         return this;
     }
 
+    private void movePosition(Vec3 p) {
+        writeParams((store, at) -> store.setPosition(at, p.x, p.y, p.z));
+        long key = SpatialGrid.cellKey(p);
+        long old = cellKey;
+        cellKey = key;
+        grid.move(this, old, key);
+    }
+
     @Override
     public Vec3 getPosition() {
-        return position;
+        ParamRef r = paramRef;
+        InstanceParams ps = r.store();
+        int s = r.slot();
+        return new Vec3(ps.x(s), ps.y(s), ps.z(s));
+    }
+
+    @Override
+    public AuralisSoundInstance rampVolume(float target, int durationMillis, AuralisRampCurve curve) {
+        Objects.requireNonNull(curve, "curve");
+        float v = Float.isFinite(target) ? Math.max(0.0f, target) : 0.0f;
+        if (durationMillis <= 0) return setVolume(v);
+        long now = System.nanoTime();
+        ParamRamp current = volumeRamp;
+        float from = (current != null) ? current.floatAt(now) : paramRef.volume();
+        volumeRamp = ParamRamp.scalar(from, v, now, TimeUnit.MILLISECONDS.toNanos(durationMillis), curve);
+        return this;
+    }
+
+    @Override
+    public AuralisSoundInstance rampPitch(float target, int durationMillis, AuralisRampCurve curve) {
+        Objects.requireNonNull(curve, "curve");
+        float p = clamp(Float.isFinite(target) ? target : 1.0f, 0.01f, 8.0f);
+        if (durationMillis <= 0) return setPitch(p);
+        long now = System.nanoTime();
+        ParamRamp current = pitchRamp;
+        float from = (current != null) ? current.floatAt(now) : pitch;
+        pitchRamp = ParamRamp.scalar(from, p, now, TimeUnit.MILLISECONDS.toNanos(durationMillis), curve);
+        return this;
+    }
+
+    @Override
+    public AuralisSoundInstance rampPosition(Vec3 target, int durationMillis, AuralisRampCurve curve) {
+        Objects.requireNonNull(curve, "curve");
+        Vec3 p = Objects.requireNonNull(target, "target");
+        if (!isFinite(p)) p = Vec3.ZERO;
+        // Static sounds sit on the listener, so there is nothing audible to glide.
+        if (durationMillis <= 0 || paramRef.isStatic()) return setPosition(p);
+        emitters.detach(this);
+        long now = System.nanoTime();
+        ParamRamp current = positionRamp;
+        Vec3 from = (current != null) ? current.vecAt(now) : getPosition();
+        positionRamp = ParamRamp.vector(from, p, now, TimeUnit.MILLISECONDS.toNanos(durationMillis), curve);
+        return this;
+    }
+
+    /**
+     * Moves the client-side copies of ramped parameters to their values at {@code now}: volume
+     * and position for attenuation, virtualization and the grid, pitch for the playback clock.
+     * The source itself follows the ramps in the AL frame loop; when a pitch or position ramp
+     * ends, one push lands it exactly on the target. Client thread only.
+     */
+    void stepRamps(long now) {
+        ParamRamp r = volumeRamp;
+        if (r != null) {
+            writeParams((store, at) -> store.setVolume(at, r.floatAt(now)));
+            if (r.isDone(now) && volumeRamp == r) volumeRamp = null;
+        }
+        boolean landed = false;
+        r = pitchRamp;
+        if (r != null) {
+            applyPitch(r.floatAt(now));
+            if (r.isDone(now) && pitchRamp == r) {
+                pitchRamp = null;
+                landed = true;
+            }
+        }
+        r = positionRamp;
+        if (r != null) {
+            movePosition(r.vecAt(now));
+            if (r.isDone(now) && positionRamp == r) {
+                positionRamp = null;
+                landed = true;
+            }
+        }
+        if (landed) pushParamsIfBound();
+    }
+
+    /**
+     * Applies active pitch and position ramps and the followed entity position to the source;
+     * called once per audio update.
+     */
+    void applyFrameParamsOnALThread(long now) {
+        OpenALSourcePool.SourceHandle h = source;
+        if (h == null) return;
+        ParamRamp r = pitchRamp;
+        if (r != null) {
+            AL11.alSourcef(h.sourceId(), AL11.AL_PITCH, clamp(r.floatAt(now) * speed, 0.01f, 8.0f));
+        }
+        r = positionRamp;
+        if (r != null) {
+            Vec3 p = r.vecAt(now);
+            AL11.alSource3f(h.sourceId(), AL11.AL_POSITION, (float) p.x, (float) p.y, (float) p.z);
+        }
+        Vec3 f = followed;
+        if (f != null && f != appliedFollow) {
+            appliedFollow = f;
+            AL11.alSource3f(h.sourceId(), AL11.AL_POSITION, (float) f.x, (float) f.y, (float) f.z);
+        }
+    }
+
+    @Override
+    public AuralisSoundInstance attachToEntity(int entityId, Vec3 offset) {
+        Objects.requireNonNull(offset, "offset");
+        positionRamp = null;
+        if (paramRef.isStatic()) setStatic(false);
+        emitters.attach(this, entityId, isFinite(offset) ? offset : Vec3.ZERO);
+        return this;
+    }
+
+    @Override
+    public AuralisSoundInstance detachFromEntity() {
+        emitters.detach(this);
+        return this;
+    }
+
+    @Override
+    public int getAttachedEntity() {
+        return emitters.entityOf(this);
+    }
+
+    /** Moves to the followed entity's position; main thread, every rendered frame. */
+    void followPosition(Vec3 p) {
+        if (paramRef.isSuspended()) writeParams((store, at) -> store.setSuspended(at, false));
+        if (p.equals(followed)) return;
+        movePosition(p);
+        followed = p;
+    }
+
+    /** Holds the last position and goes silent while the followed entity is not loaded. */
+    void suspendFollow() {
+        writeParams((store, at) -> store.setSuspended(at, true));
+    }
+
+    void endFollow() {
+        writeParams((store, at) -> store.setSuspended(at, false));
+        followed = null;
     }
 
     @Override
     public AuralisSoundInstance setMinDistance(float dist) {
         float d = Float.isFinite(dist) ? dist : 0.0f;
-        this.minDistance = Math.max(0.0f, d);
+        writeParams((store, at) -> store.setMinDistance(at, Math.max(0.0f, d)));
         pushParamsIfBound();
         return this;
     }
 
     @Override
     public float getMinDistance() {
-        return minDistance;
+        return paramRef.minDistance();
     }
 
     @Override
     public AuralisSoundInstance setMaxDistance(float dist) {
         float d = Float.isFinite(dist) ? dist : 0.0f;
-        this.maxDistance = Math.max(0.0f, d);
+        float maxD = Math.max(0.0f, d);
+        writeParams((store, at) -> store.setMaxDistance(at, maxD));
+        grid.noteRadius(maxD);
         pushParamsIfBound();
         return this;
     }
 
     @Override
     public float getMaxDistance() {
-        return maxDistance;
+        return paramRef.maxDistance();
     }
 
     @Override
@@ -397,7 +953,7 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
         if (h != null) {
             final int sourceId = h.sourceId();
             al.submit(() -> {
-                if (source != null && source.sourceId() == sourceId) {
+                if (source != null && source.sourceId() == sourceId && !isStreamed) {
                     AL11.alSourcei(sourceId, AL11.AL_LOOPING, looping ? AL11.AL_TRUE : AL11.AL_FALSE);
                 }
             });
@@ -421,6 +977,64 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
         return priority;
     }
 
+    @Override
+    public AuralisSoundInstance setBus(String bus) {
+        int b = buses.indexOf(Objects.requireNonNull(bus, "bus"), true);
+        writeParams((store, at) -> store.setBus(at, b));
+        OpenALSourcePool.SourceHandle h = source;
+        if (h != null) sourcePool.reassign(h, b);
+        // Pause is a bus state: moving onto a paused bus pauses, moving off one resumes.
+        if (isBusPaused()) {
+            pauseForBus();
+        } else if (has(BUS_PAUSED)) {
+            resumeForBus();
+        }
+        return this;
+    }
+
+    @Override
+    public String getBus() {
+        return buses.name(paramRef.bus());
+    }
+
+    int busIndex() {
+        return paramRef.bus();
+    }
+
+    /**
+     * Pauses a sound that is currently playing (or virtual) on behalf of its bus. Only sounds
+     * paused this way, or held by {@link #holdForBus()}, are picked up by {@link #resumeForBus()},
+     * so a bus resume does not undo a pause requested by the caller.
+     */
+    void pauseForBus() {
+        int s = lifecycle.get();
+        boolean active = (s & VIRTUAL) != 0 || ((s & STARTED) != 0 && source != null);
+        if ((s & PAUSED) != 0 || !active) return;
+        pause();
+        transition(0, BUS_PAUSED);
+    }
+
+    /** Resumes a bus-paused sound, or starts one whose start the bus held. */
+    void resumeForBus() {
+        if (consume(BUS_PAUSED)) {
+            play();
+        }
+    }
+
+    private boolean isBusPaused() {
+        return buses.isPaused(paramRef.bus()) || buses.isPaused(MixerBuses.MASTER);
+    }
+
+    /**
+     * Holds a start while the sound's bus or master is paused; the pending seek is kept and
+     * the start happens on {@link #resumeForBus()}.
+     */
+    private boolean holdForBus() {
+        if (!isBusPaused()) return false;
+        transition(0, BUS_PAUSED);
+        return true;
+    }
+
     @Override
     public AuralisSoundInstance addListener(AuralisSoundListener listener) {
         listeners.add(Objects.requireNonNull(listener, "listener"));
@@ -433,7 +1047,14 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
         return this;
     }
 
+    /** Queues the event; listeners run when the engine flushes its dispatcher. */
     private void fireEvent(AuralisSoundEvent event) {
+        if (!listeners.isEmpty()) {
+            events.post(this, event);
+        }
+    }
+
+    void deliverEvent(AuralisSoundEvent event) {
         for (AuralisSoundListener listener : listeners) {
             try {
                 listener.onSoundEvent(this, event);
@@ -444,43 +1065,103 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
     }
 
     void forceStopAndFree() {
+        forceStopAndFree(0);
+    }
+
+    private void forceStopAndFree(int fadeMillis) {
+        scheduleGeneration.incrementAndGet();
+        setVirtual(false);
+        clock.stop();
+        boolean fading = false;
         OpenALSourcePool.SourceHandle h = this.source;
         if (h != null) {
             this.source = null;
 
             ((OpenALSourcePool) sourcePool).sourceToInstance.remove(h);
 
-            al.executeBlocking(() -> {
+            long fadeNanos = TimeUnit.MILLISECONDS.toNanos(Math.min(fadeMillis, MAX_STEAL_FADE_MILLIS));
+            fading = al.callBlocking(() -> {
                 try {
-                    AL11.alSourceStop(h.sourceId());
-                    AL11.alSourcei(h.sourceId(), AL11.AL_BUFFER, 0);
-                    
-                    int queued = AL11.alGetSourcei(h.sourceId(), AL11.AL_BUFFERS_QUEUED);
-                    if (queued > 0) {
-                        try (MemoryStack stack = MemoryStack.stackPush()) {
-                            IntBuffer tmp = stack.mallocInt(queued);
-                            AL11.alSourceUnqueueBuffers(h.sourceId(), tmp);
-                        } catch (Throwable ignored) {}
+                    if (fadeNanos > 0 && AL11.alGetSourcei(h.sourceId(), AL11.AL_SOURCE_STATE) == AL11.AL_PLAYING) {
+                        // The mixer ramps gain changes, so silencing first and stopping a few
+                        // milliseconds later avoids the click of a hard stop. The source stays
+                        // in use until then; the sound that stole it binds on a later tick.
+                        AL11.alSourcef(h.sourceId(), AL11.AL_GAIN, 0.0f);
+                        al.scheduleAt(System.nanoTime() + fadeNanos, () -> {
+                            stopAndDetachOnALThread(h.sourceId());
+                            sourcePool.release(h);
+                            freeBuffers();
+                        });
+                        return true;
                     }
+                    stopAndDetachOnALThread(h.sourceId());
                 } catch (Exception ignored) {}
+                return false;
             });
 
-            paused.set(false);
             bufferIndex.set(0);
-            sourcePool.release(h);
-            pendingBind.set(false);
-            pendingPlay.set(false);
-            startedPlayback.set(false);
+            if (!fading) {
+                sourcePool.release(h);
+            }
+            transition(PLAYBACK_FLAGS, 0);
             fireEvent(AuralisSoundEvent.FORCE_STOP);
             fireEvent(AuralisSoundEvent.UNBIND);
         }
-        freeBuffers();
-        pendingEngineRemoval.set(true);
+        if (!fading) {
+            freeBuffers();
+        }
+        transition(0, PENDING_ENGINE_REMOVAL);
+    }
+
+    private static void stopAndDetachOnALThread(int sourceId) {
+        try {
+            AL11.alSourceStop(sourceId);
+            AL11.alSourcei(sourceId, AL11.AL_BUFFER, 0);
+
+            int queued = AL11.alGetSourcei(sourceId, AL11.AL_BUFFERS_QUEUED);
+            if (queued > 0) {
+                try (MemoryStack stack = MemoryStack.stackPush()) {
+                    IntBuffer tmp = stack.mallocInt(queued);
+                    AL11.alSourceUnqueueBuffers(sourceId, tmp);
+                } catch (Throwable ignored) {}
+            }
+        } catch (Exception ignored) {}
     }
 
-    void onEvicted() {
+    void onEvicted(int fadeMillis) {
         fireEvent(AuralisSoundEvent.EVICTED);
-        forceStopAndFree();
+        forceStopAndFree(fadeMillis);
+    }
+
+    /** Applies an occlusion result: a gain factor for the tick and a low-pass for the AL frame loop. Client thread. */
+    void setOcclusion(float gain, float gainHF) {
+        writeParams((store, at) -> store.setOcclusionGain(at, gain));
+        lowpassGainHF = gainHF;
+    }
+
+    float lowpassGainHF() {
+        return lowpassGainHF;
+    }
+
+    /**
+     * Cost of stealing this voice; lower is stolen first. Priority is weighted by the current
+     * attenuated gain, so a loud sound beats an equal-priority one far away, and discounted
+     * over the last {@link #STEAL_TAIL_SECONDS} of a sound that is about to end anyway.
+     */
+    float evictionScore() {
+        float score = (priority + 1) * (STEAL_GAIN_FLOOR + Math.max(0.0f, paramRef.audibleGain()));
+        float remaining = remainingSeconds();
+        if (remaining >= 0.0f && remaining < STEAL_TAIL_SECONDS) {
+            score *= Math.max(0.25f, remaining / STEAL_TAIL_SECONDS);
+        }
+        return score;
+    }
+
+    /** Seconds left before a non-looping sound ends, or -1 if looping or unknown. */
+    private float remainingSeconds() {
+        float length = durationSeconds;
+        if (looping || length <= 0.0f) return -1.0f;
+        return Math.max(0.0f, length - clock.positionSeconds());
     }
 
     private void pushParamsIfBound() {
@@ -495,50 +1176,94 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
         });
     }
 
-    void applyVelocityZeroOnALThread() {
+    /**
+     * Eases the source gain toward volume times {@code unitGain} (attenuation and bus gain from
+     * the last tick) by {@code k}, skipping the AL call once it has settled. During a volume
+     * ramp the volume is the ramp's value at {@code now} and is applied without easing.
+     */
+    void smoothGainOnALThread(float unitGain, float volume, float k, long now) {
         OpenALSourcePool.SourceHandle h = source;
         if (h == null) return;
-        final int sourceId = h.sourceId();
-        AL11.alSource3f(sourceId, AL11.AL_VELOCITY, 0f, 0f, 0f);
+        ParamRamp ramp = volumeRamp;
+        float target = unitGain * ((ramp != null) ? ramp.floatAt(now) : volume);
+        if (ramp != null) k = 1.0f;
+        float g = appliedGain + (target - appliedGain) * k;
+        if (Math.abs(g - appliedGain) < 1.0e-5f && g != target) {
+            g = target;
+        }
+        if (g == appliedGain) return;
+        appliedGain = g;
+        AL11.alSourcef(h.sourceId(), AL11.AL_GAIN, g);
     }
 
-    void applyDistanceAttenuationOnALThread(Vec3 listenerPos, float attenuationExponent, float volumeSmoothing) {
-        OpenALSourcePool.SourceHandle h = source;
-        if (h == null) return;
-        final int sourceId = h.sourceId();
+    /**
+     * Virtual voices: a playing instance whose gain stays below {@code threshold} for
+     * {@code holdTicks} ticks hands its source back to the pool and keeps only its logical
+     * clock. Once its gain reaches twice the threshold it takes a source again and resumes
+     * at the clock position. Non-looping virtual instances end when the clock passes their
+     * length. Reads the gain from the engine's attenuation pass. Client thread only; a
+     * threshold of 0 disables virtualization.
+     */
+    void updateVirtualization(float threshold, int holdTicks) {
+        float gain = paramRef.audibleGain();
+        int s = lifecycle.get();
+        if ((s & VIRTUAL) != 0) {
+            if (!expireIfVirtualEnded() && (s & PAUSED) == 0 && gain >= threshold * 2.0f) {
+                resumeFromVirtual();
+            }
+            return;
+        }
 
-        float s = clamp(volumeSmoothing, 0.0f, 1.0f);
-        float sv = smoothedVolume + (volume - smoothedVolume) * s;
-        smoothedVolume = sv;
+        if (threshold <= 0.0f || source == null || (s & (PAUSED | STARTED)) != STARTED || gain >= threshold) {
+            inaudibleTicks = 0;
+            return;
+        }
+        if (++inaudibleTicks >= holdTicks) {
+            inaudibleTicks = 0;
+            OpenALSourcePool.SourceHandle h = source;
+            if (h == null) return;
+            setVirtual(true);
+            detachSource(h);
+        }
+    }
 
-        if (isStatic) {
-            AL11.alSourcef(sourceId, AL11.AL_GAIN, sv);
+    private void resumeFromVirtual() {
+        setVirtual(false);
+        bindSource(false, true);
+        if (source == null) {
+            // No source to spare yet; retry next tick rather than through PENDING_BIND.
+            transition(PENDING_BIND, VIRTUAL);
+            grid.setVirtual(this, true);
             return;
         }
+        pendingSeek = clock.positionSeconds();
+        startPlayback(false);
+    }
 
-        Vec3 src = position;
-        double dx = src.x - listenerPos.x;
-        double dy = src.y - listenerPos.y;
-        double dz = src.z - listenerPos.z;
-        double d = Math.sqrt(dx * dx + dy * dy + dz * dz);
+    /** Ends a non-looping virtual instance whose clock has passed its length. */
+    boolean expireIfVirtualEnded() {
+        float length = durationSeconds;
+        if (!has(VIRTUAL) || looping || length <= 0.0f || clock.positionSeconds() < length) return false;
+        transition(VIRTUAL | STARTED, PENDING_NATURAL_DISPOSE);
+        grid.setVirtual(this, false);
+        clock.stop();
+        return true;
+    }
 
-        float minD = Math.max(0.0f, minDistance);
-        float maxD = Math.max(0.0f, maxDistance);
+    private void setVirtual(boolean v) {
+        transition(v ? 0 : VIRTUAL, v ? VIRTUAL : 0);
+        grid.setVirtual(this, v);
+    }
 
-        float factor;
-        if (maxD <= minD) {
-            factor = (d <= minD) ? 1.0f : 0.0f;
-        } else if (d <= minD) {
-            factor = 1.0f;
-        } else if (d >= maxD) {
-            factor = 0.0f;
-        } else {
-            factor = 1.0f - (float) ((d - minD) / (maxD - minD));
-        }
+    long cellKey() {
+        return cellKey;
+    }
 
-        float exp = Math.max(0.0001f, attenuationExponent);
-        float shaped = (factor <= 0.0f) ? 0.0f : (factor >= 1.0f ? 1.0f : (float) Math.pow(factor, exp));
-        AL11.alSourcef(sourceId, AL11.AL_GAIN, sv * shaped);
+    /** Returns false if already visited during the engine tick {@code stamp}. Client thread only. */
+    boolean markVisited(int stamp) {
+        if (visitStamp == stamp) return false;
+        visitStamp = stamp;
+        return true;
     }
 
     void updateStreamedBuffers() {
@@ -561,6 +1286,16 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
     }
 
     private void updateStreamedBuffersOnALThread(int sourceId) {
+        restartIfStarved(sourceId, refillStreamOnALThread(sourceId));
+    }
+
+    /** Reclaims played buffers and queues the next ones; returns the queued count. */
+    private int refillStreamOnALThread(int sourceId) {
+        LiveStream ls = liveStream;
+        if (ls != null) {
+            return ls.pump(sourceId, looping);
+        }
+
         int processed = AL11.alGetSourcei(sourceId, AL11.AL_BUFFERS_PROCESSED);
         if (processed > 0) {
             try (MemoryStack stack = MemoryStack.stackPush()) {
@@ -583,8 +1318,89 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
             AL11.alSourceQueueBuffers(sourceId, bufferId);
             queued++;
         }
+        return queued;
+    }
+
+    /**
+     * Stops a streamed source and requeues it so the next play starts at {@code seconds}:
+     * chunk streams pick the containing chunk and a sample offset into it, live streams seek
+     * the decoder.
+     */
+    private void startStreamAtOnALThread(int sourceId, float seconds) {
+        LiveStream ls = liveStream;
+        if (ls != null) {
+            ls.seek(sourceId, seconds, looping);
+            ls.pump(sourceId, looping);
+            return;
+        }
+
+        AL11.alSourceStop(sourceId);
+        AL11.alSourcei(sourceId, AL11.AL_BUFFER, 0);
+
+        List<Integer> ids = alStreamedBuffers;
+        if (ids.isEmpty()) {
+            bufferIndex.set(0);
+            return;
+        }
 
-        if (!paused.get() && queued > 0) {
+        int rate = Math.max(1, AL11.alGetBufferi(ids.get(0), AL11.AL_FREQUENCY));
+        long target = (long) ((double) seconds * rate);
+        if (looping) {
+            long total = 0;
+            for (int id : ids) {
+                total += bufferFrames(id);
+            }
+            if (total > 0) target %= total;
+        }
+
+        int idx = 0;
+        long chunkStart = 0;
+        for (; idx < ids.size(); idx++) {
+            int frames = bufferFrames(ids.get(idx));
+            if (target < chunkStart + frames) break;
+            chunkStart += frames;
+        }
+
+        bufferIndex.set(idx);
+        queueInitialBuffers(sourceId);
+        if (idx < ids.size() && target > chunkStart) {
+            AL11.alSourcei(sourceId, AL11.AL_SAMPLE_OFFSET, (int) (target - chunkStart));
+        }
+    }
+
+    /** Clamps (or wraps, when looping) an offset into the resident buffer. */
+    private float residentOffsetOnALThread(float seconds) {
+        int frames = bufferFrames(alBuffer);
+        int rate = AL11.alGetBufferi(alBuffer, AL11.AL_FREQUENCY);
+        if (frames <= 0 || rate <= 0) return 0.0f;
+        float length = (float) frames / rate;
+        if (seconds < length) return seconds;
+        if (looping) return seconds % length;
+        return (float) (frames - 1) / rate;
+    }
+
+    /** Length of the attached audio, or -1 if not known (e.g. forward-only live streams). */
+    private float lengthSecondsOnALThread() {
+        LiveStream ls = liveStream;
+        if (ls != null) return ls.lengthSeconds();
+        List<Integer> ids = isStreamed ? alStreamedBuffers : List.of(alBuffer);
+        if (ids.isEmpty() || ids.get(0) <= 0) return -1.0f;
+        long frames = 0;
+        for (int id : ids) {
+            frames += bufferFrames(id);
+        }
+        int rate = AL11.alGetBufferi(ids.get(0), AL11.AL_FREQUENCY);
+        return (frames > 0 && rate > 0) ? (float) frames / rate : -1.0f;
+    }
+
+    private static int bufferFrames(int bufferId) {
+        int bytes = AL11.alGetBufferi(bufferId, AL11.AL_SIZE);
+        int frameBytes = AL11.alGetBufferi(bufferId, AL11.AL_CHANNELS) * (AL11.alGetBufferi(bufferId, AL11.AL_BITS) / 8);
+        return (frameBytes > 0) ? bytes / frameBytes : 0;
+    }
+
+    private void restartIfStarved(int sourceId, int queued) {
+        if ((lifecycle.get() & (PAUSED | STARTED)) == STARTED && queued > 0) {
             int state = AL11.alGetSourcei(sourceId, AL11.AL_SOURCE_STATE);
             if (state != AL11.AL_PLAYING && state != AL11.AL_PAUSED) {
                 AL11.alSourcePlay(sourceId);
@@ -593,12 +1409,17 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
     }
 
     private void applyAllParams(int sourceId) {
-        AL11.alSourcef(sourceId, AL11.AL_GAIN, volume);
+        ParamRef r = paramRef;
+        InstanceParams ps = r.store();
+        int s = r.slot();
+        // Last attenuated gain rather than raw volume, so (re)binding a distant sound does not pop.
+        appliedGain = ps.audibleGain(s);
+        AL11.alSourcef(sourceId, AL11.AL_GAIN, appliedGain);
 
         float effectivePitch = clamp(pitch * speed, 0.01f, 8.0f);
         AL11.alSourcef(sourceId, AL11.AL_PITCH, effectivePitch);
 
-        if (isStatic) {
+        if (ps.isStatic(s)) {
             AL11.alSourcei(sourceId, AL11.AL_SOURCE_RELATIVE, AL11.AL_TRUE);
             AL11.alSource3f(sourceId, AL11.AL_POSITION, 0f, 0f, 0f);
 
@@ -606,9 +1427,8 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
             AL11.alSourcef(sourceId, AL11.AL_REFERENCE_DISTANCE, 1.0f);
             AL11.alSourcef(sourceId, AL11.AL_MAX_DISTANCE, 1000000.0f);
         } else {
-            Vec3 p = position;
             AL11.alSourcei(sourceId, AL11.AL_SOURCE_RELATIVE, AL11.AL_FALSE);
-            AL11.alSource3f(sourceId, AL11.AL_POSITION, (float) p.x, (float) p.y, (float) p.z);
+            AL11.alSource3f(sourceId, AL11.AL_POSITION, (float) ps.x(s), (float) ps.y(s), (float) ps.z(s));
 
             AL11.alSourcef(sourceId, AL11.AL_ROLLOFF_FACTOR, 0f);
             AL11.alSourcef(sourceId, AL11.AL_REFERENCE_DISTANCE, 1.0f);
@@ -635,35 +1455,29 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
     }
 
     boolean processPendingBindAndPlay() {
-        if (!pendingBind.get()) return false;
-        if (source != null) {
-            pendingBind.set(false);
-            if (pendingPlay.getAndSet(false)) {
-                play();
-            }
-            return true;
+        if ((lifecycle.get() & PENDING_BIND) == 0) return false;
+        if (source == null) {
+            bind();
+            if (source == null) return false;
         }
-        bind();
-        if (source != null) {
-            pendingBind.set(false);
-            if (pendingPlay.getAndSet(false)) {
-                play();
-            }
-            return true;
+        if ((transition(PENDING_BIND | PENDING_PLAY, 0) & PENDING_PLAY) != 0) {
+            play();
         }
-        return false;
+        return true;
     }
 
     boolean disposeIfNaturallyStoppedOnALThread() {
-        if (!al.isOnALThread()) return false;
-        if (!startedPlayback.get()) return false;
-        if (paused.get()) return false;
+        if ((lifecycle.get() & (PAUSED | STARTED)) != STARTED) return false;
         if (looping) return false;
+        if (!al.isOnALThread()) return false;
         OpenALSourcePool.SourceHandle h = source;
         if (h == null) return false;
         int sourceId = h.sourceId();
         int state = AL11.alGetSourcei(sourceId, AL11.AL_SOURCE_STATE);
         if (state != AL11.AL_STOPPED) return false;
+        LiveStream ls = liveStream;
+        // Starved while its decoder opens off-thread, not ended.
+        if (ls != null && ls.isAwaitingDecoder()) return false;
 
         source = null;
         sourcePool.sourceToInstance.remove(h);
@@ -680,31 +1494,32 @@ final class AuralisSoundInstanceImpl implements AuralisSoundInstance {
             }
         } catch (Throwable ignored) {}
 
-        paused.set(false);
         bufferIndex.set(0);
-        pendingBind.set(false);
-        pendingPlay.set(false);
-        startedPlayback.set(false);
-        pendingNaturalDispose.set(true);
+        transition(PLAYBACK_FLAGS, PENDING_NATURAL_DISPOSE);
         sourcePool.release(h);
         return true;
     }
 
     boolean finalizeNaturalDisposeIfNeeded() {
-        if (!pendingNaturalDispose.compareAndSet(true, false)) return false;
+        if (!consume(PENDING_NATURAL_DISPOSE)) return false;
         fireEvent(AuralisSoundEvent.STOP);
         fireEvent(AuralisSoundEvent.UNBIND);
         freeBuffers();
-        pendingEngineRemoval.set(true);
+        transition(0, PENDING_ENGINE_REMOVAL);
         return true;
     }
 
     boolean consumePendingEngineRemoval() {
-        return pendingEngineRemoval.compareAndSet(true, false);
+        return consume(PENDING_ENGINE_REMOVAL);
     }
 
     void freeBuffers() {
-        if (isStreamed) {
+        if (bufferState.getAndSet(BUFFERS_RELEASED) != BUFFERS_LOADED) return;
+        LiveStream ls = liveStream;
+        if (ls != null) {
+            liveStream = null;
+            al.submit(ls::close);
+        } else if (isStreamed) {
             bufferCache.releaseStreamedBuffers(alStreamedBuffers);
         } else {
             bufferCache.releaseBuffer(alBuffer);
@@ -13,6 +13,8 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.sounds.SoundEvent;
 import net.minecraft.world.phys.Vec3;
 import org.mirage.gfbs.auralis.api.AuralisApi;
+import org.mirage.gfbs.auralis.api.AuralisBus;
+import org.mirage.gfbs.auralis.api.AuralisRampCurve;
 import org.mirage.gfbs.auralis.api.AuralisSoundInstance;
 
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -41,7 +43,9 @@ public final class ClientSoundController {
             int priority,
             float minDistance,
             float maxDistance,
-            boolean isStreamed
+            boolean isStreamed,
+            String bus,
+            int entityId
     ) {}
 
     public static void flushPendingIfReady() {
@@ -63,7 +67,9 @@ public final class ClientSoundController {
                     p.priority,
                     p.minDistance,
                     p.maxDistance,
-                    p.isStreamed
+                    p.isStreamed,
+                    p.bus,
+                    p.entityId
             );
             drained++;
         }
@@ -82,6 +88,47 @@ public final class ClientSoundController {
             float minDistance,
             float maxDistance,
             boolean isStreamed
+    ) {
+        play(id, soundEventId, volume, pitch, speed, isStatic, position, looping, priority, minDistance, maxDistance, isStreamed, AuralisBus.MASTER);
+    }
+
+    public static void play(
+            String id,
+            ResourceLocation soundEventId,
+            float volume,
+            float pitch,
+            float speed,
+            boolean isStatic,
+            Vec3 position,
+            boolean looping,
+            int priority,
+            float minDistance,
+            float maxDistance,
+            boolean isStreamed,
+            String bus
+    ) {
+        play(id, soundEventId, volume, pitch, speed, isStatic, position, looping, priority, minDistance, maxDistance, isStreamed, bus, -1);
+    }
+
+    /**
+     * @param entityId entity the sound follows, with {@code position} as the offset from it,
+     *                 or -1 to play at {@code position}
+     */
+    public static void play(
+            String id,
+            ResourceLocation soundEventId,
+            float volume,
+            float pitch,
+            float speed,
+            boolean isStatic,
+            Vec3 position,
+            boolean looping,
+            int priority,
+            float minDistance,
+            float maxDistance,
+            boolean isStreamed,
+            String bus,
+            int entityId
     ) {
         Objects.requireNonNull(id, "id");
         Objects.requireNonNull(soundEventId, "soundEventId");
@@ -123,7 +170,9 @@ public final class ClientSoundController {
                         priority,
                         minD,
                         maxD,
-                        isStreamed
+                        isStreamed,
+                        bus,
+                        entityId
                 ));
                 PENDING_PLAY_SIZE.incrementAndGet();
             }
@@ -146,7 +195,11 @@ public final class ClientSoundController {
                 .setLooping(looping)
                 .setPriority(priority)
                 .setMinDistance(minD)
-                .setMaxDistance(maxD);
+                .setMaxDistance(maxD)
+                .setBus(bus);
+        if (entityId >= 0) {
+            instance.attachToEntity(entityId, position);
+        }
 
         AuralisSoundInstance.bind(instance);
         instance.play();
@@ -190,6 +243,31 @@ public final class ClientSoundController {
         if (inst != null) inst.setPosition(pos);
     }
 
+    public static void rampVolume(String id, float volume, int durationMillis, AuralisRampCurve curve) {
+        AuralisSoundInstance inst = INSTANCES.get(id);
+        if (inst != null) inst.rampVolume(volume, durationMillis, curve);
+    }
+
+    public static void rampPitch(String id, float pitch, int durationMillis, AuralisRampCurve curve) {
+        AuralisSoundInstance inst = INSTANCES.get(id);
+        if (inst != null) inst.rampPitch(pitch, durationMillis, curve);
+    }
+
+    public static void rampPosition(String id, Vec3 pos, int durationMillis, AuralisRampCurve curve) {
+        AuralisSoundInstance inst = INSTANCES.get(id);
+        if (inst != null) inst.rampPosition(pos, durationMillis, curve);
+    }
+
+    public static void attachToEntity(String id, int entityId, Vec3 offset) {
+        AuralisSoundInstance inst = INSTANCES.get(id);
+        if (inst != null) inst.attachToEntity(entityId, offset);
+    }
+
+    public static void detachFromEntity(String id) {
+        AuralisSoundInstance inst = INSTANCES.get(id);
+        if (inst != null) inst.detachFromEntity();
+    }
+
     public static void setStatic(String id, boolean isStatic) {
         AuralisSoundInstance inst = INSTANCES.get(id);
         if (inst != null) inst.setStatic(isStatic);
@@ -214,4 +292,36 @@ public final class ClientSoundController {
         AuralisSoundInstance inst = INSTANCES.get(id);
         if (inst != null) inst.setMaxDistance(Math.max(0.01f, distance));
     }
+
+    public static void setBus(String id, String bus) {
+        AuralisSoundInstance inst = INSTANCES.get(id);
+        if (inst != null) inst.setBus(bus);
+    }
+
+    public static void setBusVolume(String bus, float volume) {
+        if (AuralisApi.isInitialized()) AuralisApi.engine().setBusVolume(bus, volume);
+    }
+
+    public static void setBusMuted(String bus, boolean muted) {
+        if (AuralisApi.isInitialized()) AuralisApi.engine().setBusMuted(bus, muted);
+    }
+
+    public static void setBusPaused(String bus, boolean paused) {
+        if (AuralisApi.isInitialized()) AuralisApi.engine().setBusPaused(bus, paused);
+    }
+
+    public static void startTimeline(String runId, ResourceLocation timeline, Vec3 origin, float startSeconds) {
+        if (!AuralisApi.isInitialized()) return;
+        if (!AuralisApi.engine().startTimeline(runId, timeline, origin, startSeconds)) {
+            GFBsAuralis.LOGGER.warn("Could not start timeline {} as '{}'", timeline, runId);
+        }
+    }
+
+    public static void stopTimeline(String runId) {
+        if (AuralisApi.isInitialized()) AuralisApi.engine().stopTimeline(runId);
+    }
+
+    public static void seekTimeline(String runId, float seconds) {
+        if (AuralisApi.isInitialized()) AuralisApi.engine().seekTimeline(runId, seconds);
+    }
 }
@@ -21,7 +21,8 @@ package org.mirage.gfbs.auralis;
  * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
  * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  */
-import org.lwjgl.system.MemoryUtil;
+import org.jetbrains.annotations.Nullable;
+import org.mirage.gfbs.auralis.utils.NativeBufferPool;
 
 import java.nio.ByteBuffer;
 
@@ -29,11 +30,19 @@ public final class DecodedPcm {
     private final int alFormat;
     private final int sampleRate;
     private final ByteBuffer pcmData;
+    private final @Nullable AutoCloseable owner;
 
+    /** {@code pcmData} is pooled/allocated memory owned by this instance. */
     public DecodedPcm(int alFormat, int sampleRate, ByteBuffer pcmData) {
+        this(alFormat, sampleRate, pcmData, null);
+    }
+
+    /** {@code pcmData} is a view into {@code owner}'s memory, which is closed on free. */
+    public DecodedPcm(int alFormat, int sampleRate, ByteBuffer pcmData, @Nullable AutoCloseable owner) {
         this.alFormat = alFormat;
         this.sampleRate = sampleRate;
         this.pcmData = pcmData;
+        this.owner = owner;
     }
 
     int alFormat() { return alFormat; }
@@ -41,6 +50,14 @@ public final class DecodedPcm {
     ByteBuffer pcmData() { return pcmData; }
 
     void free() {
-        MemoryUtil.memFree(pcmData);
+        if (owner == null) {
+            NativeBufferPool.shared().release(pcmData);
+            return;
+        }
+        try {
+            owner.close();
+        } catch (Exception e) {
+            GFBsAuralis.LOGGER.warn("Failed to release PCM data owner", e);
+        }
     }
 }
@@ -0,0 +1,114 @@
+package org.mirage.gfbs.auralis;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instances attached to entities. Every rendered frame reads each entity's interpolated
+ * position from the client level and moves its sounds there, so moving sounds need no
+ * position packets.
+ * <p>
+ * A sound whose entity was killed or discarded is stopped and detached. One whose entity
+ * unloaded or is not known to the client yet is suspended: it keeps its last position, goes
+ * silent and, being inaudible, virtualizes until the entity shows up again.
+ */
+final class EntityEmitters {
+    private static final class Attachment {
+        final int entityId;
+        final Vec3 offset;
+        // Last resolved entity; the level forgets removed entities, this still knows why.
+        @Nullable Entity entity;
+
+        Attachment(int entityId, Vec3 offset) {
+            this.entityId = entityId;
+            this.offset = offset;
+        }
+    }
+
+    private final Minecraft mc;
+    private final Map<AuralisSoundInstanceImpl, Attachment> attached = new ConcurrentHashMap<>();
+
+    EntityEmitters(Minecraft mc) {
+        this.mc = mc;
+    }
+
+    /** Follows {@code entityId} from now on, at {@code offset} from the entity's position. */
+    void attach(AuralisSoundInstanceImpl inst, int entityId, Vec3 offset) {
+        Attachment a = new Attachment(entityId, offset);
+        attached.put(inst, a);
+        follow(mc.level, inst, a, mc.getFrameTime());
+    }
+
+    void detach(AuralisSoundInstanceImpl inst) {
+        if (attached.remove(inst) != null) {
+            inst.endFollow();
+        }
+    }
+
+    int entityOf(AuralisSoundInstanceImpl inst) {
+        Attachment a = attached.get(inst);
+        return (a != null) ? a.entityId : -1;
+    }
+
+    /** Moves every attached sound to its entity at {@code partialTick}. Main thread only. */
+    void update(float partialTick) {
+        if (attached.isEmpty()) return;
+        ClientLevel level = mc.level;
+        for (Map.Entry<AuralisSoundInstanceImpl, Attachment> e : attached.entrySet()) {
+            follow(level, e.getKey(), e.getValue(), partialTick);
+        }
+    }
+
+    void clear() {
+        attached.clear();
+    }
+
+    private void follow(@Nullable ClientLevel level, AuralisSoundInstanceImpl inst, Attachment a, float partialTick) {
+        Entity entity = a.entity;
+        if (entity == null || entity.isRemoved() || entity.level() != level) {
+            Entity found = (level != null) ? level.getEntity(a.entityId) : null;
+            if (found != null && !found.isRemoved()) {
+                a.entity = entity = found;
+            }
+        }
+        if (entity != null && !entity.isRemoved() && entity.level() == level) {
+            inst.followPosition(entity.getPosition(partialTick).add(a.offset));
+            return;
+        }
+        Entity.RemovalReason reason = (entity != null) ? entity.getRemovalReason() : null;
+        if (reason != null && reason.shouldDestroy()) {
+            attached.remove(inst, a);
+            inst.endFollow();
+            inst.stop();
+            return;
+        }
+        inst.suspendFollow();
+    }
+}
@@ -2,6 +2,8 @@ package org.mirage.gfbs.auralis;
 
 import com.mojang.logging.LogUtils;
 import net.minecraft.client.Minecraft;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.GameShuttingDownEvent;
@@ -16,6 +18,7 @@ import net.minecraftforge.fml.config.ModConfig;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import org.mirage.gfbs.auralis.api.AuralisApi;
+import org.mirage.gfbs.auralis.utils.OggVorbisDecoder;
 import org.slf4j.Logger;
 
 @Mod(GFBsAuralis.MODID)
@@ -51,7 +54,18 @@ public class GFBsAuralis {
                         cfg.streamedChunkSize.get(),
                         cfg.maxStreamedBytes.get(),
                         cfg.attenuationExponent.get().floatValue(),
-                        cfg.volumeSmoothing.get().floatValue()
+                        cfg.volumeSmoothing.get().floatValue(),
+                        cfg.lazyDecode.get(),
+                        new OggVorbisDecoder.Options(cfg.ditherPcm16.get(), cfg.floatPcmResident.get(), cfg.multichannelPassthrough.get()),
+                        new OggVorbisDecoder.Options(cfg.ditherPcm16.get(), cfg.floatPcmStreamed.get(), cfg.multichannelPassthrough.get()),
+                        cfg.virtualVoiceThreshold.get().floatValue(),
+                        cfg.virtualVoiceHoldTicks.get(),
+                        cfg.voiceStealFadeMillis.get(),
+                        cfg.audioUpdateHz.get(),
+                        cfg.coalesceSoundEvents.get(),
+                        cfg.busReservations.get(),
+                        cfg.occlusionStrength.get().floatValue(),
+                        cfg.occlusionRaysPerTick.get()
                 );
                 AuralisApi.setEngine(engine);
                 LOGGER.info("Auralis engine initialized (client). maxSources={} (configured={}, reserveForVanilla={})", effectiveMaxSources, configuredMaxSources, reserve);
@@ -81,6 +95,15 @@ public class GFBsAuralis {
             }
         }
 
+        @SubscribeEvent
+        public static void onRenderTick(TickEvent.RenderTickEvent e) {
+            if (e.phase != TickEvent.Phase.END) return;
+            if (AuralisApi.isInitialized() && AuralisApi.engine() instanceof AuralisEngine auralis) {
+                auralis.publishListener();
+                auralis.updateEmitters(e.renderTickTime);
+            }
+        }
+
         @SubscribeEvent
         public static void onClientShutdown(GameShuttingDownEvent e){
             if (AuralisApi.isInitialized()) {
@@ -88,4 +111,20 @@ public class GFBsAuralis {
             }
         }
     }
+
+    @Mod.EventBusSubscriber(
+            modid = MODID,
+            bus = Mod.EventBusSubscriber.Bus.MOD,
+            value = Dist.CLIENT
+    )
+    public static class ClientModBusEvents {
+        @SubscribeEvent
+        public static void onRegisterReloadListeners(RegisterClientReloadListenersEvent e) {
+            e.registerReloadListener((ResourceManagerReloadListener) resourceManager -> {
+                if (AuralisApi.isInitialized() && AuralisApi.engine() instanceof AuralisEngine auralis) {
+                    auralis.clearTimelineCache();
+                }
+            });
+        }
+    }
 }
@@ -24,6 +24,8 @@ package org.mirage.gfbs.auralis;
 import net.minecraftforge.common.ForgeConfigSpec;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.List;
+
 public class GFBsAuralisConfig {
     public static class ServerConfig {
         public final ForgeConfigSpec.IntValue maxConcurrentSounds;
@@ -63,6 +65,19 @@ public class GFBsAuralisConfig {
         public final ForgeConfigSpec.DoubleValue attenuationExponent;
         public final ForgeConfigSpec.DoubleValue volumeSmoothing;
         public final ForgeConfigSpec.BooleanValue enableHrtf;
+        public final ForgeConfigSpec.BooleanValue lazyDecode;
+        public final ForgeConfigSpec.BooleanValue ditherPcm16;
+        public final ForgeConfigSpec.BooleanValue floatPcmResident;
+        public final ForgeConfigSpec.BooleanValue floatPcmStreamed;
+        public final ForgeConfigSpec.BooleanValue multichannelPassthrough;
+        public final ForgeConfigSpec.DoubleValue virtualVoiceThreshold;
+        public final ForgeConfigSpec.IntValue virtualVoiceHoldTicks;
+        public final ForgeConfigSpec.IntValue voiceStealFadeMillis;
+        public final ForgeConfigSpec.IntValue audioUpdateHz;
+        public final ForgeConfigSpec.BooleanValue coalesceSoundEvents;
+        public final ForgeConfigSpec.ConfigValue<List<? extends String>> busReservations;
+        public final ForgeConfigSpec.DoubleValue occlusionStrength;
+        public final ForgeConfigSpec.IntValue occlusionRaysPerTick;
 
         ClientConfig(ForgeConfigSpec.Builder builder) {
             builder.comment("Client configuration for GFBS-Auralis")
@@ -89,13 +104,65 @@ public class GFBsAuralisConfig {
                     .defineInRange("attenuationExponent", 1.35, 0.1, 8.0);
 
             volumeSmoothing = builder
-                    .comment("Per-tick volume smoothing factor (0..1)")
+                    .comment("Volume smoothing per 1/20 s, applied at the audio update rate (0 or 1 = off)")
                     .defineInRange("volumeSmoothing", 0.35, 0.0, 1.0);
 
             enableHrtf = builder
                     .comment("Enable OpenAL HRTF if supported by the device")
                     .define("enableHrtf", false);
 
+            lazyDecode = builder
+                    .comment("Defer decoding a sound until its instance is actually bound to a source")
+                    .define("lazyDecode", true);
+
+            ditherPcm16 = builder
+                    .comment("Apply TPDF dither when converting decoded audio to 16-bit (off = faster decoding)")
+                    .define("ditherPcm16", true);
+
+            floatPcmResident = builder
+                    .comment("Upload fully decoded sounds as 32-bit float PCM when AL_EXT_FLOAT32 is available (less decode CPU, 2x memory)")
+                    .define("floatPcmResident", false);
+
+            floatPcmStreamed = builder
+                    .comment("Upload streamed sounds as 32-bit float PCM when AL_EXT_FLOAT32 is available (less decode CPU, 2x memory)")
+                    .define("floatPcmStreamed", false);
+
+            multichannelPassthrough = builder
+                    .comment("Play quad/5.1/6.1/7.1 sounds natively when AL_EXT_MCFORMATS is available instead of downmixing to stereo")
+                    .define("multichannelPassthrough", true);
+
+            virtualVoiceThreshold = builder
+                    .comment("Playing sounds quieter than this gain give up their OpenAL source and resume in place when audible again (0 = disabled)")
+                    .defineInRange("virtualVoiceThreshold", 0.001, 0.0, 0.5);
+
+            virtualVoiceHoldTicks = builder
+                    .comment("Ticks a sound must stay below virtualVoiceThreshold before its source is released")
+                    .defineInRange("virtualVoiceHoldTicks", 10, 1, 200);
+
+            voiceStealFadeMillis = builder
+                    .comment("Milliseconds to fade out a sound whose source is stolen for another one (0 = hard stop)")
+                    .defineInRange("voiceStealFadeMillis", 0, 0, 50);
+
+            audioUpdateHz = builder
+                    .comment("Rate (Hz) of the listener/gain/streaming update loop on the OpenAL thread (0 = run once per client tick)")
+                    .defineInRange("audioUpdateHz", 60, 0, 240);
+
+            coalesceSoundEvents = builder
+                    .comment("Drop sound listener events that repeat the previous event of the same sound within a tick")
+                    .define("coalesceSoundEvents", false);
+
+            busReservations = builder
+                    .comment("OpenAL sources kept free for a mixer bus so others cannot take or steal them, as name=count (e.g. \"music=2\")")
+                    .defineList("busReservations", List.of(), o -> o instanceof String s && s.matches("[A-Za-z0-9_.-]+\\s*=\\s*\\d+"));
+
+            occlusionStrength = builder
+                    .comment("How strongly solid blocks between a sound and the listener muffle and quieten it (0 = occlusion off)")
+                    .defineInRange("occlusionStrength", 0.8, 0.0, 1.0);
+
+            occlusionRaysPerTick = builder
+                    .comment("Maximum occlusion rays traced per client tick on the occlusion worker, most audible sounds first")
+                    .defineInRange("occlusionRaysPerTick", 64, 1, 1024);
+
             builder.pop();
         }
     }
@@ -0,0 +1,244 @@
+package org.mirage.gfbs.auralis;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import java.util.Arrays;
+
+/**
+ * Engine-owned struct-of-arrays storage for the per-instance parameters the tick reads:
+ * position, volume, distances, bus, flags and occlusion, plus the attenuation results.
+ * Instances only hold a slot index into it, so the attenuation pass walks dense primitive
+ * columns instead of chasing fields across scattered objects.
+ * <p>
+ * Instances are controlled from any thread, so every write, including growth and the
+ * attenuation pass, holds this store's lock; a write can then never land in a column array
+ * that growth has already copied. The columns are published through one volatile holder, so
+ * reads need no lock and always see a consistent set of arrays.
+ */
+final class InstanceParams {
+    static final byte FLAG_STATIC = 1;
+    // Silenced while the entity it follows is not loaded; see EntityEmitters.
+    static final byte FLAG_SUSPENDED = 2;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** One generation of column arrays; replaced as a whole when the store grows. */
+    private static final class Columns {
+        final double[] x;
+        final double[] y;
+        final double[] z;
+        final float[] volume;
+        final float[] minDistance;
+        final float[] maxDistance;
+        final byte[] flags;
+        final byte[] bus;
+        // Gain left after blocks between the sound and the listener; see OcclusionSystem.
+        final float[] occlusionGain;
+        // Outputs of computeAttenuation.
+        final float[] attenuation;
+        final float[] audibleGain;
+
+        Columns(int capacity) {
+            x = new double[capacity];
+            y = new double[capacity];
+            z = new double[capacity];
+            volume = new float[capacity];
+            minDistance = new float[capacity];
+            maxDistance = new float[capacity];
+            flags = new byte[capacity];
+            bus = new byte[capacity];
+            occlusionGain = new float[capacity];
+            attenuation = new float[capacity];
+            audibleGain = new float[capacity];
+        }
+
+        Columns(Columns old, int capacity) {
+            x = Arrays.copyOf(old.x, capacity);
+            y = Arrays.copyOf(old.y, capacity);
+            z = Arrays.copyOf(old.z, capacity);
+            volume = Arrays.copyOf(old.volume, capacity);
+            minDistance = Arrays.copyOf(old.minDistance, capacity);
+            maxDistance = Arrays.copyOf(old.maxDistance, capacity);
+            flags = Arrays.copyOf(old.flags, capacity);
+            bus = Arrays.copyOf(old.bus, capacity);
+            occlusionGain = Arrays.copyOf(old.occlusionGain, capacity);
+            attenuation = Arrays.copyOf(old.attenuation, capacity);
+            audibleGain = Arrays.copyOf(old.audibleGain, capacity);
+        }
+    }
+
+    private volatile Columns cols;
+
+    // Guarded by this.
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int highWater;
+
+    InstanceParams() {
+        this(INITIAL_CAPACITY);
+    }
+
+    InstanceParams(int capacity) {
+        cols = new Columns(Math.max(1, capacity));
+    }
+
+    synchronized int allocate() {
+        int slot = (freeCount > 0) ? freeSlots[--freeCount] : highWater++;
+        Columns c = cols;
+        if (slot >= c.x.length) {
+            c = new Columns(c, c.x.length * 2);
+            cols = c;
+        }
+        c.x[slot] = 0.0;
+        c.y[slot] = 0.0;
+        c.z[slot] = 0.0;
+        c.volume[slot] = 1.0f;
+        c.minDistance[slot] = 1.0f;
+        c.maxDistance[slot] = 48.0f;
+        c.flags[slot] = 0;
+        c.bus[slot] = MixerBuses.MASTER;
+        c.occlusionGain[slot] = 1.0f;
+        c.attenuation[slot] = 1.0f;
+        c.audibleGain[slot] = 1.0f;
+        return slot;
+    }
+
+    synchronized void release(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /** Copies one slot into {@code to}, e.g. to detach a handle from the engine's store. */
+    void copySlot(int slot, InstanceParams to, int toSlot) {
+        synchronized (this) {
+            synchronized (to) {
+                Columns f = cols;
+                Columns t = to.cols;
+                t.x[toSlot] = f.x[slot];
+                t.y[toSlot] = f.y[slot];
+                t.z[toSlot] = f.z[slot];
+                t.volume[toSlot] = f.volume[slot];
+                t.minDistance[toSlot] = f.minDistance[slot];
+                t.maxDistance[toSlot] = f.maxDistance[slot];
+                t.flags[toSlot] = f.flags[slot];
+                t.bus[toSlot] = f.bus[slot];
+                t.occlusionGain[toSlot] = f.occlusionGain[slot];
+                t.attenuation[toSlot] = f.attenuation[slot];
+                t.audibleGain[toSlot] = f.audibleGain[slot];
+            }
+        }
+    }
+
+    double x(int s) { return cols.x[s]; }
+    double y(int s) { return cols.y[s]; }
+    double z(int s) { return cols.z[s]; }
+
+    synchronized void setPosition(int s, double px, double py, double pz) {
+        Columns c = cols;
+        c.x[s] = px;
+        c.y[s] = py;
+        c.z[s] = pz;
+    }
+
+    float volume(int s) { return cols.volume[s]; }
+    synchronized void setVolume(int s, float v) { cols.volume[s] = v; }
+
+    float minDistance(int s) { return cols.minDistance[s]; }
+    synchronized void setMinDistance(int s, float d) { cols.minDistance[s] = d; }
+
+    float maxDistance(int s) { return cols.maxDistance[s]; }
+    synchronized void setMaxDistance(int s, float d) { cols.maxDistance[s] = d; }
+
+    boolean isStatic(int s) { return (cols.flags[s] & FLAG_STATIC) != 0; }
+
+    synchronized void setStatic(int s, boolean isStatic) {
+        byte[] fl = cols.flags;
+        fl[s] = (byte) (isStatic ? (fl[s] | FLAG_STATIC) : (fl[s] & ~FLAG_STATIC));
+    }
+
+    boolean isSuspended(int s) { return (cols.flags[s] & FLAG_SUSPENDED) != 0; }
+
+    synchronized void setSuspended(int s, boolean suspended) {
+        byte[] fl = cols.flags;
+        fl[s] = (byte) (suspended ? (fl[s] | FLAG_SUSPENDED) : (fl[s] & ~FLAG_SUSPENDED));
+    }
+
+    int bus(int s) { return cols.bus[s]; }
+    synchronized void setBus(int s, int b) { cols.bus[s] = (byte) b; }
+
+    float occlusionGain(int s) { return cols.occlusionGain[s]; }
+    synchronized void setOcclusionGain(int s, float g) { cols.occlusionGain[s] = g; }
+
+    /** Shaped distance attenuation times occlusion gain from the last {@link #computeAttenuation}. */
+    float attenuation(int s) { return cols.attenuation[s]; }
+
+    /** Volume times {@link #attenuation} times bus gain from the last {@link #computeAttenuation}. */
+    float audibleGain(int s) { return cols.audibleGain[s]; }
+
+    /**
+     * Computes the shaped distance attenuation and audible gain of {@code count} slots.
+     * Gathers by slot index; all per-slot work is branch-light arithmetic over the columns.
+     * Holds the lock for the pass, which writers on other threads wait out.
+     *
+     * @param busGain effective gain per bus index, see {@link MixerBuses#effectiveGains}
+     */
+    synchronized void computeAttenuation(int[] slots, int count, double lx, double ly, double lz, float attenuationExponent, float[] busGain) {
+        Columns c = cols;
+        double[] px = c.x, py = c.y, pz = c.z;
+        float[] vol = c.volume, minD = c.minDistance, maxD = c.maxDistance;
+        byte[] fl = c.flags, bs = c.bus;
+        float[] occ = c.occlusionGain;
+        float[] att = c.attenuation, gain = c.audibleGain;
+        float exp = Math.max(0.0001f, attenuationExponent);
+        boolean linear = exp == 1.0f;
+
+        for (int i = 0; i < count; i++) {
+            int s = slots[i];
+            float factor;
+            if ((fl[s] & FLAG_SUSPENDED) != 0) {
+                factor = 0.0f;
+            } else if ((fl[s] & FLAG_STATIC) != 0) {
+                factor = 1.0f;
+            } else {
+                double dx = px[s] - lx;
+                double dy = py[s] - ly;
+                double dz = pz[s] - lz;
+                float d = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+                float near = Math.max(0.0f, minD[s]);
+                float far = Math.max(0.0f, maxD[s]);
+                if (d <= near) {
+                    factor = 1.0f;
+                } else if (d >= far) {
+                    factor = 0.0f;
+                } else {
+                    factor = 1.0f - (d - near) / (far - near);
+                    if (!linear) factor = (float) Math.pow(factor, exp);
+                }
+            }
+            factor *= occ[s];
+            att[s] = factor;
+            gain[s] = vol[s] * factor * busGain[bs[s]];
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package org.mirage.gfbs.auralis;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.openal.AL11;
+import org.lwjgl.system.MemoryStack;
+import org.mirage.gfbs.auralis.utils.LoopPoints;
+import org.mirage.gfbs.auralis.utils.NativeBufferPool;
+import org.mirage.gfbs.auralis.utils.PcmStreamDecoder;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Decodes a sound on demand into a small ring of OpenAL buffers, for streams too long to keep
+ * fully decoded. Resident memory is one decoder plus {@link #RING_BUFFERS} chunks.
+ * <p>
+ * Forward playback uses a bounded-memory decoder. Seeking and looping a region need the
+ * seekable one, which holds the whole compressed file in native memory; it is opened on
+ * {@code openExecutor} ahead of the first loop wrap or when a seek asks for it, so the AL
+ * thread never reads the file, and the stream waits with an empty queue until it is ready.
+ * Formats without a bounded-memory decoder pass no forward opener and always take that path.
+ * <p>
+ * All methods except construction must run on the AL thread.
+ */
+final class LiveStream {
+    static final int RING_BUFFERS = 4;
+
+    private final ResourceLocation soundPath;
+    // Null when the format has no bounded-memory decoder; forward playback then uses the seekable one.
+    private final @Nullable Callable<PcmStreamDecoder> opener;
+    // Only used to start mid-stream or to loop a region; forward playback uses the cheaper opener.
+    private final Callable<PcmStreamDecoder> seekableOpener;
+    private final Executor openExecutor;
+    private final int[] bufferIds;
+    private final ArrayDeque<Integer> freeBuffers = new ArrayDeque<>(RING_BUFFERS);
+    private final int chunkSize;
+    private final ByteBuffer scratch;
+
+    private PcmStreamDecoder decoder;
+    // Kept past EOF, when the decoder itself is already closed.
+    private int alFormat;
+    private int sampleRate;
+    private int frameBytes;
+    private LoopPoints loopPoints;
+    private boolean loopPointsUnusable;
+    // Frame index of the next decoded frame within the sound.
+    private long framePos;
+    private boolean exhausted;
+    private boolean closed;
+    // Seekable decoder being opened off-thread, until adopted.
+    private @Nullable CompletableFuture<PcmStreamDecoder> seekable;
+    // Position a seek continues from once the seekable decoder is ready, or -1.
+    private float pendingSeekSeconds = -1.0f;
+    private boolean pendingSeekLooping;
+
+    LiveStream(
+            ResourceLocation soundPath,
+            @Nullable Callable<PcmStreamDecoder> opener,
+            Callable<PcmStreamDecoder> seekableOpener,
+            Executor openExecutor,
+            int[] bufferIds,
+            int chunkSize
+    ) {
+        this.soundPath = Objects.requireNonNull(soundPath, "soundPath");
+        this.opener = opener;
+        this.seekableOpener = Objects.requireNonNull(seekableOpener, "seekableOpener");
+        this.openExecutor = Objects.requireNonNull(openExecutor, "openExecutor");
+        this.bufferIds = bufferIds.clone();
+        for (int id : bufferIds) {
+            freeBuffers.add(id);
+        }
+        this.chunkSize = chunkSize;
+        this.scratch = NativeBufferPool.shared().acquire(chunkSize);
+        if (opener == null) {
+            // Start reading the file now; the first pump is only a few ticks away.
+            prepareSeekable();
+        }
+    }
+
+    /**
+     * Reclaims played buffers, refills and queues them on {@code sourceId}.
+     *
+     * @return buffers still queued on the source
+     */
+    int pump(int sourceId, boolean looping) {
+        if (closed) return 0;
+
+        int processed = AL11.alGetSourcei(sourceId, AL11.AL_BUFFERS_PROCESSED);
+        if (processed > 0) {
+            try (MemoryStack stack = MemoryStack.stackPush()) {
+                IntBuffer tmp = stack.mallocInt(processed);
+                AL11.alSourceUnqueueBuffers(sourceId, tmp);
+                for (int i = 0; i < processed; i++) {
+                    freeBuffers.add(tmp.get(i));
+                }
+            }
+        }
+
+        while (!exhausted && !freeBuffers.isEmpty()) {
+            if (!fillScratch(looping)) break;
+            int id = freeBuffers.poll();
+            AL11.alBufferData(id, alFormat, scratch, sampleRate);
+            AL11.alSourceQueueBuffers(sourceId, id);
+        }
+
+        return AL11.alGetSourcei(sourceId, AL11.AL_BUFFERS_QUEUED);
+    }
+
+    /** Stops the source, takes back every buffer and rewinds to the start of the sound. */
+    void reset(int sourceId) {
+        if (closed) return;
+        AL11.alSourceStop(sourceId);
+        AL11.alSourcei(sourceId, AL11.AL_BUFFER, 0);
+        freeBuffers.clear();
+        for (int id : bufferIds) {
+            freeBuffers.add(id);
+        }
+        pendingSeekSeconds = -1.0f;
+        // A seekable decoder rewinds in memory; a forward-only one is reopened on demand.
+        if (decoder != null && decoder.isSeekable() && decoder.seekToFrame(0)) {
+            framePos = 0;
+        } else {
+            closeDecoder();
+        }
+        exhausted = false;
+    }
+
+    /**
+     * Like {@link #reset(int)}, but the next {@link #pump} continues from {@code seconds}.
+     * Past the end, a looping stream wraps and a non-looping one is exhausted. Without an
+     * open seekable decoder, pumps queue nothing until one has been opened off-thread.
+     */
+    void seek(int sourceId, float seconds, boolean looping) {
+        reset(sourceId);
+        if (closed || !(seconds > 0.0f)) return;
+
+        if (decoder != null) {
+            // reset kept a seekable decoder open.
+            seekDecoder(decoder, seconds, looping);
+            return;
+        }
+        pendingSeekSeconds = seconds;
+        pendingSeekLooping = looping;
+        prepareSeekable();
+        resolvePendingSeek();
+    }
+
+    /** Whether playback is waiting for the seekable decoder to open; the stream resumes on its own. */
+    boolean isAwaitingDecoder() {
+        return pendingSeekSeconds >= 0.0f || (opener == null && decoder == null && seekable != null && !exhausted);
+    }
+
+    /** Length of the open decoder's sound, or -1 if unknown or no decoder is open. */
+    float lengthSeconds() {
+        if (decoder == null || sampleRate <= 0) return -1.0f;
+        long frames = decoder.lengthInFrames();
+        return (frames > 0) ? (float) frames / sampleRate : -1.0f;
+    }
+
+    /** Buffers must already be detached from any source. */
+    void close() {
+        if (closed) return;
+        closed = true;
+        closeDecoder();
+        CompletableFuture<PcmStreamDecoder> f = seekable;
+        if (f != null) {
+            seekable = null;
+            f.thenAccept(PcmStreamDecoder::close);
+        }
+        AL11.alDeleteBuffers(bufferIds);
+        NativeBufferPool.shared().release(scratch);
+    }
+
+    private boolean fillScratch(boolean looping) {
+        scratch.clear().limit(chunkSize);
+        boolean rewound = false;
+        while (scratch.hasRemaining()) {
+            if (pendingSeekSeconds >= 0.0f && (!resolvePendingSeek() || exhausted)) break;
+            if (decoder == null && !openDecoder()) break;
+
+            LoopPoints loop = looping ? loopPoints : null;
+            if (loop != null && !decoder.isSeekable()) {
+                // Well before the first wrap, so the file is read by then.
+                prepareSeekable();
+            }
+            if (loop != null && framePos >= loop.endFrame()) {
+                LoopSeek result = seekToLoopStart(loop);
+                if (result == LoopSeek.PENDING) break;
+                if (result == LoopSeek.FAILED) continue;
+                if (rewound) {
+                    exhausted = true;
+                    break;
+                }
+                rewound = true;
+            }
+
+            int limit = scratch.limit();
+            if (loop != null) {
+                // Stop exactly at the loop end so the region's tail never reaches the queue.
+                long framesLeft = loop.endFrame() - framePos;
+                if (framesLeft < scratch.remaining() / frameBytes) {
+                    scratch.limit(scratch.position() + (int) framesLeft * frameBytes);
+                }
+            }
+            int n = decoder.decodeChunk(scratch);
+            scratch.limit(limit);
+            if (n > 0) {
+                framePos += n / frameBytes;
+                rewound = false;
+                continue;
+            }
+
+            if (loop != null) {
+                // The region runs past EOF; treat EOF as the loop end.
+                framePos = loop.endFrame();
+                continue;
+            }
+            // A second empty pass means there is nothing to loop over.
+            if (!looping || rewound) {
+                closeDecoder();
+                exhausted = true;
+                break;
+            }
+            if (decoder.isSeekable() && decoder.seekToFrame(0)) {
+                framePos = 0;
+            } else {
+                closeDecoder();
+            }
+            rewound = true;
+        }
+        scratch.flip();
+        return scratch.hasRemaining();
+    }
+
+    private enum LoopSeek { DONE, PENDING, FAILED }
+
+    /**
+     * Seeks back to the loop start, switching a forward-only decoder to the seekable one
+     * on the first wrap. On failure the loop points are dropped and the whole file loops.
+     */
+    private LoopSeek seekToLoopStart(LoopPoints loop) {
+        if (decoder.seekToFrame(loop.startFrame())) {
+            framePos = loop.startFrame();
+            return LoopSeek.DONE;
+        }
+        PcmStreamDecoder d = null;
+        try {
+            prepareSeekable();
+            d = pollSeekable();
+            if (d == null) return LoopSeek.PENDING;
+            if (d.seekToFrame(loop.startFrame())) {
+                closeDecoder();
+                adopt(d);
+                framePos = loop.startFrame();
+                return LoopSeek.DONE;
+            }
+            d.close();
+        } catch (Exception e) {
+            if (d != null) d.close();
+            GFBsAuralis.LOGGER.error("Failed to seek to loop start for: {}", soundPath, e);
+        }
+        GFBsAuralis.LOGGER.warn("Ignoring unusable loop points {} for: {}", loop, soundPath);
+        loopPointsUnusable = true;
+        loopPoints = null;
+        closeDecoder();
+        return LoopSeek.FAILED;
+    }
+
+    /** Starts opening the seekable decoder on the executor, unless it already is. */
+    private void prepareSeekable() {
+        if (seekable != null) return;
+        seekable = CompletableFuture.supplyAsync(() -> {
+            try {
+                return seekableOpener.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, openExecutor);
+    }
+
+    /**
+     * Takes the seekable decoder once it is open; null while it is still opening.
+     *
+     * @throws Exception if opening it failed
+     */
+    private @Nullable PcmStreamDecoder pollSeekable() throws Exception {
+        CompletableFuture<PcmStreamDecoder> f = seekable;
+        if (f == null || !f.isDone()) return null;
+        seekable = null;
+        try {
+            return f.join();
+        } catch (CompletionException e) {
+            throw (e.getCause() instanceof Exception cause) ? cause : e;
+        }
+    }
+
+    /** @return false while the seekable decoder is still opening */
+    private boolean resolvePendingSeek() {
+        PcmStreamDecoder d;
+        try {
+            d = pollSeekable();
+        } catch (Exception e) {
+            // Play from the start rather than not at all.
+            GFBsAuralis.LOGGER.error("Failed to open seekable stream for: {}", soundPath, e);
+            pendingSeekSeconds = -1.0f;
+            return true;
+        }
+        if (d == null) return false;
+        float seconds = pendingSeekSeconds;
+        pendingSeekSeconds = -1.0f;
+        closeDecoder();
+        seekDecoder(d, seconds, pendingSeekLooping);
+        return true;
+    }
+
+    /** Positions {@code d} at {@code seconds} and makes it the current decoder; closes it on failure. */
+    private void seekDecoder(PcmStreamDecoder d, float seconds, boolean looping) {
+        long frame = (long) ((double) seconds * d.getSampleRate());
+        long length = d.lengthInFrames();
+        LoopPoints loop = loopPointsUnusable ? null : d.loopPoints();
+        if (looping && loop != null && frame >= loop.endFrame()) {
+            long loopLength = loop.endFrame() - loop.startFrame();
+            frame = loop.startFrame() + (frame - loop.startFrame()) % loopLength;
+        } else if (looping && length > 0) {
+            frame %= length;
+        }
+        if (!d.seekToFrame(frame)) {
+            if (d == decoder) decoder = null;
+            d.close();
+            exhausted = !looping;
+            return;
+        }
+        if (d != decoder) adopt(d);
+        framePos = frame;
+    }
+
+    /** @return false if opening failed, or while the seekable decoder is still opening */
+    private boolean openDecoder() {
+        try {
+            PcmStreamDecoder d;
+            if (opener != null) {
+                d = opener.call();
+            } else {
+                prepareSeekable();
+                d = pollSeekable();
+                if (d == null) return false;
+            }
+            adopt(d);
+            framePos = 0;
+            return true;
+        } catch (Exception e) {
+            GFBsAuralis.LOGGER.error("Failed to open live stream for: {}", soundPath, e);
+            exhausted = true;
+            return false;
+        }
+    }
+
+    private void adopt(PcmStreamDecoder d) {
+        decoder = d;
+        alFormat = d.getAlFormat();
+        sampleRate = d.getSampleRate();
+        frameBytes = d.getFrameBytes();
+        loopPoints = loopPointsUnusable ? null : d.loopPoints();
+    }
+
+    private void closeDecoder() {
+        if (decoder != null) {
+            decoder.close();
+            decoder = null;
+        }
+    }
+}
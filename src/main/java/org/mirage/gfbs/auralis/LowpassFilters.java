@@ -0,0 +1,102 @@
+package org.mirage.gfbs.auralis;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import org.lwjgl.openal.AL11;
+import org.lwjgl.openal.EXTEfx;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * EFX low-pass filters on the direct path of each source, driven by the occlusion of the
+ * instance playing on it. Filters are created on first use and left detached while a source
+ * is unoccluded. AL thread only.
+ */
+final class LowpassFilters {
+    // Gain HF at or above this counts as unfiltered.
+    private static final float PASS_THROUGH = 0.999f;
+    private static final float SETTLE_EPSILON = 1.0e-3f;
+
+    private static final class Filter {
+        final int id;
+        AuralisSoundInstanceImpl owner;
+        float gainHF = 1.0f;
+        boolean attached;
+
+        Filter(int id) {
+            this.id = id;
+        }
+    }
+
+    private final Map<Integer, Filter> filters = new HashMap<>();
+
+    /**
+     * Eases the filter of {@code sourceId} toward the instance's occlusion low-pass. A source
+     * that changed hands jumps straight to the new instance's value.
+     */
+    void apply(int sourceId, AuralisSoundInstanceImpl inst, float k) {
+        float target = inst.lowpassGainHF();
+        Filter f = filters.get(sourceId);
+        if (f == null) {
+            if (target >= PASS_THROUGH) return;
+            f = new Filter(EXTEfx.alGenFilters());
+            EXTEfx.alFilteri(f.id, EXTEfx.AL_FILTER_TYPE, EXTEfx.AL_FILTER_LOWPASS);
+            EXTEfx.alFilterf(f.id, EXTEfx.AL_LOWPASS_GAIN, 1.0f);
+            filters.put(sourceId, f);
+        }
+
+        float hf;
+        if (f.owner != inst) {
+            f.owner = inst;
+            hf = target;
+        } else {
+            hf = f.gainHF + (target - f.gainHF) * k;
+            if (Math.abs(target - hf) < SETTLE_EPSILON) hf = target;
+        }
+        if (hf >= PASS_THROUGH) {
+            f.gainHF = 1.0f;
+            if (f.attached) {
+                AL11.alSourcei(sourceId, EXTEfx.AL_DIRECT_FILTER, EXTEfx.AL_FILTER_NULL);
+                f.attached = false;
+            }
+            return;
+        }
+        if (f.attached && hf == f.gainHF) return;
+        f.gainHF = hf;
+        EXTEfx.alFilterf(f.id, EXTEfx.AL_LOWPASS_GAINHF, hf);
+        // The source copies filter parameters when attached, so re-attach after every change.
+        AL11.alSourcei(sourceId, EXTEfx.AL_DIRECT_FILTER, f.id);
+        f.attached = true;
+    }
+
+    /** Detaches and deletes all filters. */
+    void close() {
+        for (Map.Entry<Integer, Filter> e : filters.entrySet()) {
+            if (e.getValue().attached) {
+                AL11.alSourcei(e.getKey(), EXTEfx.AL_DIRECT_FILTER, EXTEfx.AL_FILTER_NULL);
+            }
+            EXTEfx.alDeleteFilters(e.getValue().id);
+        }
+        filters.clear();
+    }
+}
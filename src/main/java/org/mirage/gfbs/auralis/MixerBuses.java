@@ -0,0 +1,115 @@
+package org.mirage.gfbs.auralis;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import org.jetbrains.annotations.Nullable;
+import org.mirage.gfbs.auralis.api.AuralisBus;
+
+import java.util.Arrays;
+
+/**
+ * Bus table: per-bus volume, mute and pause state, indexed by the small bus
+ * number stored in each instance's parameter slot. Bus 0 is master and scales every other
+ * bus; the built-in buses come next and custom ones are added on first use. Source
+ * reservations per bus live in {@link OpenALSourcePool}.
+ * <p>
+ * Guarded by its own monitor. The tick folds {@link #effectiveGains} into the attenuation
+ * pass once, so a bus change costs one write instead of one push per sound.
+ */
+final class MixerBuses {
+    static final int MASTER = 0;
+    // Bus indices are stored as bytes in InstanceParams.
+    static final int MAX_BUSES = 64;
+
+    private final String[] names = new String[MAX_BUSES];
+    private final float[] volume = new float[MAX_BUSES];
+    private final boolean[] muted = new boolean[MAX_BUSES];
+    private final boolean[] paused = new boolean[MAX_BUSES];
+    private int count;
+    private boolean warnedFull;
+
+    MixerBuses() {
+        Arrays.fill(volume, 1.0f);
+        for (String name : AuralisBus.BUILT_IN) {
+            names[count++] = name;
+        }
+    }
+
+    /**
+     * Index of the named bus, creating a custom bus if {@code create} is set. Invalid names,
+     * unknown names without {@code create} and names past the table limit map to master.
+     */
+    synchronized int indexOf(@Nullable String name, boolean create) {
+        String n = AuralisBus.normalize(name);
+        if (n == null) return MASTER;
+        for (int i = 0; i < count; i++) {
+            if (names[i].equals(n)) return i;
+        }
+        if (!create) return MASTER;
+        if (count == MAX_BUSES) {
+            if (!warnedFull) {
+                warnedFull = true;
+                GFBsAuralis.LOGGER.warn("Auralis bus limit ({}) reached; '{}' plays through master", MAX_BUSES, n);
+            }
+            return MASTER;
+        }
+        names[count] = n;
+        return count++;
+    }
+
+    synchronized String name(int bus) {
+        return names[bus];
+    }
+
+    synchronized void setVolume(int bus, float v) {
+        volume[bus] = Float.isFinite(v) ? Math.max(0.0f, v) : 1.0f;
+    }
+
+    synchronized float volume(int bus) {
+        return volume[bus];
+    }
+
+    synchronized void setMuted(int bus, boolean m) {
+        muted[bus] = m;
+    }
+
+    synchronized boolean isMuted(int bus) {
+        return muted[bus];
+    }
+
+    synchronized void setPaused(int bus, boolean p) {
+        paused[bus] = p;
+    }
+
+    synchronized boolean isPaused(int bus) {
+        return paused[bus];
+    }
+
+    /** Writes each bus's gain including mute and master into {@code out}, sized {@link #MAX_BUSES}. */
+    synchronized void effectiveGains(float[] out) {
+        float master = muted[MASTER] ? 0.0f : volume[MASTER];
+        out[MASTER] = master;
+        for (int i = 1; i < count; i++) {
+            out[i] = muted[i] ? 0.0f : volume[i] * master;
+        }
+    }
+}
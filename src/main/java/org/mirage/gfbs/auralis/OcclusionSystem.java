@@ -0,0 +1,404 @@
+package org.mirage.gfbs.auralis;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Occlusion of sounds by solid blocks between them and the listener. Rays are traced on a
+ * worker thread against immutable per-section solidity snapshots taken on the client thread,
+ * and results are cached per (source cell, listener cell) until a block change replaces one
+ * of the snapshots they were traced through.
+ * <p>
+ * Each tick traces at most an adaptive budget of rays, most audible sounds first; the budget
+ * halves while the worker is behind and grows back while it keeps up. Sounds waiting for a
+ * ray keep their last result.
+ */
+final class OcclusionSystem {
+    // Cache cells are 2x2x2 blocks.
+    private static final int CELL_SHIFT = 1;
+    // Solid blocks on the direct path at which the high-frequency cut and the gain loss saturate.
+    private static final float HF_SATURATION_BLOCKS = 2.0f;
+    private static final float GAIN_SATURATION_BLOCKS = 6.0f;
+    private static final float MAX_HF_CUT = 0.95f;
+    private static final float MAX_GAIN_LOSS = 0.75f;
+    // Each snapshot is 4096 block reads on the client thread.
+    private static final int MAX_SNAPSHOTS_PER_TICK = 32;
+    private static final int MIN_BUDGET = 4;
+    // A batch faster than this lets the budget grow back.
+    private static final long FAST_BATCH_NANOS = 2_000_000L;
+    private static final int PURGE_INTERVAL_TICKS = 100;
+    private static final int RESULT_TTL_TICKS = 200;
+    // Snapshots further than this many sections from the listener are dropped on purge.
+    private static final int SECTION_KEEP_RADIUS = 8;
+
+    /** Solidity of one 16x16x16 section. Immutable; compared by identity to validate results. */
+    private static final class Section {
+        final long key;
+        // One bit per block, null when the section is all air.
+        final long @Nullable [] bits;
+
+        Section(long key, long @Nullable [] bits) {
+            this.key = key;
+            this.bits = bits;
+        }
+
+        boolean solid(int x, int y, int z) {
+            long[] b = bits;
+            if (b == null) return false;
+            int i = ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+            return (b[i >>> 6] & (1L << i)) != 0L;
+        }
+    }
+
+    private record PairKey(long source, long listener) {}
+
+    private static final class Result {
+        final int blocks;
+        final Section[] traversed;
+        volatile int lastUsedTick;
+
+        Result(int blocks, Section[] traversed, int tick) {
+            this.blocks = blocks;
+            this.traversed = traversed;
+            this.lastUsedTick = tick;
+        }
+
+        /** Whether every section the ray crossed is still the current snapshot. */
+        boolean isCurrent(Map<Long, Section> sections) {
+            for (Section s : traversed) {
+                if (sections.get(s.key) != s) return false;
+            }
+            return true;
+        }
+    }
+
+    private record Job(PairKey key, Vec3 from, Vec3 to, Map<Long, Section> sections, int tick, int generation) {}
+
+    private record Candidate(PairKey key, Vec3 pos, float score) {}
+
+    @FunctionalInterface
+    private interface VoxelVisitor {
+        /** @return false to stop the traversal */
+        boolean visit(int x, int y, int z);
+    }
+
+    private final Minecraft mc;
+    private final float strength;
+    private final int maxRaysPerTick;
+    private final ExecutorService worker;
+    private final Map<PairKey, Result> results = new ConcurrentHashMap<>();
+    private final Set<PairKey> inFlight = ConcurrentHashMap.newKeySet();
+    // Bumped on level change so batches traced against the old level are dropped.
+    private volatile int generation;
+    private volatile long lastBatchNanos;
+
+    // Client thread only.
+    private final Map<Long, Section> sections = new HashMap<>();
+    private final List<Candidate> candidates = new ArrayList<>();
+    private @Nullable ClientLevel level;
+    private @Nullable Future<?> batch;
+    private int budget;
+    private int tick;
+    private int snapshotsThisTick;
+
+    /**
+     * @param strength       0..1 scale of the gain loss and high-frequency cut
+     * @param maxRaysPerTick upper bound of the adaptive per-tick ray budget
+     */
+    OcclusionSystem(Minecraft mc, float strength, int maxRaysPerTick) {
+        this.mc = Objects.requireNonNull(mc, "mc");
+        this.strength = Math.max(0.0f, Math.min(1.0f, strength));
+        this.maxRaysPerTick = Math.max(MIN_BUDGET, maxRaysPerTick);
+        this.budget = this.maxRaysPerTick;
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "Auralis-Occlusion");
+            t.setDaemon(true);
+            t.setContextClassLoader(OcclusionSystem.class.getClassLoader());
+            return t;
+        });
+    }
+
+    /**
+     * Applies cached occlusion to the playing sounds among {@code visited} and schedules rays
+     * for the ones without a current result. Client thread, before the attenuation pass.
+     */
+    void update(List<AuralisSoundInstanceImpl> visited, Vec3 listener) {
+        ClientLevel current = mc.level;
+        if (current != level) {
+            clear();
+            level = current;
+        }
+        if (current == null) return;
+        tick++;
+        snapshotsThisTick = 0;
+
+        long listenerCell = cellKey(listener);
+        candidates.clear();
+        for (AuralisSoundInstanceImpl inst : visited) {
+            if (!inst.isBound() && !inst.isVirtual()) continue;
+            if (inst.isStatic()) {
+                inst.setOcclusion(1.0f, 1.0f);
+                continue;
+            }
+            Vec3 pos = inst.getPosition();
+            PairKey key = new PairKey(cellKey(pos), listenerCell);
+            Result r = results.get(key);
+            if (r != null) {
+                r.lastUsedTick = tick;
+                apply(inst, r.blocks);
+                if (r.isCurrent(sections)) continue;
+            }
+            if (!inFlight.contains(key)) {
+                candidates.add(new Candidate(key, pos, inst.evictionScore()));
+            }
+        }
+        schedule(current, listener);
+
+        if (tick % PURGE_INTERVAL_TICKS == 0) {
+            purge(listener);
+        }
+    }
+
+    /** Drops the snapshot of the changed block's section if the change affects solidity. Client thread. */
+    void onBlockChanged(BlockPos pos, BlockState oldState, BlockState newState) {
+        if (oldState.canOcclude() == newState.canOcclude()) return;
+        sections.remove(SectionPos.asLong(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4));
+    }
+
+    void shutdown() {
+        worker.shutdownNow();
+        clear();
+    }
+
+    private void clear() {
+        generation++;
+        sections.clear();
+        results.clear();
+        inFlight.clear();
+        candidates.clear();
+    }
+
+    private void apply(AuralisSoundInstanceImpl inst, int blocks) {
+        float hfCut = MAX_HF_CUT * Math.min(1.0f, blocks / HF_SATURATION_BLOCKS);
+        float gainLoss = MAX_GAIN_LOSS * Math.min(1.0f, blocks / GAIN_SATURATION_BLOCKS);
+        inst.setOcclusion(1.0f - strength * gainLoss, 1.0f - strength * hfCut);
+    }
+
+    private void schedule(ClientLevel level, Vec3 listener) {
+        Future<?> running = batch;
+        if (running != null && !running.isDone()) {
+            budget = Math.max(MIN_BUDGET, budget / 2);
+            return;
+        }
+        if (lastBatchNanos < FAST_BATCH_NANOS) {
+            budget = Math.min(maxRaysPerTick, budget + Math.max(1, maxRaysPerTick / 8));
+        }
+        if (candidates.isEmpty()) return;
+
+        candidates.sort((a, b) -> Float.compare(b.score(), a.score()));
+        List<Job> jobs = new ArrayList<>();
+        int gen = generation;
+        for (Candidate c : candidates) {
+            if (jobs.size() >= budget) break;
+            // Several sounds can share a cell pair; one ray serves them all.
+            if (inFlight.contains(c.key())) continue;
+            Map<Long, Section> along = snapshotsAlong(level, c.pos(), listener);
+            // Out of snapshots for this tick; the rest wait for the next one.
+            if (along == null) break;
+            inFlight.add(c.key());
+            jobs.add(new Job(c.key(), c.pos(), listener, along, tick, gen));
+        }
+        if (!jobs.isEmpty()) {
+            batch = worker.submit(() -> trace(jobs));
+        }
+    }
+
+    /** Snapshots of the sections the segment crosses, or null if the snapshot budget ran out. */
+    private @Nullable Map<Long, Section> snapshotsAlong(ClientLevel level, Vec3 from, Vec3 to) {
+        Map<Long, Section> along = new HashMap<>();
+        boolean[] complete = {true};
+        traverse(from.x / 16.0, from.y / 16.0, from.z / 16.0, to.x / 16.0, to.y / 16.0, to.z / 16.0, (sx, sy, sz) -> {
+            Section s = snapshot(level, sx, sy, sz);
+            if (s == null) {
+                complete[0] = false;
+                return false;
+            }
+            along.put(s.key, s);
+            return true;
+        });
+        return complete[0] ? along : null;
+    }
+
+    private @Nullable Section snapshot(ClientLevel level, int sx, int sy, int sz) {
+        long key = SectionPos.asLong(sx, sy, sz);
+        Section s = sections.get(key);
+        if (s != null) return s;
+        if (sy < level.getMinSection() || sy >= level.getMaxSection()) {
+            s = new Section(key, null);
+            sections.put(key, s);
+            return s;
+        }
+        LevelChunk chunk = level.getChunkSource().getChunk(sx, sz, false);
+        if (chunk == null) {
+            // Not cached, so rays through unloaded chunks are traced again once they load.
+            return new Section(key, null);
+        }
+        if (snapshotsThisTick >= MAX_SNAPSHOTS_PER_TICK) return null;
+        snapshotsThisTick++;
+
+        LevelChunkSection section = chunk.getSection(level.getSectionIndexFromSectionY(sy));
+        long[] bits = null;
+        if (!section.hasOnlyAir()) {
+            bits = new long[64];
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (section.getBlockState(x, y, z).canOcclude()) {
+                            int i = (y << 8) | (z << 4) | x;
+                            bits[i >>> 6] |= 1L << i;
+                        }
+                    }
+                }
+            }
+        }
+        s = new Section(key, bits);
+        sections.put(key, s);
+        return s;
+    }
+
+    // Worker thread.
+    private void trace(List<Job> jobs) {
+        long start = System.nanoTime();
+        for (Job job : jobs) {
+            try {
+                Result r = traceRay(job);
+                if (job.generation() == generation) {
+                    results.put(job.key(), r);
+                }
+            } catch (Throwable t) {
+                GFBsAuralis.LOGGER.debug("Occlusion ray failed: {}", t.getMessage());
+            } finally {
+                inFlight.remove(job.key());
+            }
+        }
+        lastBatchNanos = System.nanoTime() - start;
+    }
+
+    /** Counts the solid blocks strictly between the sound's block and the listener's block. */
+    private static Result traceRay(Job job) {
+        Vec3 a = job.from();
+        Vec3 b = job.to();
+        int ax = Mth.floor(a.x), ay = Mth.floor(a.y), az = Mth.floor(a.z);
+        int bx = Mth.floor(b.x), by = Mth.floor(b.y), bz = Mth.floor(b.z);
+        Map<Long, Section> used = new HashMap<>();
+        int[] blocks = {0};
+        traverse(a.x, a.y, a.z, b.x, b.y, b.z, (x, y, z) -> {
+            if ((x == ax && y == ay && z == az) || (x == bx && y == by && z == bz)) return true;
+            long key = SectionPos.asLong(x >> 4, y >> 4, z >> 4);
+            Section s = used.get(key);
+            if (s == null) {
+                s = job.sections().get(key);
+                // Missed by the section walk at an edge: trace it as air and never validate.
+                if (s == null) s = new Section(key, null);
+                used.put(key, s);
+            }
+            if (s.solid(x, y, z)) blocks[0]++;
+            return true;
+        });
+        return new Result(blocks[0], used.values().toArray(new Section[0]), job.tick());
+    }
+
+    private void purge(Vec3 listener) {
+        int cutoff = tick - RESULT_TTL_TICKS;
+        results.values().removeIf(r -> r.lastUsedTick < cutoff);
+        int lx = Mth.floor(listener.x) >> 4;
+        int ly = Mth.floor(listener.y) >> 4;
+        int lz = Mth.floor(listener.z) >> 4;
+        sections.keySet().removeIf(k -> Math.abs(SectionPos.x(k) - lx) > SECTION_KEEP_RADIUS
+                || Math.abs(SectionPos.y(k) - ly) > SECTION_KEEP_RADIUS
+                || Math.abs(SectionPos.z(k) - lz) > SECTION_KEEP_RADIUS);
+    }
+
+    private static long cellKey(Vec3 pos) {
+        return BlockPos.asLong(Mth.floor(pos.x) >> CELL_SHIFT, Mth.floor(pos.y) >> CELL_SHIFT, Mth.floor(pos.z) >> CELL_SHIFT);
+    }
+
+    /**
+     * Visits the unit cells a segment passes through, in order (Amanatides-Woo). The step
+     * count is fixed by the end cell, so rounding can never walk past it.
+     */
+    private static void traverse(double x0, double y0, double z0, double x1, double y1, double z1, VoxelVisitor visitor) {
+        int x = Mth.floor(x0), y = Mth.floor(y0), z = Mth.floor(z0);
+        int steps = Math.abs(Mth.floor(x1) - x) + Math.abs(Mth.floor(y1) - y) + Math.abs(Mth.floor(z1) - z);
+        double dx = x1 - x0, dy = y1 - y0, dz = z1 - z0;
+        int stepX = (int) Math.signum(dx), stepY = (int) Math.signum(dy), stepZ = (int) Math.signum(dz);
+        double deltaX = stepX != 0 ? Math.abs(1.0 / dx) : Double.POSITIVE_INFINITY;
+        double deltaY = stepY != 0 ? Math.abs(1.0 / dy) : Double.POSITIVE_INFINITY;
+        double deltaZ = stepZ != 0 ? Math.abs(1.0 / dz) : Double.POSITIVE_INFINITY;
+        double maxX = boundary(x0, x, stepX, deltaX);
+        double maxY = boundary(y0, y, stepY, deltaY);
+        double maxZ = boundary(z0, z, stepZ, deltaZ);
+
+        if (!visitor.visit(x, y, z)) return;
+        for (int i = 0; i < steps; i++) {
+            if (maxX < maxY && maxX < maxZ) {
+                x += stepX;
+                maxX += deltaX;
+            } else if (maxY < maxZ) {
+                y += stepY;
+                maxY += deltaY;
+            } else {
+                z += stepZ;
+                maxZ += deltaZ;
+            }
+            if (!visitor.visit(x, y, z)) return;
+        }
+    }
+
+    /** Ray parameter at the first cell boundary crossed along one axis. */
+    private static double boundary(double origin, int cell, int step, double delta) {
+        if (step > 0) return (cell + 1 - origin) * delta;
+        if (step < 0) return (origin - cell) * delta;
+        return Double.POSITIVE_INFINITY;
+    }
+}
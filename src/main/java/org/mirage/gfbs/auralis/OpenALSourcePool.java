@@ -32,6 +32,7 @@ final class OpenALSourcePool implements AutoCloseable {
 
     private final AuralisAL al;
     private final int maxSources;
+    private final int stealFadeMillis;
     private final Object lock = new Object();
     private final ArrayDeque<SourceHandle> free = new ArrayDeque<>();
     private final Set<SourceHandle> inUse = new HashSet<>();
@@ -39,24 +40,59 @@ final class OpenALSourcePool implements AutoCloseable {
     final Map<SourceHandle, AuralisSoundInstanceImpl> sourceToInstance = new ConcurrentHashMap<>();
     private int generatedCount = 0;
     private int adaptiveMaxSources;
+
+    // Per-bus reservations and usage, indexed by MixerBuses bus index; guarded by lock.
+    private final int[] busReserved = new int[MixerBuses.MAX_BUSES];
+    private final int[] busInUse = new int[MixerBuses.MAX_BUSES];
+    private final Map<SourceHandle, Integer> handleBus = new HashMap<>();
     
     // Metrics
     private int poolExhaustedCount = 0;
     private int sourcesRecycledCount = 0;
     private int allocFailedCount = 0;
 
-    OpenALSourcePool(AuralisAL al, int maxSources) {
+    /**
+     * @param stealFadeMillis when stealing a voice, silence it and wait this long before the
+     *                        hard stop so the mixer can ramp it out; 0 stops immediately.
+     *                        A fading source returns to the pool when the fade ends, so the
+     *                        stealing sound stays pending until a later tick
+     */
+    OpenALSourcePool(AuralisAL al, int maxSources, int stealFadeMillis) {
         this.al = Objects.requireNonNull(al, "al");
         this.maxSources = maxSources;
+        this.stealFadeMillis = Math.max(0, stealFadeMillis);
         this.adaptiveMaxSources = maxSources;
     }
 
-    @Nullable SourceHandle acquire() {
-        SourceHandle h = tryAcquire();
+    /**
+     * Keeps {@code sources} sources available to {@code bus}: other buses can neither take
+     * them nor steal voices from a bus that is within its reservation.
+     */
+    void setReserved(int bus, int sources) {
+        synchronized (lock) {
+            busReserved[bus] = Math.max(0, sources);
+        }
+    }
+
+    /** Moves the accounting of a held source to another bus. */
+    void reassign(SourceHandle h, int bus) {
+        synchronized (lock) {
+            Integer old = handleBus.put(h, bus);
+            if (old == null) {
+                handleBus.remove(h);
+                return;
+            }
+            busInUse[old]--;
+            busInUse[bus]++;
+        }
+    }
+
+    @Nullable SourceHandle acquire(int bus) {
+        SourceHandle h = tryAcquire(bus);
         if (h != null) return h;
 
-        if (evictLowestPriorityNonLooping()) {
-            h = tryAcquire();
+        if (evictLeastAudibleNonLooping(bus)) {
+            h = tryAcquire(bus);
             if (h != null) return h;
         }
 
@@ -64,12 +100,35 @@ final class OpenALSourcePool implements AutoCloseable {
         return null;
     }
 
-    private @Nullable SourceHandle tryAcquire() {
+    // Caller holds lock.
+    private boolean mayTake(int bus) {
+        int owed = 0;
+        for (int b = 0; b < busReserved.length; b++) {
+            if (b != bus) owed += Math.max(0, busReserved[b] - busInUse[b]);
+        }
+        return inUse.size() + owed < adaptiveMaxSources;
+    }
+
+    // Caller holds lock.
+    private void markInUse(SourceHandle h, int bus) {
+        inUse.add(h);
+        handleBus.put(h, bus);
+        busInUse[bus]++;
+    }
+
+    // Caller holds lock.
+    private void unmarkBus(SourceHandle h) {
+        Integer bus = handleBus.remove(h);
+        if (bus != null) busInUse[bus]--;
+    }
+
+    private @Nullable SourceHandle tryAcquire(int bus) {
         SourceHandle reused;
         synchronized (lock) {
+            if (!mayTake(bus)) return null;
             reused = free.pollFirst();
             if (reused != null) {
-                inUse.add(reused);
+                markInUse(reused, bus);
                 return reused;
             }
             if (generatedCount >= adaptiveMaxSources) return null;
@@ -106,34 +165,40 @@ final class OpenALSourcePool implements AutoCloseable {
         SourceHandle created = new SourceHandle(id);
         synchronized (lock) {
             allSources.add(created);
-            inUse.add(created);
+            markInUse(created, bus);
         }
         return created;
     }
 
-    private boolean evictLowestPriorityNonLooping() {
-        SourceHandle lowestPrioritySource = null;
-        int lowestPriority = Integer.MAX_VALUE;
+    /**
+     * Steals the non-looping voice with the lowest {@link AuralisSoundInstanceImpl#evictionScore()},
+     * from {@code bus} itself or from a bus holding more than its reservation.
+     */
+    private boolean evictLeastAudibleNonLooping(int bus) {
+        SourceHandle victim = null;
+        float lowestScore = Float.MAX_VALUE;
 
         synchronized (lock) {
             if (inUse.isEmpty()) return false;
             for (SourceHandle handle : inUse) {
                 AuralisSoundInstanceImpl instance = sourceToInstance.get(handle);
-                if (instance != null && !instance.isLooping()) {
-                    int priority = instance.getPriority();
-                    if (priority < lowestPriority) {
-                        lowestPriority = priority;
-                        lowestPrioritySource = handle;
+                Integer owner = handleBus.get(handle);
+                boolean stealable = owner != null && (owner == bus || busInUse[owner] > busReserved[owner]);
+                if (instance != null && stealable && !instance.isLooping()) {
+                    float score = instance.evictionScore();
+                    if (score < lowestScore) {
+                        lowestScore = score;
+                        victim = handle;
                     }
                 }
             }
         }
 
-        if (lowestPrioritySource == null) return false;
-        AuralisSoundInstanceImpl instance = sourceToInstance.get(lowestPrioritySource);
+        if (victim == null) return false;
+        AuralisSoundInstanceImpl instance = sourceToInstance.get(victim);
         if (instance == null) return false;
         try {
-            instance.onEvicted();
+            instance.onEvicted(stealFadeMillis);
             return true;
         } catch (Throwable ignored) {
             return false;
@@ -143,6 +208,7 @@ final class OpenALSourcePool implements AutoCloseable {
     void release(SourceHandle h) {
         synchronized (lock) {
             if (!inUse.remove(h)) return;
+            unmarkBus(h);
             free.addLast(h);
         }
     }
@@ -173,6 +239,7 @@ final class OpenALSourcePool implements AutoCloseable {
         synchronized (lock) {
             for (SourceHandle h : stopped) {
                 if (inUse.remove(h)) {
+                    unmarkBus(h);
                     free.addLast(h);
                     sourcesRecycledCount++;
                 }
@@ -213,6 +280,8 @@ final class OpenALSourcePool implements AutoCloseable {
             allSources.clear();
             inUse.clear();
             free.clear();
+            handleBus.clear();
+            Arrays.fill(busInUse, 0);
             generatedCount = 0;
         }
         al.executeBlocking(() -> {
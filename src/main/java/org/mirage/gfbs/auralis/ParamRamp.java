@@ -0,0 +1,83 @@
+package org.mirage.gfbs.auralis;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import net.minecraft.world.phys.Vec3;
+import org.mirage.gfbs.auralis.api.AuralisRampCurve;
+
+/**
+ * An immutable ramp of one to three components from a start to a target value over a fixed
+ * span of {@link System#nanoTime()}. Both the client tick and the AL frame loop evaluate the
+ * same object, so they agree on the value without further hand-off.
+ */
+final class ParamRamp {
+    private final long startNanos;
+    private final long durationNanos;
+    private final AuralisRampCurve curve;
+    private final double[] from;
+    private final double[] to;
+
+    private ParamRamp(long startNanos, long durationNanos, AuralisRampCurve curve, double[] from, double[] to) {
+        this.startNanos = startNanos;
+        this.durationNanos = Math.max(1L, durationNanos);
+        this.curve = curve;
+        this.from = from;
+        this.to = to;
+    }
+
+    static ParamRamp scalar(float from, float to, long startNanos, long durationNanos, AuralisRampCurve curve) {
+        return new ParamRamp(startNanos, durationNanos, curve, new double[] {from}, new double[] {to});
+    }
+
+    static ParamRamp vector(Vec3 from, Vec3 to, long startNanos, long durationNanos, AuralisRampCurve curve) {
+        return new ParamRamp(startNanos, durationNanos, curve, new double[] {from.x, from.y, from.z}, new double[] {to.x, to.y, to.z});
+    }
+
+    boolean isDone(long nowNanos) {
+        return nowNanos - startNanos >= durationNanos;
+    }
+
+    private double fraction(long nowNanos) {
+        return curve.apply((float) ((double) (nowNanos - startNanos) / durationNanos));
+    }
+
+    float floatAt(long nowNanos) {
+        double f = fraction(nowNanos);
+        return (float) (from[0] + (to[0] - from[0]) * f);
+    }
+
+    Vec3 vecAt(long nowNanos) {
+        double f = fraction(nowNanos);
+        return new Vec3(
+                from[0] + (to[0] - from[0]) * f,
+                from[1] + (to[1] - from[1]) * f,
+                from[2] + (to[2] - from[2]) * f);
+    }
+
+    float floatTarget() {
+        return (float) to[0];
+    }
+
+    Vec3 vecTarget() {
+        return new Vec3(to[0], to[1], to[2]);
+    }
+}
@@ -0,0 +1,91 @@
+package org.mirage.gfbs.auralis;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+/**
+ * Logical playhead of an instance, advanced from wall time rather than read back from OpenAL,
+ * so it keeps running while the instance has no source.
+ * <p>
+ * Accessed from both the client and AL threads; all methods are synchronized.
+ */
+final class PlaybackClock {
+    private float baseSeconds;
+    private long baseNanos;
+    private float rate = 1.0f;
+    private boolean running;
+
+    /** Starts (or restarts) at {@code seconds}. */
+    synchronized void start(float seconds) {
+        baseSeconds = seconds;
+        baseNanos = System.nanoTime();
+        running = true;
+    }
+
+    /** Starts at {@code seconds} once {@link System#nanoTime()} reaches {@code startNanos}; holds until then. */
+    synchronized void startAt(float seconds, long startNanos) {
+        baseSeconds = seconds;
+        baseNanos = startNanos;
+        running = true;
+    }
+
+    /** Continues from the current position. */
+    synchronized void resume() {
+        if (running) return;
+        baseNanos = System.nanoTime();
+        running = true;
+    }
+
+    synchronized void pause() {
+        if (!running) return;
+        baseSeconds = positionSeconds();
+        running = false;
+    }
+
+    synchronized void stop() {
+        baseSeconds = 0.0f;
+        running = false;
+    }
+
+    synchronized void seek(float seconds) {
+        baseSeconds = seconds;
+        baseNanos = System.nanoTime();
+    }
+
+    /** Playback speed multiplier (pitch * speed); rebases so the position stays continuous. */
+    synchronized void setRate(float rate) {
+        if (running) {
+            baseSeconds = positionSeconds();
+            baseNanos = System.nanoTime();
+        }
+        this.rate = rate;
+    }
+
+    synchronized boolean isRunning() {
+        return running;
+    }
+
+    synchronized float positionSeconds() {
+        if (!running) return baseSeconds;
+        long elapsed = Math.max(0L, System.nanoTime() - baseNanos);
+        return baseSeconds + (float) (elapsed * 1.0e-9 * rate);
+    }
+}
@@ -26,18 +26,28 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.resources.Resource;
 import org.lwjgl.openal.AL11;
+import org.mirage.gfbs.auralis.utils.NativeBufferPool;
 import org.mirage.gfbs.auralis.utils.OggVorbisDecoder;
+import org.mirage.gfbs.auralis.utils.PcmStreamDecoder;
+import org.mirage.gfbs.auralis.utils.WavDecoder;
 
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
-import org.lwjgl.system.MemoryUtil;
 
 final class SoundBufferCache {
     private record Entry(int bufferId, AtomicInteger refs) {}
@@ -47,21 +57,59 @@ final class SoundBufferCache {
     private final AuralisAL al;
     private final int streamedChunkSize;
     private final int maxStreamedBytes;
+    private final OggVorbisDecoder.Options residentOptions;
+    private final OggVorbisDecoder.Options streamedOptions;
     private final Map<ResourceLocation, Entry> cache = new ConcurrentHashMap<>();
     private final Map<ResourceLocation, StreamedEntry> streamedCache = new ConcurrentHashMap<>();
     private final Map<Integer, ResourceLocation> bufferToPath = new ConcurrentHashMap<>();
     private final Map<Integer, Boolean> bufferIsStreamed = new ConcurrentHashMap<>();
+    // Streams that exceeded maxStreamedBytes once; these are always decoded live.
+    private final Set<ResourceLocation> liveStreamPaths = ConcurrentHashMap.newKeySet();
+    private final Map<ResourceLocation, CompletableFuture<Void>> preloading = new ConcurrentHashMap<>();
 
-    SoundBufferCache(Minecraft mc, AuralisAL al, int streamedChunkSize, int maxStreamedBytes) {
+    SoundBufferCache(
+            Minecraft mc,
+            AuralisAL al,
+            int streamedChunkSize,
+            int maxStreamedBytes,
+            OggVorbisDecoder.Options residentOptions,
+            OggVorbisDecoder.Options streamedOptions
+    ) {
         this.mc = Objects.requireNonNull(mc, "mc");
         this.al = Objects.requireNonNull(al, "al");
         this.streamedChunkSize = Math.max(4096, streamedChunkSize);
         this.maxStreamedBytes = Math.max(256 * 1024, maxStreamedBytes);
+        Objects.requireNonNull(residentOptions, "residentOptions");
+        Objects.requireNonNull(streamedOptions, "streamedOptions");
+        boolean float32 = al.alCapabilities().AL_EXT_FLOAT32;
+        if (!float32 && (residentOptions.float32 || streamedOptions.float32)) {
+            GFBsAuralis.LOGGER.info("AL_EXT_FLOAT32 not supported, uploading 16-bit PCM");
+        }
+        boolean mcFormats = al.alCapabilities().AL_EXT_MCFORMATS;
+        if (!mcFormats && (residentOptions.multichannel || streamedOptions.multichannel)) {
+            GFBsAuralis.LOGGER.info("AL_EXT_MCFORMATS not supported, downmixing surround sounds to stereo");
+        }
+        this.residentOptions = residentOptions
+                .withFloat32(residentOptions.float32 && float32)
+                .withMultichannel(residentOptions.multichannel && mcFormats);
+        this.streamedOptions = streamedOptions
+                .withFloat32(streamedOptions.float32 && float32)
+                .withMultichannel(streamedOptions.multichannel && mcFormats);
     }
 
+    /**
+     * Takes a reference on the sound's buffer. A cache miss decodes on the decode pool and only
+     * uploads on the AL thread; the caller waits for both.
+     */
     int acquireBuffer(ResourceLocation soundPath) {
         Objects.requireNonNull(soundPath, "soundPath");
 
+        CompletableFuture<Void> inFlight = preloading.get(soundPath);
+        if (inFlight != null) {
+            // Cheaper to wait for the preload than to decode the same asset twice.
+            inFlight.exceptionally(t -> null).join();
+        }
+
         Entry existing = cache.get(soundPath);
         if (existing != null) {
             existing.refs.incrementAndGet();
@@ -70,43 +118,14 @@ final class SoundBufferCache {
 
         final int[] bufferIdHolder = new int[]{-1};
         try {
-            bufferIdHolder[0] = al.callBlocking(() -> {
-                DecodedPcm pcm = decode(soundPath);
+            bufferIdHolder[0] = decodeThenUpload(() -> decode(soundPath), (DecodedPcm pcm) -> {
                 if (pcm == null) {
                     throw new RuntimeException("Failed to decode sound: " + soundPath);
                 }
-                assert pcm.sampleRate() > 0;
-                assert pcm.pcmData() != null && pcm.pcmData().remaining() > 0;
-                try {
-                    int id = AL11.alGenBuffers();
-                    if (id == 0) {
-                        throw new IllegalStateException("Failed to generate OpenAL buffer: " + AL11.alGetError());
-                    }
-                    AL11.alBufferData(id, pcm.alFormat(), pcm.pcmData(), pcm.sampleRate());
-                    int err = AL11.alGetError();
-                    if (err != AL11.AL_NO_ERROR) {
-                        AL11.alDeleteBuffers(id);
-                        throw new IllegalStateException("Failed to upload buffer data: " + err);
-                    }
-                    return id;
-                } finally {
-                    pcm.free();
-                }
+                return uploadAndFree(pcm);
             });
 
-            int bufferId = bufferIdHolder[0];
-            Entry entry = new Entry(bufferId, new AtomicInteger(1));
-            Entry prev = cache.putIfAbsent(soundPath, entry);
-            if (prev != null) {
-                al.submit(() -> AL11.alDeleteBuffers(bufferId));
-                prev.refs.incrementAndGet();
-                return prev.bufferId();
-            }
-
-            bufferToPath.put(bufferId, soundPath);
-            bufferIsStreamed.put(bufferId, false);
-
-            return bufferId;
+            return publish(soundPath, bufferIdHolder[0]);
         } catch (Exception e) {
             if (bufferIdHolder[0] != -1) {
                 al.submit(() -> AL11.alDeleteBuffers(bufferIdHolder[0]));
@@ -116,8 +135,119 @@ final class SoundBufferCache {
         }
     }
 
+    /**
+     * Decodes the given sounds in parallel on a worker pool and uploads each one on the AL
+     * thread as soon as it is ready. Every loaded sound keeps one cache reference, so it
+     * stays resident until {@link #clearAll()}; sounds already cached just gain that reference.
+     *
+     * @return completes once every sound has been uploaded or has failed
+     */
+    CompletableFuture<Void> preload(Collection<ResourceLocation> soundPaths) {
+        Objects.requireNonNull(soundPaths, "soundPaths");
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(soundPaths.size());
+        for (ResourceLocation soundPath : soundPaths) {
+            Entry existing = cache.get(soundPath);
+            if (existing != null) {
+                existing.refs.incrementAndGet();
+                continue;
+            }
+            CompletableFuture<Void> task = new CompletableFuture<>();
+            CompletableFuture<Void> prev = preloading.putIfAbsent(soundPath, task);
+            if (prev != null) {
+                tasks.add(prev);
+                continue;
+            }
+            tasks.add(task);
+
+            CompletableFuture
+                    .<DecodedPcm>supplyAsync(() -> decode(soundPath), DecodePool.INSTANCE)
+                    .thenCompose((DecodedPcm pcm) -> {
+                        try {
+                            return al.submit(() -> uploadAndFree(pcm));
+                        } catch (RuntimeException e) {
+                            pcm.free();
+                            throw e;
+                        }
+                    })
+                    .whenComplete((Integer bufferId, Throwable t) -> {
+                        if (t == null) {
+                            publish(soundPath, bufferId);
+                        } else {
+                            GFBsAuralis.LOGGER.error("Failed to preload sound: {}", soundPath, t);
+                        }
+                        preloading.remove(soundPath, task);
+                        task.complete(null);
+                    });
+        }
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Runs {@code decode} on the decode pool, then {@code upload} on the AL thread, and waits for
+     * both. On the AL thread itself both run in place, as waiting there for a queued upload
+     * would deadlock.
+     */
+    private <P, R> R decodeThenUpload(Callable<P> decode, Function<P, R> upload) throws Exception {
+        if (al.isOnALThread()) {
+            return upload.apply(decode.call());
+        }
+        try {
+            return CompletableFuture
+                    .supplyAsync(() -> {
+                        try {
+                            return decode.call();
+                        } catch (Exception e) {
+                            throw new CompletionException(e);
+                        }
+                    }, DecodePool.INSTANCE)
+                    .thenCompose((P pcm) -> al.submit(() -> upload.apply(pcm)))
+                    .join();
+        } catch (CompletionException e) {
+            throw (e.getCause() instanceof Exception cause) ? cause : e;
+        }
+    }
+
+    /** Must run on the AL thread. Frees {@code pcm} in all cases. */
+    private static int uploadAndFree(DecodedPcm pcm) {
+        assert pcm.sampleRate() > 0;
+        assert pcm.pcmData() != null && pcm.pcmData().remaining() > 0;
+        try {
+            int id = AL11.alGenBuffers();
+            if (id == 0) {
+                throw new IllegalStateException("Failed to generate OpenAL buffer: " + AL11.alGetError());
+            }
+            AL11.alBufferData(id, pcm.alFormat(), pcm.pcmData(), pcm.sampleRate());
+            int err = AL11.alGetError();
+            if (err != AL11.AL_NO_ERROR) {
+                AL11.alDeleteBuffers(id);
+                throw new IllegalStateException("Failed to upload buffer data: " + err);
+            }
+            return id;
+        } finally {
+            pcm.free();
+        }
+    }
+
+    /** Caches a freshly uploaded buffer with one reference, or drops it if another thread won. */
+    private int publish(ResourceLocation soundPath, int bufferId) {
+        Entry entry = new Entry(bufferId, new AtomicInteger(1));
+        Entry prev = cache.putIfAbsent(soundPath, entry);
+        if (prev != null) {
+            al.submit(() -> AL11.alDeleteBuffers(bufferId));
+            prev.refs.incrementAndGet();
+            return prev.bufferId();
+        }
+
+        bufferToPath.put(bufferId, soundPath);
+        bufferIsStreamed.put(bufferId, false);
+
+        return bufferId;
+    }
+
+    /** Like {@link #acquireBuffer}: misses decode on the decode pool and upload on the AL thread. */
     List<Integer> acquireStreamedBuffers(ResourceLocation soundPath) {
         Objects.requireNonNull(soundPath, "soundPath");
+        if (liveStreamPaths.contains(soundPath)) return List.of();
 
         StreamedEntry existing = streamedCache.get(soundPath);
         if (existing != null) {
@@ -127,9 +257,8 @@ final class SoundBufferCache {
 
         final List<Integer>[] bufferIdsHolder = new List[]{List.of()};
         try {
-            bufferIdsHolder[0] = al.callBlocking(() -> {
+            bufferIdsHolder[0] = decodeThenUpload(() -> decodeStreamed(soundPath, streamedChunkSize, maxStreamedBytes), (StreamedDecodedPcm streamedPcm) -> {
                 List<Integer> ids = new ArrayList<>();
-                StreamedDecodedPcm streamedPcm = decodeStreamed(soundPath, streamedChunkSize, maxStreamedBytes);
                 if (streamedPcm == null) {
                     throw new RuntimeException("Failed to decode streamed sound: " + soundPath);
                 }
@@ -189,11 +318,69 @@ final class SoundBufferCache {
                     }
                 });
             }
-            GFBsAuralis.LOGGER.error("Failed to acquire streamed sound buffers for: {}", soundPath, e);
+            if (liveStreamPaths.contains(soundPath)) {
+                GFBsAuralis.LOGGER.debug("Streamed sound is too large or has loop points, streaming live: {}", soundPath);
+            } else {
+                GFBsAuralis.LOGGER.error("Failed to acquire streamed sound buffers for: {}", soundPath, e);
+            }
             return List.of();
         }
     }
 
+    boolean prefersLiveStream(ResourceLocation soundPath) {
+        return liveStreamPaths.contains(soundPath);
+    }
+
+    /**
+     * Creates an unshared live stream for the sound. The decoder is opened on first use;
+     * the caller owns the result and must close it on the AL thread.
+     */
+    LiveStream openLiveStream(ResourceLocation soundPath) {
+        Objects.requireNonNull(soundPath, "soundPath");
+        try {
+            int[] ids = al.callBlocking(() -> {
+                int[] gen = new int[LiveStream.RING_BUFFERS];
+                AL11.alGenBuffers(gen);
+                int err = AL11.alGetError();
+                if (err != AL11.AL_NO_ERROR) {
+                    throw new IllegalStateException("Failed to generate OpenAL buffers: " + err);
+                }
+                return gen;
+            });
+            return new LiveStream(
+                    soundPath,
+                    // WAV has no bounded-memory decoder; the seekable one is opened on the pool.
+                    WavDecoder.isWavPath(soundPath.getPath()) ? null : () -> openStreamDecoder(soundPath),
+                    () -> openSeekableStreamDecoder(soundPath),
+                    DecodePool.INSTANCE,
+                    ids,
+                    streamedChunkSize
+            );
+        } catch (Exception e) {
+            GFBsAuralis.LOGGER.error("Failed to open live stream for: {}", soundPath, e);
+            return null;
+        }
+    }
+
+    private PcmStreamDecoder openStreamDecoder(ResourceLocation soundPath) throws Exception {
+        Resource r = mc.getResourceManager().getResource(soundPath).orElseThrow(
+                () -> new IllegalArgumentException("Missing sound resource: " + soundPath)
+        );
+        return OggVorbisDecoder.createPushdataStreamDecoder(r.open(), streamedOptions);
+    }
+
+    private PcmStreamDecoder openSeekableStreamDecoder(ResourceLocation soundPath) throws Exception {
+        Resource r = mc.getResourceManager().getResource(soundPath).orElseThrow(
+                () -> new IllegalArgumentException("Missing sound resource: " + soundPath)
+        );
+        try (InputStream in = r.open()) {
+            if (WavDecoder.isWavPath(soundPath.getPath())) {
+                return WavDecoder.createStreamDecoder(in);
+            }
+            return OggVorbisDecoder.createStreamDecoder(in, streamedOptions);
+        }
+    }
+
     void releaseBuffer(int bufferId) {
         ResourceLocation soundPath = bufferToPath.get(bufferId);
         if (soundPath == null) {
@@ -274,6 +461,27 @@ final class SoundBufferCache {
         streamedCache.clear();
         bufferToPath.clear();
         bufferIsStreamed.clear();
+        liveStreamPaths.clear();
+    }
+
+    /**
+     * Decode workers, one per spare core. Each decode allocates its own native scratch, so
+     * workers share nothing but the resource manager.
+     */
+    private static final class DecodePool {
+        static final ForkJoinPool INSTANCE = new ForkJoinPool(
+                Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                pool -> {
+                    ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    t.setName("Auralis-Decode-" + t.getPoolIndex());
+                    t.setDaemon(true);
+                    // Worker threads otherwise get the system loader and cannot see mod classes.
+                    t.setContextClassLoader(SoundBufferCache.class.getClassLoader());
+                    return t;
+                },
+                null,
+                true
+        );
     }
 
     private DecodedPcm decode(ResourceLocation soundPath) {
@@ -282,7 +490,10 @@ final class SoundBufferCache {
                     () -> new IllegalArgumentException("Missing sound resource: " + soundPath)
             );
             try (InputStream in = r.open()) {
-                return OggVorbisDecoder.decodeFully(in);
+                if (WavDecoder.isWavPath(soundPath.getPath())) {
+                    return WavDecoder.decodeFully(in);
+                }
+                return OggVorbisDecoder.decodeFully(in, residentOptions);
             } catch (Exception e) {
                 GFBsAuralis.LOGGER.warn("Failed to decode OGG: {}", soundPath, e);
                 throw new RuntimeException("Failed to decode OGG: " + soundPath + " ;E: " + e);
@@ -296,14 +507,18 @@ final class SoundBufferCache {
     }
 
     private StreamedDecodedPcm decodeStreamed(ResourceLocation soundPath, int chunkSize, int maxBytes) {
-        ByteBuffer chunk = MemoryUtil.memAlloc(chunkSize);
+        NativeBufferPool pool = NativeBufferPool.shared();
         try {
-            Resource r = mc.getResourceManager().getResource(soundPath).orElseThrow(
-                    () -> new IllegalArgumentException("Missing sound resource: " + soundPath)
-            );
-            try (InputStream in = r.open();
-                 OggVorbisDecoder.StreamDecoder decoder = OggVorbisDecoder.createStreamDecoder(in)) {
-                
+            if (mc.getResourceManager().getResource(soundPath).isEmpty()) {
+                throw new IllegalArgumentException("Missing sound resource: " + soundPath);
+            }
+            try (PcmStreamDecoder decoder = openStreamDecoder(soundPath)) {
+                if (decoder.loopPoints() != null) {
+                    // Only a live stream can seek back to the loop start instead of replaying the intro.
+                    liveStreamPaths.add(soundPath);
+                    throw new IllegalStateException("Streamed sound has loop points: " + soundPath);
+                }
+
                 StreamedDecodedPcm streamedPcm = new StreamedDecodedPcm(
                         decoder.getAlFormat(),
                         decoder.getSampleRate(),
@@ -313,19 +528,20 @@ final class SoundBufferCache {
                 try {
                     int total = 0;
                     while (true) {
-                        chunk.clear();
+                        // Decode straight into pooled chunk storage; no scratch copy.
+                        ByteBuffer chunk = pool.acquire(chunkSize);
                         int bytesDecoded = decoder.decodeChunk(chunk);
                         if (bytesDecoded <= 0) {
+                            pool.release(chunk);
                             break;
                         }
+                        chunk.flip();
+                        streamedPcm.addChunk(chunk);
                         total += bytesDecoded;
                         if (total > maxBytes) {
+                            liveStreamPaths.add(soundPath);
                             throw new IllegalStateException("Streamed sound exceeds limit: " + soundPath);
                         }
-                        chunk.flip();
-                        ByteBuffer chunkCopy = MemoryUtil.memAlloc(bytesDecoded);
-                        chunkCopy.put(chunk).flip();
-                        streamedPcm.addChunk(chunkCopy);
                     }
                     return streamedPcm;
                 } catch (Exception e) {
@@ -333,7 +549,9 @@ final class SoundBufferCache {
                     throw e;
                 }
             } catch (Exception e) {
-                GFBsAuralis.LOGGER.warn("Failed to decode streamed OGG: {}", soundPath, e);
+                if (!liveStreamPaths.contains(soundPath)) {
+                    GFBsAuralis.LOGGER.warn("Failed to decode streamed OGG: {}", soundPath, e);
+                }
                 throw new RuntimeException("Failed to decode streamed OGG: " + soundPath + " ;E: " + e);
             }
         } catch (IllegalArgumentException e) {
@@ -341,8 +559,6 @@ final class SoundBufferCache {
             throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to decode streamed OGG: " + soundPath + " ;E: " + e);
-        } finally {
-            MemoryUtil.memFree(chunk);
         }
     }
 }
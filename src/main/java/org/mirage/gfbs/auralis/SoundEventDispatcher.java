@@ -0,0 +1,107 @@
+package org.mirage.gfbs.auralis;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import org.jetbrains.annotations.Nullable;
+import org.mirage.gfbs.auralis.api.AuralisSoundEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Collects {@link AuralisSoundEvent}s from any thread and delivers them to listeners in one
+ * batch per client tick, so a slow listener never runs inside sound control, the network
+ * handler or a source eviction.
+ * <p>
+ * Batches run on the client thread at the end of the tick unless an executor is set. Events
+ * of one instance are always delivered in the order they were fired.
+ */
+final class SoundEventDispatcher {
+    private record Pending(AuralisSoundInstanceImpl instance, AuralisSoundEvent event) {}
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final boolean coalesce;
+    private volatile @Nullable Executor executor;
+
+    /**
+     * @param coalesce drop an event that repeats the previous event of the same instance
+     *                 within a batch (e.g. PLAY, PLAY)
+     */
+    SoundEventDispatcher(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    void setExecutor(@Nullable Executor executor) {
+        this.executor = executor;
+    }
+
+    void post(AuralisSoundInstanceImpl instance, AuralisSoundEvent event) {
+        queue.offer(new Pending(instance, event));
+    }
+
+    /** Hands everything queued so far to the executor, or delivers it inline without one. */
+    void flush() {
+        if (queue.isEmpty()) return;
+        List<Pending> batch = new ArrayList<>();
+        Pending p;
+        while ((p = queue.poll()) != null) {
+            batch.add(p);
+        }
+        if (coalesce) {
+            batch = coalesce(batch);
+        }
+
+        Executor ex = executor;
+        if (ex == null) {
+            deliver(batch);
+            return;
+        }
+        List<Pending> events = batch;
+        try {
+            ex.execute(() -> deliver(events));
+        } catch (Exception e) {
+            GFBsAuralis.LOGGER.error("Sound event executor rejected a batch, delivering inline: {}", e.getMessage());
+            deliver(events);
+        }
+    }
+
+    private static List<Pending> coalesce(List<Pending> batch) {
+        Map<AuralisSoundInstanceImpl, AuralisSoundEvent> last = new HashMap<>();
+        List<Pending> out = new ArrayList<>(batch.size());
+        for (Pending p : batch) {
+            if (last.put(p.instance(), p.event()) != p.event()) {
+                out.add(p);
+            }
+        }
+        return out;
+    }
+
+    private static void deliver(List<Pending> batch) {
+        for (Pending p : batch) {
+            p.instance().deliverEvent(p.event());
+        }
+    }
+}
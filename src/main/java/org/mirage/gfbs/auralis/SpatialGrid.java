@@ -0,0 +1,180 @@
+package org.mirage.gfbs.auralis;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import net.minecraft.world.phys.Vec3;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Buckets instances into 16-block cells (one chunk section) so the engine tick only does
+ * distance work for instances that can be heard from the listener's position.
+ * <p>
+ * Instances report their own moves; static instances, which are heard everywhere, and
+ * virtual ones, which need end-of-playback checks wherever they are, are tracked apart.
+ */
+final class SpatialGrid {
+    private static final int CELL_SHIFT = 4;
+    private static final double CELL_SIZE = 1 << CELL_SHIFT;
+
+    private final ConcurrentMap<Long, Set<AuralisSoundInstanceImpl>> cells = new ConcurrentHashMap<>();
+    private final Set<AuralisSoundInstanceImpl> statics = ConcurrentHashMap.newKeySet();
+    private final Set<AuralisSoundInstanceImpl> virtuals = ConcurrentHashMap.newKeySet();
+    // Largest maxDistance seen; only grows, which at worst widens the query.
+    private volatile float audibleRadius = 0.0f;
+
+    static long cellKey(Vec3 p) {
+        long cx = (long) Math.floor(p.x) >> CELL_SHIFT;
+        long cy = (long) Math.floor(p.y) >> CELL_SHIFT;
+        long cz = (long) Math.floor(p.z) >> CELL_SHIFT;
+        return pack(cx, cy, cz);
+    }
+
+    // 26 bits each for x/z and 12 for y; out-of-range coordinates only alias cells.
+    private static long pack(long cx, long cy, long cz) {
+        return ((cx & 0x3FFFFFFL) << 38) | ((cz & 0x3FFFFFFL) << 12) | (cy & 0xFFFL);
+    }
+
+    private static long unpackX(long key) {
+        return key >> 38;
+    }
+
+    private static long unpackZ(long key) {
+        return (key << 26) >> 38;
+    }
+
+    private static long unpackY(long key) {
+        return (key << 52) >> 52;
+    }
+
+    void add(AuralisSoundInstanceImpl inst) {
+        addToCell(inst.cellKey(), inst);
+        if (inst.isStatic()) statics.add(inst);
+        noteRadius(inst.getMaxDistance());
+    }
+
+    void remove(AuralisSoundInstanceImpl inst) {
+        removeFromCell(inst.cellKey(), inst);
+        statics.remove(inst);
+        virtuals.remove(inst);
+    }
+
+    /** Ignored for instances that are not (or no longer) in the grid. */
+    void move(AuralisSoundInstanceImpl inst, long fromKey, long toKey) {
+        if (fromKey == toKey) return;
+        if (removeFromCell(fromKey, inst)) {
+            addToCell(toKey, inst);
+        }
+    }
+
+    void setStatic(AuralisSoundInstanceImpl inst, boolean isStatic) {
+        if (!isStatic) {
+            statics.remove(inst);
+        } else if (contains(inst)) {
+            statics.add(inst);
+        }
+    }
+
+    void setVirtual(AuralisSoundInstanceImpl inst, boolean virtual) {
+        if (!virtual) {
+            virtuals.remove(inst);
+        } else if (contains(inst)) {
+            virtuals.add(inst);
+        }
+    }
+
+    void noteRadius(float maxDistance) {
+        if (maxDistance > audibleRadius) {
+            audibleRadius = maxDistance;
+        }
+    }
+
+    Set<AuralisSoundInstanceImpl> virtuals() {
+        return virtuals;
+    }
+
+    /**
+     * Visits static instances and every instance in a cell that may lie within the audible
+     * radius of {@code listener}. An instance can be visited more than once.
+     */
+    void forEachAudible(Vec3 listener, Consumer<AuralisSoundInstanceImpl> action) {
+        statics.forEach(action);
+        if (cells.isEmpty()) return;
+
+        long r = (long) Math.ceil(audibleRadius / CELL_SIZE);
+        long lx = (long) Math.floor(listener.x) >> CELL_SHIFT;
+        long ly = (long) Math.floor(listener.y) >> CELL_SHIFT;
+        long lz = (long) Math.floor(listener.z) >> CELL_SHIFT;
+
+        long side = 2 * r + 1;
+        if (side * side * side > cells.size()) {
+            // Sparse world: scanning the occupied cells is cheaper than probing the cube.
+            for (var e : cells.entrySet()) {
+                long key = e.getKey();
+                if (Math.abs(unpackX(key) - lx) <= r && Math.abs(unpackY(key) - ly) <= r && Math.abs(unpackZ(key) - lz) <= r) {
+                    e.getValue().forEach(action);
+                }
+            }
+            return;
+        }
+
+        for (long x = lx - r; x <= lx + r; x++) {
+            for (long y = ly - r; y <= ly + r; y++) {
+                for (long z = lz - r; z <= lz + r; z++) {
+                    Set<AuralisSoundInstanceImpl> cell = cells.get(pack(x, y, z));
+                    if (cell != null) cell.forEach(action);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        cells.clear();
+        statics.clear();
+        virtuals.clear();
+    }
+
+    private boolean contains(AuralisSoundInstanceImpl inst) {
+        Set<AuralisSoundInstanceImpl> cell = cells.get(inst.cellKey());
+        return cell != null && cell.contains(inst);
+    }
+
+    private void addToCell(long key, AuralisSoundInstanceImpl inst) {
+        cells.compute(key, (k, set) -> {
+            if (set == null) set = ConcurrentHashMap.newKeySet();
+            set.add(inst);
+            return set;
+        });
+    }
+
+    private boolean removeFromCell(long key, AuralisSoundInstanceImpl inst) {
+        boolean[] removed = new boolean[1];
+        cells.computeIfPresent(key, (k, set) -> {
+            removed[0] = set.remove(inst);
+            return set.isEmpty() ? null : set;
+        });
+        return removed[0];
+    }
+}
@@ -1,6 +1,6 @@
 package org.mirage.gfbs.auralis;
 
-import org.lwjgl.system.MemoryUtil;
+import org.mirage.gfbs.auralis.utils.NativeBufferPool;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
@@ -41,8 +41,9 @@ public final class StreamedDecodedPcm {
         if (isClosed) {
             return;
         }
+        NativeBufferPool pool = NativeBufferPool.shared();
         for (ByteBuffer chunk : pcmChunks) {
-            MemoryUtil.memFree(chunk);
+            pool.release(chunk);
         }
         pcmChunks.clear();
         isClosed = true;
@@ -0,0 +1,190 @@
+package org.mirage.gfbs.auralis;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.sounds.SoundEvent;
+import net.minecraft.util.GsonHelper;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
+import org.mirage.gfbs.auralis.api.AuralisBus;
+import org.mirage.gfbs.auralis.api.AuralisRampCurve;
+import org.mirage.gfbs.auralis.api.SoundSpec;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A parsed timeline asset: sound events at fixed times, run on the client by {@link TimelineSequencer}.
+ * <p>
+ * Format ({@code assets/<namespace>/auralis_timelines/<path>.json}):
+ * <pre>
+ * {
+ *   "length": 12.0,          // optional; end (or loop point) in seconds
+ *   "loop": false,
+ *   "events": [
+ *     { "time": 0.0, "action": "play", "id": "drums", "sound": "minecraft:music.game",
+ *       "position": [0, 2, 0], "volume": 0.8, "bus": "music" },
+ *     { "time": 4.0, "action": "ramp_volume", "id": "drums", "value": 0.2, "duration": 2.0, "curve": "ease_out" },
+ *     { "time": 8.0, "action": "stop", "id": "drums" }
+ *   ]
+ * }
+ * </pre>
+ * Play events also accept {@code pitch}, {@code speed}, {@code static}, {@code looping},
+ * {@code streamed}, {@code min_distance}, {@code max_distance}, {@code priority} and {@code start}.
+ * {@code set_volume}/{@code set_pitch} take a {@code value} and {@code set_position} a
+ * {@code position}; the {@code ramp_*} forms also take a {@code duration} in seconds and an
+ * optional {@code curve} (see {@link AuralisRampCurve}). Positions are relative to the origin the
+ * run was started at.
+ */
+record Timeline(float length, boolean loop, List<Timeline.Event> events) {
+    enum Action {
+        PLAY,
+        STOP,
+        PAUSE,
+        RESUME,
+        SET_VOLUME,
+        SET_PITCH,
+        SET_POSITION,
+        RAMP_VOLUME,
+        RAMP_PITCH,
+        RAMP_POSITION
+    }
+
+    /**
+     * One timed event on the sound named {@code target}. {@code spec} is set for PLAY,
+     * {@code value} for the volume and pitch actions, {@code position} for the position ones,
+     * {@code duration} (seconds) and {@code curve} for the ramps.
+     */
+    record Event(float time, Action action, String target, @Nullable SoundSpec spec, float value, @Nullable Vec3 position,
+                 float duration, AuralisRampCurve curve) {
+        Event(float time, Action action, String target, @Nullable SoundSpec spec, float value, @Nullable Vec3 position) {
+            this(time, action, target, spec, value, position, 0.0f, AuralisRampCurve.LINEAR);
+        }
+
+        int durationMillis() {
+            return Math.round(duration * 1000.0f);
+        }
+    }
+
+    static Timeline parse(JsonObject json) {
+        float length = GsonHelper.getAsFloat(json, "length", 0.0f);
+        boolean loop = GsonHelper.getAsBoolean(json, "loop", false);
+        if (loop && !(length > 0.0f)) {
+            throw new JsonParseException("A looping timeline needs a positive length");
+        }
+        JsonArray array = GsonHelper.getAsJsonArray(json, "events");
+        List<Event> events = new ArrayList<>(array.size());
+        for (int i = 0; i < array.size(); i++) {
+            events.add(parseEvent(GsonHelper.convertToJsonObject(array.get(i), "events[" + i + "]")));
+        }
+        // Stable, so events at the same time keep their file order.
+        events.sort(Comparator.comparingDouble(Event::time));
+        return new Timeline(Math.max(0.0f, length), loop, List.copyOf(events));
+    }
+
+    private static Event parseEvent(JsonObject json) {
+        float time = GsonHelper.getAsFloat(json, "time");
+        if (!(time >= 0.0f) || !Float.isFinite(time)) {
+            throw new JsonParseException("Invalid event time " + time);
+        }
+        Action action = parseAction(GsonHelper.getAsString(json, "action"));
+        String target = GsonHelper.getAsString(json, "id");
+        return switch (action) {
+            case PLAY -> new Event(time, action, target, parsePlay(json), 0.0f, null);
+            case SET_VOLUME, SET_PITCH -> new Event(time, action, target, null, GsonHelper.getAsFloat(json, "value"), null);
+            case SET_POSITION -> new Event(time, action, target, null, 0.0f, readVec3(GsonHelper.getAsJsonArray(json, "position")));
+            case RAMP_VOLUME, RAMP_PITCH -> new Event(time, action, target, null, GsonHelper.getAsFloat(json, "value"), null,
+                    parseDuration(json), parseCurve(json));
+            case RAMP_POSITION -> new Event(time, action, target, null, 0.0f, readVec3(GsonHelper.getAsJsonArray(json, "position")),
+                    parseDuration(json), parseCurve(json));
+            default -> new Event(time, action, target, null, 0.0f, null);
+        };
+    }
+
+    private static Action parseAction(String name) {
+        try {
+            return Action.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException("Unknown timeline action '" + name + "'");
+        }
+    }
+
+    private static float parseDuration(JsonObject json) {
+        float duration = GsonHelper.getAsFloat(json, "duration");
+        if (!(duration >= 0.0f) || !Float.isFinite(duration)) {
+            throw new JsonParseException("Invalid ramp duration " + duration);
+        }
+        return duration;
+    }
+
+    private static AuralisRampCurve parseCurve(JsonObject json) {
+        String name = GsonHelper.getAsString(json, "curve", AuralisRampCurve.LINEAR.serializedName());
+        AuralisRampCurve curve = AuralisRampCurve.byName(name);
+        if (curve == null) {
+            throw new JsonParseException("Unknown ramp curve '" + name + "'");
+        }
+        return curve;
+    }
+
+    private static SoundSpec parsePlay(JsonObject json) {
+        ResourceLocation sound = ResourceLocation.tryParse(GsonHelper.getAsString(json, "sound"));
+        if (sound == null) {
+            throw new JsonParseException("Invalid sound id '" + GsonHelper.getAsString(json, "sound") + "'");
+        }
+        String bus = AuralisBus.normalize(GsonHelper.getAsString(json, "bus", AuralisBus.MASTER));
+        if (bus == null) {
+            throw new JsonParseException("Invalid bus '" + GsonHelper.getAsString(json, "bus") + "'");
+        }
+        SoundSpec.Builder builder = SoundSpec.builder(SoundEvent.createVariableRangeEvent(sound))
+                .volume(GsonHelper.getAsFloat(json, "volume", 1.0f))
+                .pitch(GsonHelper.getAsFloat(json, "pitch", 1.0f))
+                .speed(GsonHelper.getAsFloat(json, "speed", 1.0f))
+                .minDistance(GsonHelper.getAsFloat(json, "min_distance", 1.0f))
+                .maxDistance(GsonHelper.getAsFloat(json, "max_distance", 48.0f))
+                .priority(GsonHelper.getAsInt(json, "priority", 50))
+                .looping(GsonHelper.getAsBoolean(json, "looping", false))
+                .isStatic(GsonHelper.getAsBoolean(json, "static", false))
+                .streamed(GsonHelper.getAsBoolean(json, "streamed", false))
+                .bus(bus)
+                .startSeconds(GsonHelper.getAsFloat(json, "start", -1.0f));
+        if (json.has("position")) {
+            builder.position(readVec3(GsonHelper.getAsJsonArray(json, "position")));
+        }
+        return builder.build();
+    }
+
+    private static Vec3 readVec3(JsonArray array) {
+        if (array.size() != 3) {
+            throw new JsonParseException("Expected position as [x, y, z]");
+        }
+        return new Vec3(
+                GsonHelper.convertToDouble(array.get(0), "x"),
+                GsonHelper.convertToDouble(array.get(1), "y"),
+                GsonHelper.convertToDouble(array.get(2), "z"));
+    }
+}
@@ -0,0 +1,72 @@
+package org.mirage.gfbs.auralis;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import net.minecraft.client.Minecraft;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.util.GsonHelper;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Reader;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads timeline assets from the client resource manager on first use and keeps them until
+ * the next resource reload. Failed loads are cached too, so a bad id only logs once.
+ */
+final class TimelineLibrary {
+    static final String DIRECTORY = "auralis_timelines";
+
+    private final Minecraft mc;
+    private final Map<ResourceLocation, Optional<Timeline>> cache = new ConcurrentHashMap<>();
+
+    TimelineLibrary(Minecraft mc) {
+        this.mc = mc;
+    }
+
+    @Nullable
+    Timeline get(ResourceLocation id) {
+        return cache.computeIfAbsent(id, this::load).orElse(null);
+    }
+
+    void clear() {
+        cache.clear();
+    }
+
+    private Optional<Timeline> load(ResourceLocation id) {
+        ResourceLocation file = new ResourceLocation(id.getNamespace(), DIRECTORY + "/" + id.getPath() + ".json");
+        Optional<Resource> resource = mc.getResourceManager().getResource(file);
+        if (resource.isEmpty()) {
+            GFBsAuralis.LOGGER.warn("Timeline not found: {} (expected {})", id, file);
+            return Optional.empty();
+        }
+        try (Reader reader = resource.get().openAsReader()) {
+            return Optional.of(Timeline.parse(GsonHelper.parse(reader)));
+        } catch (Exception e) {
+            GFBsAuralis.LOGGER.error("Failed to load timeline {}: {}", id, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package org.mirage.gfbs.auralis;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.phys.Vec3;
+import org.mirage.gfbs.auralis.api.SoundSpec;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs timelines locally so the server only sends start, stop and seek.
+ * <p>
+ * Client thread only. Play events are handed to {@link AuralisSoundInstanceImpl#playAt} a little
+ * ahead of time so they start on the device clock, not on the next tick; everything else is
+ * applied on the first tick at or after its time.
+ */
+final class TimelineSequencer {
+    private static final long LOOKAHEAD_NANOS = 100_000_000L;
+
+    private final AuralisEngine engine;
+    private final AuralisAL al;
+    private final TimelineLibrary library;
+    private final Map<String, Run> runs = new HashMap<>();
+
+    private static final class Run {
+        final Timeline timeline;
+        final Vec3 origin;
+        final Map<String, AuralisSoundInstanceImpl> sounds = new HashMap<>();
+        /** Device time of timeline second zero for the current pass. */
+        long zeroNanos;
+        int cursor;
+
+        Run(Timeline timeline, Vec3 origin) {
+            this.timeline = timeline;
+            this.origin = origin;
+        }
+    }
+
+    /** Replay state of one sound while seeking. */
+    private static final class Replay {
+        final SoundSpec spec;
+        float volume;
+        float pitch;
+        Vec3 position;
+        float offset;
+        float since;
+        boolean paused;
+        // Ramps not yet settled, keyed by their action, with the value each started from.
+        final Map<Timeline.Action, Ramp> ramps = new EnumMap<>(Timeline.Action.class);
+
+        private record Ramp(Timeline.Event event, float from, Vec3 fromPosition) {
+            float fraction(float time) {
+                return event.duration() > 0.0f ? event.curve().apply((time - event.time()) / event.duration()) : 1.0f;
+            }
+
+            boolean isDone(float time) {
+                return time >= event.time() + event.duration();
+            }
+        }
+
+        Replay(SoundSpec spec, float time) {
+            this.spec = spec;
+            this.volume = spec.volume();
+            this.pitch = spec.pitch();
+            this.position = spec.position();
+            this.offset = Math.max(0.0f, spec.startSeconds());
+            this.since = time;
+        }
+
+        /** Accumulates playback offset up to {@code time}, at the pitch the segment started with. */
+        void advanceTo(float time) {
+            if (!paused) {
+                offset += (time - since) * pitch * spec.speed();
+            }
+            since = time;
+            settle(Timeline.Action.RAMP_PITCH, time);
+        }
+
+        void apply(Timeline.Event event) {
+            switch (event.action()) {
+                case PAUSE -> paused = true;
+                case RESUME -> paused = false;
+                case SET_VOLUME -> {
+                    ramps.remove(Timeline.Action.RAMP_VOLUME);
+                    volume = event.value();
+                }
+                case SET_PITCH -> {
+                    ramps.remove(Timeline.Action.RAMP_PITCH);
+                    pitch = event.value();
+                }
+                case SET_POSITION -> {
+                    ramps.remove(Timeline.Action.RAMP_POSITION);
+                    position = event.position();
+                }
+                case RAMP_VOLUME -> {
+                    settle(Timeline.Action.RAMP_VOLUME, event.time());
+                    ramps.put(Timeline.Action.RAMP_VOLUME, new Ramp(event, volume, null));
+                }
+                case RAMP_PITCH -> {
+                    settle(Timeline.Action.RAMP_PITCH, event.time());
+                    ramps.put(Timeline.Action.RAMP_PITCH, new Ramp(event, pitch, null));
+                }
+                case RAMP_POSITION -> {
+                    settle(Timeline.Action.RAMP_POSITION, event.time());
+                    ramps.put(Timeline.Action.RAMP_POSITION, new Ramp(event, 0.0f, position));
+                }
+                default -> {
+                }
+            }
+        }
+
+        /** Moves all ramps to their values at {@code time}; the ones left are still running. */
+        void settleAll(float time) {
+            for (Timeline.Action kind : List.copyOf(ramps.keySet())) {
+                settle(kind, time);
+            }
+        }
+
+        private void settle(Timeline.Action kind, float time) {
+            Ramp ramp = ramps.get(kind);
+            if (ramp == null) {
+                return;
+            }
+            float f = ramp.fraction(time);
+            Timeline.Event event = ramp.event();
+            switch (kind) {
+                case RAMP_VOLUME -> volume = ramp.from() + (event.value() - ramp.from()) * f;
+                case RAMP_PITCH -> pitch = ramp.from() + (event.value() - ramp.from()) * f;
+                case RAMP_POSITION -> position = ramp.fromPosition().lerp(event.position(), f);
+                default -> {
+                }
+            }
+            if (ramp.isDone(time)) {
+                ramps.remove(kind);
+            }
+        }
+    }
+
+    TimelineSequencer(AuralisEngine engine, AuralisAL al, TimelineLibrary library) {
+        this.engine = engine;
+        this.al = al;
+        this.library = library;
+    }
+
+    boolean start(String runId, ResourceLocation timelineId, Vec3 origin, float startSeconds) {
+        Timeline timeline = library.get(timelineId);
+        if (timeline == null) {
+            return false;
+        }
+        stop(runId);
+        Run run = new Run(timeline, origin);
+        runs.put(runId, run);
+        seekRun(run, startSeconds);
+        return true;
+    }
+
+    void stop(String runId) {
+        Run run = runs.remove(runId);
+        if (run != null) {
+            stopSounds(run);
+        }
+    }
+
+    void seek(String runId, float seconds) {
+        Run run = runs.get(runId);
+        if (run != null) {
+            seekRun(run, seconds);
+        }
+    }
+
+    void stopAll() {
+        for (Run run : runs.values()) {
+            stopSounds(run);
+        }
+        runs.clear();
+    }
+
+    void clearLibrary() {
+        library.clear();
+    }
+
+    void tick() {
+        if (runs.isEmpty()) {
+            return;
+        }
+        long now = al.deviceTimeNanos();
+        Iterator<Run> it = runs.values().iterator();
+        while (it.hasNext()) {
+            Run run = it.next();
+            if (!advance(run, now)) {
+                stopSounds(run);
+                it.remove();
+            }
+        }
+    }
+
+    /** Dispatches due events; false once a non-looping run has passed its length. */
+    private boolean advance(Run run, long now) {
+        List<Timeline.Event> events = run.timeline.events();
+        long elapsed = now - run.zeroNanos;
+        while (run.cursor < events.size()) {
+            Timeline.Event event = events.get(run.cursor);
+            long due = toNanos(event.time());
+            if (due > elapsed + (event.action() == Timeline.Action.PLAY ? LOOKAHEAD_NANOS : 0L)) {
+                break;
+            }
+            run.cursor++;
+            try {
+                dispatch(run, event);
+            } catch (Throwable t) {
+                GFBsAuralis.LOGGER.error("Timeline event {} on '{}' failed: {}", event.action(), event.target(), t.getMessage());
+            }
+        }
+        float length = run.timeline.length();
+        if (length <= 0.0f || elapsed < toNanos(length)) {
+            return true;
+        }
+        if (!run.timeline.loop()) {
+            return false;
+        }
+        // Sounds of the finished pass end at the loop point; after a long stall restart from now.
+        stopSounds(run);
+        long lengthNanos = toNanos(length);
+        run.zeroNanos = (elapsed < 2 * lengthNanos) ? run.zeroNanos + lengthNanos : now;
+        run.cursor = 0;
+        return advance(run, now);
+    }
+
+    private void dispatch(Run run, Timeline.Event event) {
+        String target = event.target();
+        if (event.action() == Timeline.Action.PLAY) {
+            stopSound(run, target);
+            SoundSpec spec = event.spec();
+            AuralisSoundInstanceImpl inst = engine.createFromSpec(
+                    spec.toBuilder().position(spec.position().add(run.origin)).build());
+            run.sounds.put(target, inst);
+            inst.playAt(run.zeroNanos + toNanos(event.time()));
+            return;
+        }
+        if (event.action() == Timeline.Action.STOP) {
+            stopSound(run, target);
+            return;
+        }
+        AuralisSoundInstanceImpl inst = run.sounds.get(target);
+        if (inst == null) {
+            return;
+        }
+        switch (event.action()) {
+            case PAUSE -> inst.pause();
+            case RESUME -> inst.play();
+            case SET_VOLUME -> inst.setVolume(event.value());
+            case SET_PITCH -> inst.setPitch(event.value());
+            case SET_POSITION -> inst.setPosition(event.position().add(run.origin));
+            case RAMP_VOLUME -> inst.rampVolume(event.value(), event.durationMillis(), event.curve());
+            case RAMP_PITCH -> inst.rampPitch(event.value(), event.durationMillis(), event.curve());
+            case RAMP_POSITION -> inst.rampPosition(event.position().add(run.origin), event.durationMillis(), event.curve());
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Moves a run to {@code seconds}: replays the events before it to find which sounds would be
+     * playing and where, restarts those at their offsets and resumes dispatch from there.
+     */
+    private void seekRun(Run run, float seconds) {
+        stopSounds(run);
+        float t = Float.isFinite(seconds) ? Math.max(0.0f, seconds) : 0.0f;
+        if (run.timeline.loop()) {
+            t %= run.timeline.length();
+        }
+        long now = al.deviceTimeNanos();
+        run.zeroNanos = now - toNanos(t);
+
+        List<Timeline.Event> events = run.timeline.events();
+        Map<String, Replay> active = new LinkedHashMap<>();
+        int cursor = 0;
+        while (cursor < events.size() && events.get(cursor).time() < t) {
+            Timeline.Event event = events.get(cursor++);
+            if (event.action() == Timeline.Action.PLAY) {
+                active.put(event.target(), new Replay(event.spec(), event.time()));
+                continue;
+            }
+            if (event.action() == Timeline.Action.STOP) {
+                active.remove(event.target());
+                continue;
+            }
+            Replay replay = active.get(event.target());
+            if (replay == null) {
+                continue;
+            }
+            replay.advanceTo(event.time());
+            replay.apply(event);
+        }
+        run.cursor = cursor;
+
+        for (Map.Entry<String, Replay> entry : active.entrySet()) {
+            Replay replay = entry.getValue();
+            replay.advanceTo(t);
+            replay.settleAll(t);
+            AuralisSoundInstanceImpl inst = engine.createFromSpec(replay.spec.toBuilder()
+                    .volume(replay.volume)
+                    .pitch(replay.pitch)
+                    .position(replay.position.add(run.origin))
+                    .startSeconds(replay.offset)
+                    .build());
+            run.sounds.put(entry.getKey(), inst);
+            // Running ramps continue from the interpolated value over their remaining time.
+            for (Replay.Ramp running : replay.ramps.values()) {
+                Timeline.Event ramp = running.event();
+                int remaining = Math.round((ramp.time() + ramp.duration() - t) * 1000.0f);
+                switch (ramp.action()) {
+                    case RAMP_VOLUME -> inst.rampVolume(ramp.value(), remaining, ramp.curve());
+                    case RAMP_PITCH -> inst.rampPitch(ramp.value(), remaining, ramp.curve());
+                    case RAMP_POSITION -> inst.rampPosition(ramp.position().add(run.origin), remaining, ramp.curve());
+                    default -> {
+                    }
+                }
+            }
+            if (!replay.paused) {
+                inst.playAt(now);
+            }
+        }
+        advance(run, now);
+    }
+
+    private void stopSounds(Run run) {
+        for (AuralisSoundInstanceImpl inst : run.sounds.values()) {
+            release(inst);
+        }
+        run.sounds.clear();
+    }
+
+    private void stopSound(Run run, String target) {
+        AuralisSoundInstanceImpl inst = run.sounds.remove(target);
+        if (inst != null) {
+            release(inst);
+        }
+    }
+
+    private void release(AuralisSoundInstanceImpl inst) {
+        try {
+            inst.stop();
+            engine.unbind(inst);
+        } catch (Throwable t) {
+            GFBsAuralis.LOGGER.error("Failed to stop timeline sound: {}", t.getMessage());
+        }
+    }
+
+    private static long toNanos(float seconds) {
+        return (long) (seconds * 1.0e9);
+    }
+}
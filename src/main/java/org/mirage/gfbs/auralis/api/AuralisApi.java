@@ -24,6 +24,11 @@ package org.mirage.gfbs.auralis.api;
 import net.minecraft.sounds.SoundEvent;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 public final class AuralisApi {
     private static volatile @Nullable IAuralisEngine ENGINE;
 
@@ -64,13 +69,43 @@ public final class AuralisApi {
         return engine().createStreamed(soundEvent);
     }
 
+    public static AuralisSoundInstance spawn(SoundSpec spec) {
+        if (ENGINE == null) {
+            return new ServerPlaceholderSoundInstance();
+        }
+        return engine().spawn(spec);
+    }
+
+    public static List<AuralisSoundInstance> spawnAll(List<SoundSpec> specs) {
+        if (ENGINE == null) {
+            List<AuralisSoundInstance> out = new ArrayList<>(specs.size());
+            for (int i = 0; i < specs.size(); i++) {
+                out.add(new ServerPlaceholderSoundInstance());
+            }
+            return out;
+        }
+        return engine().spawnAll(specs);
+    }
+
+    public static CompletableFuture<Void> preload(Collection<SoundEvent> soundEvents) {
+        if (ENGINE == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return engine().preload(soundEvents);
+    }
+
     private static class ServerPlaceholderSoundInstance implements AuralisSoundInstance {
         @Override public void play() {}
         @Override public void pause() {}
         @Override public void stop() {}
+        @Override public AuralisSoundInstance seek(float seconds) { return this; }
+        @Override public void playFrom(float seconds) {}
+        @Override public void playAt(long deviceTimeNanos) {}
+        @Override public void playAfter(float delaySeconds) {}
         @Override public boolean isPlaying() { return false; }
         @Override public boolean isPaused() { return false; }
         @Override public boolean isBound() { return false; }
+        @Override public boolean isVirtual() { return false; }
         @Override public AuralisSoundInstance setVolume(float volume) { return this; }
         @Override public float getVolume() { return 1.0f; }
         @Override public AuralisSoundInstance setPitch(float pitch) { return this; }
@@ -81,6 +116,12 @@ public final class AuralisApi {
         @Override public boolean isStatic() { return false; }
         @Override public AuralisSoundInstance setPosition(net.minecraft.world.phys.Vec3 pos) { return this; }
         @Override public net.minecraft.world.phys.Vec3 getPosition() { return net.minecraft.world.phys.Vec3.ZERO; }
+        @Override public AuralisSoundInstance rampVolume(float target, int durationMillis, AuralisRampCurve curve) { return this; }
+        @Override public AuralisSoundInstance rampPitch(float target, int durationMillis, AuralisRampCurve curve) { return this; }
+        @Override public AuralisSoundInstance rampPosition(net.minecraft.world.phys.Vec3 target, int durationMillis, AuralisRampCurve curve) { return this; }
+        @Override public AuralisSoundInstance attachToEntity(int entityId, net.minecraft.world.phys.Vec3 offset) { return this; }
+        @Override public AuralisSoundInstance detachFromEntity() { return this; }
+        @Override public int getAttachedEntity() { return -1; }
         @Override public AuralisSoundInstance setMinDistance(float dist) { return this; }
         @Override public float getMinDistance() { return 1.0f; }
         @Override public AuralisSoundInstance setMaxDistance(float dist) { return this; }
@@ -89,6 +130,8 @@ public final class AuralisApi {
         @Override public boolean isLooping() { return false; }
         @Override public AuralisSoundInstance setPriority(int priority) { return this; }
         @Override public int getPriority() { return 50; }
+        @Override public AuralisSoundInstance setBus(String bus) { return this; }
+        @Override public String getBus() { return AuralisBus.MASTER; }
         @Override public AuralisSoundInstance addListener(AuralisSoundListener listener) { return this; }
         @Override public AuralisSoundInstance removeListener(AuralisSoundListener listener) { return this; }
     }
@@ -0,0 +1,58 @@
+package org.mirage.gfbs.auralis.api;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Names of the built-in mixer buses. Every sound plays through exactly one bus; a bus scales,
+ * mutes or pauses all of its sounds at once, and every bus feeds {@link #MASTER}. Any other
+ * valid name creates a custom bus under master on first use.
+ */
+public final class AuralisBus {
+    public static final String MASTER = "master";
+    public static final String MUSIC = "music";
+    public static final String AMBIENT = "ambient";
+    public static final String SFX = "sfx";
+
+    public static final List<String> BUILT_IN = List.of(MASTER, MUSIC, AMBIENT, SFX);
+
+    public static final int MAX_NAME_LENGTH = 32;
+
+    private AuralisBus() {}
+
+    /** Lower-cases {@code name}; returns null unless it is 1-32 chars of [a-z0-9_.-]. */
+    public static @Nullable String normalize(@Nullable String name) {
+        if (name == null) return null;
+        String n = name.toLowerCase(Locale.ROOT);
+        if (n.isEmpty() || n.length() > MAX_NAME_LENGTH) return null;
+        for (int i = 0; i < n.length(); i++) {
+            char c = n.charAt(i);
+            boolean ok = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '.' || c == '-';
+            if (!ok) return null;
+        }
+        return n;
+    }
+}
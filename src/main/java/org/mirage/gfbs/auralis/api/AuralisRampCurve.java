@@ -0,0 +1,64 @@
+package org.mirage.gfbs.auralis.api;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/** Shape of a parameter ramp, see {@link AuralisSoundInstance#rampVolume}. */
+public enum AuralisRampCurve {
+    LINEAR,
+    /** Starts slow, ends fast (quadratic). */
+    EASE_IN,
+    /** Starts fast, ends slow (quadratic). */
+    EASE_OUT,
+    /** Smoothstep; slow at both ends. */
+    EASE_IN_OUT,
+    /** Quarter sine; keeps the summed power of a crossfade roughly constant. */
+    EQUAL_POWER;
+
+    /** Maps progress {@code t} in [0, 1] to the fraction of the change applied. */
+    public float apply(float t) {
+        float x = Math.max(0.0f, Math.min(1.0f, t));
+        return switch (this) {
+            case LINEAR -> x;
+            case EASE_IN -> x * x;
+            case EASE_OUT -> x * (2.0f - x);
+            case EASE_IN_OUT -> x * x * (3.0f - 2.0f * x);
+            case EQUAL_POWER -> (float) Math.sin(x * Math.PI * 0.5);
+        };
+    }
+
+    public String serializedName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /** Parses a name as written by {@link #serializedName()}, case-insensitively; null if unknown. */
+    public static @Nullable AuralisRampCurve byName(@Nullable String name) {
+        if (name == null) return null;
+        for (AuralisRampCurve curve : values()) {
+            if (curve.name().equalsIgnoreCase(name)) return curve;
+        }
+        return null;
+    }
+}
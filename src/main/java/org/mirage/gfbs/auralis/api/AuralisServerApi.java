@@ -23,9 +23,11 @@ package org.mirage.gfbs.auralis.api;
  */
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.phys.Vec3;
 import org.mirage.gfbs.auralis.network.NetworkHandler;
 import org.mirage.gfbs.auralis.network.SoundControlPacket;
+import org.mirage.gfbs.auralis.network.TimelineControlPacket;
 import net.minecraftforge.network.PacketDistributor;
 
 import java.util.Collection;
@@ -35,18 +37,40 @@ public class AuralisServerApi {
     public static int playSound(String id, ResourceLocation soundEventId, float volume, float pitch, float speed, boolean isStatic,
                                 Vec3 pos, boolean looping, int priority, float minDistance, float maxDistance,
                                 Collection<ServerPlayer> targets) {
-        return playSoundInternal(id, soundEventId, volume, pitch, speed, isStatic, pos, looping, priority, minDistance, maxDistance, targets, false);
+        return playSoundInternal(id, soundEventId, volume, pitch, speed, isStatic, pos, looping, priority, minDistance, maxDistance, targets, false, AuralisBus.MASTER, -1);
+    }
+
+    public static int playSound(String id, ResourceLocation soundEventId, float volume, float pitch, float speed, boolean isStatic,
+                                Vec3 pos, boolean looping, int priority, float minDistance, float maxDistance, String bus,
+                                Collection<ServerPlayer> targets) {
+        return playSoundInternal(id, soundEventId, volume, pitch, speed, isStatic, pos, looping, priority, minDistance, maxDistance, targets, false, bus, -1);
     }
 
     public static int playStreamedSound(String id, ResourceLocation soundEventId, float volume, float pitch, float speed, boolean isStatic,
                                       Vec3 pos, boolean looping, int priority, float minDistance, float maxDistance,
                                       Collection<ServerPlayer> targets) {
-        return playSoundInternal(id, soundEventId, volume, pitch, speed, isStatic, pos, looping, priority, minDistance, maxDistance, targets, true);
+        return playSoundInternal(id, soundEventId, volume, pitch, speed, isStatic, pos, looping, priority, minDistance, maxDistance, targets, true, AuralisBus.MASTER, -1);
+    }
+
+    public static int playStreamedSound(String id, ResourceLocation soundEventId, float volume, float pitch, float speed, boolean isStatic,
+                                      Vec3 pos, boolean looping, int priority, float minDistance, float maxDistance, String bus,
+                                      Collection<ServerPlayer> targets) {
+        return playSoundInternal(id, soundEventId, volume, pitch, speed, isStatic, pos, looping, priority, minDistance, maxDistance, targets, true, bus, -1);
+    }
+
+    /**
+     * Plays a sound that follows {@code entity} on each client (see
+     * {@link AuralisSoundInstance#attachToEntity}), so moving it needs no further packets.
+     */
+    public static int playSoundOnEntity(String id, ResourceLocation soundEventId, float volume, float pitch, float speed,
+                                        Entity entity, Vec3 offset, boolean looping, int priority, float minDistance, float maxDistance,
+                                        String bus, boolean isStreamed, Collection<ServerPlayer> targets) {
+        return playSoundInternal(id, soundEventId, volume, pitch, speed, false, offset, looping, priority, minDistance, maxDistance, targets, isStreamed, bus, entity.getId());
     }
 
     private static int playSoundInternal(String id, ResourceLocation soundEventId, float volume, float pitch, float speed, boolean isStatic,
                                          Vec3 pos, boolean looping, int priority, float minDistance, float maxDistance,
-                                         Collection<ServerPlayer> targets, boolean isStreamed) {
+                                         Collection<ServerPlayer> targets, boolean isStreamed, String bus, int entityId) {
         if (targets == null) return 0;
 
         SoundControlPacket packet = new SoundControlPacket(
@@ -59,7 +83,11 @@ public class AuralisServerApi {
                 looping,
                 priority,
                 minDistance,
-                maxDistance
+                maxDistance,
+                bus,
+                0,
+                AuralisRampCurve.LINEAR,
+                entityId
         );
 
         String message = "[GFBS Auralis] 已向 %d 名玩家发送播放指令: " + soundEventId + " (id=" + id + ")";
@@ -146,6 +174,40 @@ public class AuralisServerApi {
         return sendPacketToPlayers(packet, targets, "[GFBS Auralis] 已向 %d 名玩家设置音高 (id=" + id + ", pitch=" + pitch + ")");
     }
 
+    /**
+     * Fades a sound's volume on the clients over {@code durationMillis} with a single packet
+     * (see {@link AuralisSoundInstance#rampVolume}), instead of a volume update every tick.
+     */
+    public static int rampVolume(String id, float volume, int durationMillis, AuralisRampCurve curve, Collection<ServerPlayer> targets) {
+        if (targets == null) return 0;
+        SoundControlPacket packet = SoundControlPacket.forRamp(SoundControlPacket.Action.RAMP_VOLUME, id, volume, Vec3.ZERO, durationMillis, curve);
+        return sendPacketToPlayers(packet, targets, "[GFBS Auralis] 已向 %d 名玩家渐变音量 (id=" + id + ", volume=" + volume + ", ms=" + durationMillis + ")");
+    }
+
+    public static int rampPitch(String id, float pitch, int durationMillis, AuralisRampCurve curve, Collection<ServerPlayer> targets) {
+        if (targets == null) return 0;
+        SoundControlPacket packet = SoundControlPacket.forRamp(SoundControlPacket.Action.RAMP_PITCH, id, pitch, Vec3.ZERO, durationMillis, curve);
+        return sendPacketToPlayers(packet, targets, "[GFBS Auralis] 已向 %d 名玩家渐变音高 (id=" + id + ", pitch=" + pitch + ", ms=" + durationMillis + ")");
+    }
+
+    public static int rampPosition(String id, Vec3 pos, int durationMillis, AuralisRampCurve curve, Collection<ServerPlayer> targets) {
+        if (targets == null) return 0;
+        SoundControlPacket packet = SoundControlPacket.forRamp(SoundControlPacket.Action.RAMP_POSITION, id, 0f, pos, durationMillis, curve);
+        return sendPacketToPlayers(packet, targets, "[GFBS Auralis] 已向 %d 名玩家渐变位置 (id=" + id + ", pos=" + pos + ", ms=" + durationMillis + ")");
+    }
+
+    public static int attachToEntity(String id, Entity entity, Vec3 offset, Collection<ServerPlayer> targets) {
+        if (targets == null) return 0;
+        SoundControlPacket packet = SoundControlPacket.forEntity(SoundControlPacket.Action.ATTACH_ENTITY, id, entity.getId(), offset);
+        return sendPacketToPlayers(packet, targets, "[GFBS Auralis] 已向 %d 名玩家绑定实体 (id=" + id + ", entity=" + entity.getId() + ")");
+    }
+
+    public static int detachFromEntity(String id, Collection<ServerPlayer> targets) {
+        if (targets == null) return 0;
+        SoundControlPacket packet = SoundControlPacket.forEntity(SoundControlPacket.Action.DETACH_ENTITY, id, -1, Vec3.ZERO);
+        return sendPacketToPlayers(packet, targets, "[GFBS Auralis] 已向 %d 名玩家解除实体绑定 (id=" + id + ")");
+    }
+
     public static int setPosition(String id, Vec3 pos, Collection<ServerPlayer> targets) {
         if (targets == null) return 0;
 
@@ -203,7 +265,67 @@ public class AuralisServerApi {
         return sendPacketToPlayers(packet, targets, "[GFBS Auralis] 已向 %d 名玩家设置循环 (id=" + id + ", looping=" + looping + ")");
     }
 
-    private static int sendPacketToPlayers(SoundControlPacket packet, Collection<ServerPlayer> targets, String successMessage) {
+    /** Routes sound {@code id} through {@code bus} (see {@link AuralisBus}). */
+    public static int setBus(String id, String bus, Collection<ServerPlayer> targets) {
+        if (targets == null) return 0;
+
+        SoundControlPacket packet = new SoundControlPacket(
+                SoundControlPacket.Action.SET_BUS,
+                id,
+                new ResourceLocation("minecraft:empty"),
+                0f, 0f, 0f,
+                false,
+                0d, 0d, 0d,
+                false,
+                0,
+                0.1f,
+                0.1f,
+                bus
+        );
+
+        return sendPacketToPlayers(packet, targets, "[GFBS Auralis] 已向 %d 名玩家设置总线 (id=" + id + ", bus=" + bus + ")");
+    }
+
+    /** Scales every sound on {@code bus} at once; master scales all buses. */
+    public static int setBusVolume(String bus, float volume, Collection<ServerPlayer> targets) {
+        if (targets == null) return 0;
+        SoundControlPacket packet = SoundControlPacket.forBus(SoundControlPacket.Action.SET_BUS_VOLUME, bus, volume);
+        return sendPacketToPlayers(packet, targets, "[GFBS Auralis] 已向 %d 名玩家设置总线音量 (bus=" + bus + ", volume=" + volume + ")");
+    }
+
+    public static int setBusMuted(String bus, boolean muted, Collection<ServerPlayer> targets) {
+        if (targets == null) return 0;
+        SoundControlPacket packet = SoundControlPacket.forBus(muted ? SoundControlPacket.Action.MUTE_BUS : SoundControlPacket.Action.UNMUTE_BUS, bus, 0f);
+        return sendPacketToPlayers(packet, targets, "[GFBS Auralis] 已向 %d 名玩家" + (muted ? "静音" : "取消静音") + "总线 (bus=" + bus + ")");
+    }
+
+    public static int setBusPaused(String bus, boolean paused, Collection<ServerPlayer> targets) {
+        if (targets == null) return 0;
+        SoundControlPacket packet = SoundControlPacket.forBus(paused ? SoundControlPacket.Action.PAUSE_BUS : SoundControlPacket.Action.RESUME_BUS, bus, 0f);
+        return sendPacketToPlayers(packet, targets, "[GFBS Auralis] 已向 %d 名玩家" + (paused ? "暂停" : "恢复") + "总线 (bus=" + bus + ")");
+    }
+
+    /**
+     * Starts a client timeline asset (see {@link IAuralisEngine#startTimeline}) as run {@code runId}.
+     * Each client sequences it locally; only start, stop and seek are ever sent.
+     */
+    public static int startTimeline(String runId, ResourceLocation timelineId, Vec3 origin, float startSeconds, Collection<ServerPlayer> targets) {
+        if (targets == null) return 0;
+        TimelineControlPacket packet = TimelineControlPacket.start(runId, timelineId, origin, startSeconds);
+        return sendPacketToPlayers(packet, targets, "[GFBS Auralis] 已向 %d 名玩家启动时间线 (run=" + runId + ", timeline=" + timelineId + ")");
+    }
+
+    public static int stopTimeline(String runId, Collection<ServerPlayer> targets) {
+        if (targets == null) return 0;
+        return sendPacketToPlayers(TimelineControlPacket.stop(runId), targets, "[GFBS Auralis] 已向 %d 名玩家停止时间线 (run=" + runId + ")");
+    }
+
+    public static int seekTimeline(String runId, float seconds, Collection<ServerPlayer> targets) {
+        if (targets == null) return 0;
+        return sendPacketToPlayers(TimelineControlPacket.seek(runId, seconds), targets, "[GFBS Auralis] 已向 %d 名玩家跳转时间线 (run=" + runId + ", seconds=" + seconds + ")");
+    }
+
+    private static int sendPacketToPlayers(Object packet, Collection<ServerPlayer> targets, String successMessage) {
         int sent = 0;
         for (ServerPlayer p : targets) {
             NetworkHandler.CHANNEL.send(PacketDistributor.PLAYER.with(() -> p), packet);
@@ -35,11 +35,37 @@ public interface AuralisSoundInstance {
     void play();
     void pause();
     void stop();
+
+    /**
+     * Moves the playhead to {@code seconds} from the start. A playing sound jumps immediately;
+     * otherwise the offset is used by the next {@link #play()}. Looping sounds wrap the offset.
+     */
+    AuralisSoundInstance seek(float seconds);
+
+    /** Starts (or restarts) playback at {@code seconds} from the start. */
+    void playFrom(float seconds);
+
+    /**
+     * Starts playback at {@code deviceTimeNanos} on the {@link IAuralisEngine#deviceTimeNanos()}
+     * clock. Sample-accurate where the device supports AL_SOFT_source_start_delay, otherwise
+     * within about a millisecond. A later play, pause or stop cancels the scheduled start.
+     */
+    void playAt(long deviceTimeNanos);
+
+    /** {@link #playAt} {@code delaySeconds} from now. */
+    void playAfter(float delaySeconds);
+
     boolean isPlaying();
     boolean isPaused();
 
     boolean isBound();
 
+    /**
+     * True while the sound is logically playing without an OpenAL source because it is
+     * inaudible. It resumes at the right offset once it becomes audible again.
+     */
+    boolean isVirtual();
+
     AuralisSoundInstance setVolume(float volume);
     float getVolume();
 
@@ -55,6 +81,35 @@ public interface AuralisSoundInstance {
     AuralisSoundInstance setPosition(Vec3 pos);
     Vec3 getPosition();
 
+    /**
+     * Glides the volume from its current value to {@code target} over {@code durationMillis},
+     * evaluated on the audio thread every update step, so one call replaces a stream of
+     * {@link #setVolume} calls. A later set or ramp of the same parameter replaces it; a
+     * non-positive duration sets the value at once.
+     */
+    AuralisSoundInstance rampVolume(float target, int durationMillis, AuralisRampCurve curve);
+
+    /** Like {@link #rampVolume}, for pitch. */
+    AuralisSoundInstance rampPitch(float target, int durationMillis, AuralisRampCurve curve);
+
+    /** Like {@link #rampVolume}, for position. Static sounds just take the target position. */
+    AuralisSoundInstance rampPosition(Vec3 target, int durationMillis, AuralisRampCurve curve);
+
+    /**
+     * Makes the sound follow the client entity with this id, at {@code offset} from its
+     * interpolated position, updated every rendered frame without any position updates from the
+     * caller. The sound stops when the entity is killed or discarded, and goes silent (and
+     * virtual) at its last position while the entity is unloaded or not yet known. A static
+     * sound becomes positional; {@link #setPosition} or {@link #rampPosition} detaches it.
+     * Client thread only.
+     */
+    AuralisSoundInstance attachToEntity(int entityId, Vec3 offset);
+
+    AuralisSoundInstance detachFromEntity();
+
+    /** Id of the followed entity, or -1 if not attached. */
+    int getAttachedEntity();
+
     AuralisSoundInstance setMinDistance(float dist);
     float getMinDistance();
 
@@ -68,6 +123,14 @@ public interface AuralisSoundInstance {
 
     int getPriority();
 
+    /**
+     * Routes this sound through the named mixer bus (see {@link AuralisBus}), creating a
+     * custom bus on first use. Sounds start on {@link AuralisBus#MASTER}.
+     */
+    AuralisSoundInstance setBus(String bus);
+
+    String getBus();
+
     AuralisSoundInstance addListener(AuralisSoundListener listener);
 
     AuralisSoundInstance removeListener(AuralisSoundListener listener);
@@ -21,16 +21,91 @@ package org.mirage.gfbs.auralis.api;
  * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
  * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  */
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.sounds.SoundEvent;
+import net.minecraft.world.phys.Vec3;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface IAuralisEngine {
     AuralisSoundInstance create(SoundEvent soundEvent);
     AuralisSoundInstance createStreamed(SoundEvent soundEvent);
 
+    /**
+     * Decodes and uploads the given sounds ahead of time, in parallel. Preloaded sounds stay
+     * resident, so later {@link #create} calls for them never decode.
+     */
+    CompletableFuture<Void> preload(Collection<SoundEvent> soundEvents);
+
+    /**
+     * Creates, configures and starts a sound in one call. Equivalent to {@link #create}, the
+     * setters, {@link #bind} and {@link AuralisSoundInstance#play()}, but all OpenAL setup
+     * runs in a single task on the audio thread.
+     */
+    AuralisSoundInstance spawn(SoundSpec spec);
+
+    /**
+     * Spawns all sounds with one audio-thread task that starts them together. Sounds that
+     * find no free source start as soon as one frees up, as with a regular play.
+     *
+     * @return the instances, in the order of {@code specs}
+     */
+    List<AuralisSoundInstance> spawnAll(List<SoundSpec> specs);
+
     void bind(AuralisSoundInstance instance);
     void unbind(AuralisSoundInstance instance);
 
     void tick();
 
+    /** Current time of the audio device clock in nanoseconds, for {@link AuralisSoundInstance#playAt}. */
+    long deviceTimeNanos();
+
+    /**
+     * Starts the timeline asset {@code assets/<namespace>/auralis_timelines/<path>.json} as run
+     * {@code runId}, replacing a run with that id, from {@code startSeconds} in. Event positions
+     * are relative to {@code origin}. Client thread only, like the timeline's own ticking.
+     *
+     * @return false if the timeline could not be loaded
+     */
+    boolean startTimeline(String runId, ResourceLocation timeline, Vec3 origin, float startSeconds);
+
+    /** Stops a run and every sound it started. Unknown ids are ignored. */
+    void stopTimeline(String runId);
+
+    /** Jumps a run to {@code seconds}, restarting the sounds that would be playing there. */
+    void seekTimeline(String runId, float seconds);
+
+    /**
+     * Sets where {@link AuralisSoundListener} callbacks run. Events are batched per tick and,
+     * with a null executor (the default), delivered on the client thread at the end of
+     * {@link #tick()}.
+     */
+    void setEventExecutor(@Nullable Executor executor);
+
+    /**
+     * Sets the volume of a mixer bus (see {@link AuralisBus}). It multiplies the volume of every
+     * sound on the bus, or of every sound for master, from the next {@link #tick()}.
+     */
+    void setBusVolume(String bus, float volume);
+
+    float getBusVolume(String bus);
+
+    /** Silences a bus without touching its volume; muted sounds may give up their sources. */
+    void setBusMuted(String bus, boolean muted);
+
+    boolean isBusMuted(String bus);
+
+    /**
+     * Pauses every sound on the bus (every sound for master), or resumes the ones the pause
+     * stopped. While the bus is paused, sounds started on it or moved onto it are held and
+     * begin when it resumes; sounds paused by the caller stay paused.
+     */
+    void setBusPaused(String bus, boolean paused);
+
     void shutdown();
 }
@@ -0,0 +1,162 @@
+package org.mirage.gfbs.auralis.api;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import net.minecraft.sounds.SoundEvent;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.Objects;
+
+/**
+ * Everything needed to start a sound in one call, for {@link IAuralisEngine#spawn} and
+ * {@link IAuralisEngine#spawnAll}. Immutable; build with {@link #builder(SoundEvent)}.
+ *
+ * @param startSeconds offset to start from, or negative to start at the beginning
+ */
+public record SoundSpec(
+        SoundEvent soundEvent,
+        Vec3 position,
+        float volume,
+        float pitch,
+        float speed,
+        float minDistance,
+        float maxDistance,
+        int priority,
+        boolean looping,
+        boolean isStatic,
+        boolean streamed,
+        String bus,
+        float startSeconds
+) {
+    public SoundSpec {
+        Objects.requireNonNull(soundEvent, "soundEvent");
+        Objects.requireNonNull(position, "position");
+        Objects.requireNonNull(bus, "bus");
+    }
+
+    public static Builder builder(SoundEvent soundEvent) {
+        return new Builder(soundEvent);
+    }
+
+    public Builder toBuilder() {
+        return new Builder(soundEvent)
+                .position(position)
+                .volume(volume)
+                .pitch(pitch)
+                .speed(speed)
+                .minDistance(minDistance)
+                .maxDistance(maxDistance)
+                .priority(priority)
+                .looping(looping)
+                .isStatic(isStatic)
+                .streamed(streamed)
+                .bus(bus)
+                .startSeconds(startSeconds);
+    }
+
+    public static final class Builder {
+        private final SoundEvent soundEvent;
+        private Vec3 position = Vec3.ZERO;
+        private float volume = 1.0f;
+        private float pitch = 1.0f;
+        private float speed = 1.0f;
+        private float minDistance = 1.0f;
+        private float maxDistance = 48.0f;
+        private int priority = 50;
+        private boolean looping = false;
+        private boolean isStatic = false;
+        private boolean streamed = false;
+        private String bus = AuralisBus.MASTER;
+        private float startSeconds = -1.0f;
+
+        private Builder(SoundEvent soundEvent) {
+            this.soundEvent = Objects.requireNonNull(soundEvent, "soundEvent");
+        }
+
+        public Builder position(Vec3 position) {
+            this.position = Objects.requireNonNull(position, "position");
+            return this;
+        }
+
+        public Builder volume(float volume) {
+            this.volume = volume;
+            return this;
+        }
+
+        public Builder pitch(float pitch) {
+            this.pitch = pitch;
+            return this;
+        }
+
+        public Builder speed(float speed) {
+            this.speed = speed;
+            return this;
+        }
+
+        public Builder minDistance(float minDistance) {
+            this.minDistance = minDistance;
+            return this;
+        }
+
+        public Builder maxDistance(float maxDistance) {
+            this.maxDistance = maxDistance;
+            return this;
+        }
+
+        public Builder priority(int priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        public Builder looping(boolean looping) {
+            this.looping = looping;
+            return this;
+        }
+
+        /** Listener-relative and unattenuated, like {@link AuralisSoundInstance#setStatic}. */
+        public Builder isStatic(boolean isStatic) {
+            this.isStatic = isStatic;
+            return this;
+        }
+
+        /** Use chunked streamed buffers, as {@link IAuralisEngine#createStreamed} does. */
+        public Builder streamed(boolean streamed) {
+            this.streamed = streamed;
+            return this;
+        }
+
+        public Builder bus(String bus) {
+            this.bus = Objects.requireNonNull(bus, "bus");
+            return this;
+        }
+
+        public Builder startSeconds(float startSeconds) {
+            this.startSeconds = startSeconds;
+            return this;
+        }
+
+        public SoundSpec build() {
+            return new SoundSpec(soundEvent, position, volume, pitch, speed, minDistance, maxDistance,
+                    priority, looping, isStatic, streamed, bus, startSeconds);
+        }
+    }
+}
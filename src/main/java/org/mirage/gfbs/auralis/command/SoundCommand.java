@@ -5,24 +5,33 @@ import com.mojang.brigadier.arguments.BoolArgumentType;
 import com.mojang.brigadier.arguments.FloatArgumentType;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.commands.SharedSuggestionProvider;
 import net.minecraft.commands.arguments.EntityArgument;
 import net.minecraft.commands.arguments.ResourceArgument;
+import net.minecraft.commands.arguments.ResourceLocationArgument;
 import net.minecraft.commands.arguments.coordinates.Vec3Argument;
 import net.minecraft.core.Holder;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.network.PacketDistributor;
+import org.mirage.gfbs.auralis.api.AuralisBus;
+import org.mirage.gfbs.auralis.api.AuralisRampCurve;
 import org.mirage.gfbs.auralis.network.NetworkHandler;
 import org.mirage.gfbs.auralis.network.SoundControlPacket;
+import org.mirage.gfbs.auralis.network.TimelineControlPacket;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -33,7 +42,7 @@ public final class SoundCommand {
         dispatcher.register(Commands.literal("gfbs_auralis")
                         .requires(source -> source.hasPermission(2))
 
-                        // /auralis play <sound> <id> <volume> <pitch> <speed> <static> <position> <looping> <priority> <min-distance> <max-distance> [targets]
+                        // /auralis play <sound> <id> <volume> <pitch> <speed> <static> <position> <looping> <priority> <min-distance> <max-distance> [targets] [bus]
                         .then(Commands.literal("play")
                                 .then(Commands.argument("sound", ResourceArgument.resource(buildContext, Registries.SOUND_EVENT))
                                         .then(Commands.argument("id", StringArgumentType.string())
@@ -46,11 +55,13 @@ public final class SoundCommand {
                                                                                                 .then(Commands.argument("priority", IntegerArgumentType.integer(0, 100))
                                                                                                         .then(Commands.argument("min-distance", FloatArgumentType.floatArg(0.1f, 1000.0f))
                                                                                                                 .then(Commands.argument("max-distance", FloatArgumentType.floatArg(0.1f, 1000.0f))
-                                                                                                                        .executes(ctx -> playSound(ctx, null, false))
+                                                                                                                        .executes(ctx -> playSound(ctx, null, false, AuralisBus.MASTER))
                                                                                                                         .then(Commands.argument("targets", EntityArgument.players())
-                                                                                                                                .executes(ctx -> playSound(ctx, EntityArgument.getPlayers(ctx, "targets"), false)))))))))))))))
+                                                                                                                                .executes(ctx -> playSound(ctx, EntityArgument.getPlayers(ctx, "targets"), false, AuralisBus.MASTER))
+                                                                                                                                .then(busArgument()
+                                                                                                                                        .executes(ctx -> playSound(ctx, EntityArgument.getPlayers(ctx, "targets"), false, StringArgumentType.getString(ctx, "bus")))))))))))))))))
 
-                        // /auralis streamed_play <sound> <id> <volume> <pitch> <speed> <static> <position> <looping> <priority> <min-distance> <max-distance> [targets]
+                        // /auralis streamed_play <sound> <id> <volume> <pitch> <speed> <static> <position> <looping> <priority> <min-distance> <max-distance> [targets] [bus]
                         .then(Commands.literal("streamed_play")
                                 .then(Commands.argument("sound", ResourceArgument.resource(buildContext, Registries.SOUND_EVENT))
                                         .then(Commands.argument("id", StringArgumentType.string())
@@ -63,9 +74,88 @@ public final class SoundCommand {
                                                                                                 .then(Commands.argument("priority", IntegerArgumentType.integer(0, 100))
                                                                                                         .then(Commands.argument("min-distance", FloatArgumentType.floatArg(0.1f, 1000.0f))
                                                                                                                 .then(Commands.argument("max-distance", FloatArgumentType.floatArg(0.1f, 1000.0f))
-                                                                                                                        .executes(ctx -> playSound(ctx, null, true))
+                                                                                                                        .executes(ctx -> playSound(ctx, null, true, AuralisBus.MASTER))
                                                                                                                         .then(Commands.argument("targets", EntityArgument.players())
-                                                                                                                                .executes(ctx -> playSound(ctx, EntityArgument.getPlayers(ctx, "targets"), true)))))))))))))))
+                                                                                                                                .executes(ctx -> playSound(ctx, EntityArgument.getPlayers(ctx, "targets"), true, AuralisBus.MASTER))
+                                                                                                                                .then(busArgument()
+                                                                                                                                        .executes(ctx -> playSound(ctx, EntityArgument.getPlayers(ctx, "targets"), true, StringArgumentType.getString(ctx, "bus")))))))))))))))))
+
+                // /auralis bus assign <id> <bus> [targets]
+                // /auralis bus volume <bus> <volume> [targets]
+                // /auralis bus <mute|unmute|pause|resume> <bus> [targets]
+                .then(Commands.literal("bus")
+                        .then(Commands.literal("assign")
+                                .then(Commands.argument("id", StringArgumentType.string())
+                                        .then(busArgument()
+                                                .executes(ctx -> setBus(ctx, StringArgumentType.getString(ctx, "id"), StringArgumentType.getString(ctx, "bus"), null))
+                                                .then(Commands.argument("targets", EntityArgument.players())
+                                                        .executes(ctx -> setBus(ctx, StringArgumentType.getString(ctx, "id"), StringArgumentType.getString(ctx, "bus"), EntityArgument.getPlayers(ctx, "targets")))))))
+                        .then(Commands.literal("volume")
+                                .then(busArgument()
+                                        .then(Commands.argument("volume", FloatArgumentType.floatArg(0.0f, 2.0f))
+                                                .executes(ctx -> busAction(ctx, SoundControlPacket.Action.SET_BUS_VOLUME, FloatArgumentType.getFloat(ctx, "volume"), null))
+                                                .then(Commands.argument("targets", EntityArgument.players())
+                                                        .executes(ctx -> busAction(ctx, SoundControlPacket.Action.SET_BUS_VOLUME, FloatArgumentType.getFloat(ctx, "volume"), EntityArgument.getPlayers(ctx, "targets")))))))
+                        .then(busActionLiteral("mute", SoundControlPacket.Action.MUTE_BUS))
+                        .then(busActionLiteral("unmute", SoundControlPacket.Action.UNMUTE_BUS))
+                        .then(busActionLiteral("pause", SoundControlPacket.Action.PAUSE_BUS))
+                        .then(busActionLiteral("resume", SoundControlPacket.Action.RESUME_BUS)))
+
+                // /auralis ramp volume <id> <volume> <duration-ms> <curve> [targets]
+                // /auralis ramp pitch <id> <pitch> <duration-ms> <curve> [targets]
+                // /auralis ramp position <id> <position> <duration-ms> <curve> [targets]
+                .then(Commands.literal("ramp")
+                        .then(Commands.literal("volume")
+                                .then(Commands.argument("id", StringArgumentType.string())
+                                        .then(Commands.argument("volume", FloatArgumentType.floatArg(0.0f, 2.0f))
+                                                .then(rampTail(SoundControlPacket.Action.RAMP_VOLUME)))))
+                        .then(Commands.literal("pitch")
+                                .then(Commands.argument("id", StringArgumentType.string())
+                                        .then(Commands.argument("pitch", FloatArgumentType.floatArg(0.5f, 2.0f))
+                                                .then(rampTail(SoundControlPacket.Action.RAMP_PITCH)))))
+                        .then(Commands.literal("position")
+                                .then(Commands.argument("id", StringArgumentType.string())
+                                        .then(Commands.argument("position", Vec3Argument.vec3())
+                                                .then(rampTail(SoundControlPacket.Action.RAMP_POSITION))))))
+
+                // /auralis attach <id> <entity> [offset] [targets]
+                // /auralis detach <id> [targets]
+                .then(Commands.literal("attach")
+                        .then(Commands.argument("id", StringArgumentType.string())
+                                .then(Commands.argument("entity", EntityArgument.entity())
+                                        .executes(ctx -> attach(ctx, Vec3.ZERO, null))
+                                        .then(Commands.argument("offset", Vec3Argument.vec3(false))
+                                                .executes(ctx -> attach(ctx, Vec3Argument.getVec3(ctx, "offset"), null))
+                                                .then(Commands.argument("targets", EntityArgument.players())
+                                                        .executes(ctx -> attach(ctx, Vec3Argument.getVec3(ctx, "offset"), EntityArgument.getPlayers(ctx, "targets"))))))))
+                .then(Commands.literal("detach")
+                        .then(Commands.argument("id", StringArgumentType.string())
+                                .executes(ctx -> detach(ctx, StringArgumentType.getString(ctx, "id"), null))
+                                .then(Commands.argument("targets", EntityArgument.players())
+                                        .executes(ctx -> detach(ctx, StringArgumentType.getString(ctx, "id"), EntityArgument.getPlayers(ctx, "targets"))))))
+
+                // /auralis timeline start <run> <timeline> <position> [targets]
+                // /auralis timeline stop <run> [targets]
+                // /auralis timeline seek <run> <seconds> [targets]
+                .then(Commands.literal("timeline")
+                        .then(Commands.literal("start")
+                                .then(Commands.argument("run", StringArgumentType.string())
+                                        .then(Commands.argument("timeline", ResourceLocationArgument.id())
+                                                .then(Commands.argument("position", Vec3Argument.vec3())
+                                                        .executes(ctx -> startTimeline(ctx, null))
+                                                        .then(Commands.argument("targets", EntityArgument.players())
+                                                                .executes(ctx -> startTimeline(ctx, EntityArgument.getPlayers(ctx, "targets"))))))))
+                        .then(Commands.literal("stop")
+                                .then(Commands.argument("run", StringArgumentType.string())
+                                        .executes(ctx -> timelineControl(ctx, TimelineControlPacket.stop(StringArgumentType.getString(ctx, "run")), null))
+                                        .then(Commands.argument("targets", EntityArgument.players())
+                                                .executes(ctx -> timelineControl(ctx, TimelineControlPacket.stop(StringArgumentType.getString(ctx, "run")), EntityArgument.getPlayers(ctx, "targets"))))))
+                        .then(Commands.literal("seek")
+                                .then(Commands.argument("run", StringArgumentType.string())
+                                        .then(Commands.argument("seconds", FloatArgumentType.floatArg(0.0f))
+                                                .executes(ctx -> timelineControl(ctx, TimelineControlPacket.seek(StringArgumentType.getString(ctx, "run"), FloatArgumentType.getFloat(ctx, "seconds")), null))
+                                                .then(Commands.argument("targets", EntityArgument.players())
+                                                        .executes(ctx -> timelineControl(ctx, TimelineControlPacket.seek(StringArgumentType.getString(ctx, "run"), FloatArgumentType.getFloat(ctx, "seconds")), EntityArgument.getPlayers(ctx, "targets"))))))))
 
                 // /auralis pause <id> [targets]
                 .then(Commands.literal("pause")
@@ -139,7 +229,20 @@ public final class SoundCommand {
                                         .executes(ctx -> setMaxDistance(ctx, StringArgumentType.getString(ctx, "id"), FloatArgumentType.getFloat(ctx, "max-distance"), EntityArgument.getPlayers(ctx, "targets")))))))));
     }
 
-    private static int playSound(CommandContext<CommandSourceStack> ctx, Collection<ServerPlayer> explicitTargets, boolean isStreamed) throws CommandSyntaxException {
+    private static RequiredArgumentBuilder<CommandSourceStack, String> busArgument() {
+        return Commands.argument("bus", StringArgumentType.word())
+                .suggests((ctx, builder) -> SharedSuggestionProvider.suggest(AuralisBus.BUILT_IN, builder));
+    }
+
+    private static LiteralArgumentBuilder<CommandSourceStack> busActionLiteral(String name, SoundControlPacket.Action action) {
+        return Commands.literal(name)
+                .then(busArgument()
+                        .executes(ctx -> busAction(ctx, action, 0f, null))
+                        .then(Commands.argument("targets", EntityArgument.players())
+                                .executes(ctx -> busAction(ctx, action, 0f, EntityArgument.getPlayers(ctx, "targets")))));
+    }
+
+    private static int playSound(CommandContext<CommandSourceStack> ctx, Collection<ServerPlayer> explicitTargets, boolean isStreamed, String bus) throws CommandSyntaxException {
         Holder.Reference<?> holder = ResourceArgument.getResource(ctx, "sound", Registries.SOUND_EVENT);
         ResourceLocation soundEventId = holder.key().location();
 
@@ -154,6 +257,7 @@ public final class SoundCommand {
         float minDistance = FloatArgumentType.getFloat(ctx, "min-distance");
         float maxDistance = FloatArgumentType.getFloat(ctx, "max-distance");
 
+        if (!validBus(ctx, bus)) return 0;
         Collection<ServerPlayer> targets = resolveTargets(ctx, explicitTargets);
         if (targets == null) return 0;
 
@@ -169,7 +273,8 @@ public final class SoundCommand {
                 looping,
                 priority,
                 minDistance,
-                maxDistance
+                maxDistance,
+                bus
         );
 
         int sent = 0;
@@ -492,6 +597,179 @@ public final class SoundCommand {
         return 1;
     }
 
+    private static int setBus(CommandContext<CommandSourceStack> ctx, String id, String bus, Collection<ServerPlayer> explicitTargets) {
+        if (!validBus(ctx, bus)) return 0;
+        Collection<ServerPlayer> targets = resolveTargets(ctx, explicitTargets);
+        if (targets == null) return 0;
+
+        SoundControlPacket packet = new SoundControlPacket(
+                SoundControlPacket.Action.SET_BUS,
+                id,
+                new ResourceLocation("minecraft", "empty"),
+                0f, 0f, 0f,
+                false,
+                0d, 0d, 0d,
+                false,
+                0,
+                0.1f,
+                0.1f,
+                bus
+        );
+
+        int sent = 0;
+        for (ServerPlayer p : targets) {
+            NetworkHandler.CHANNEL.send(PacketDistributor.PLAYER.with(() -> p), packet);
+            sent++;
+        }
+        int finalSent = sent;
+        ctx.getSource().sendSuccess(() -> Component.literal("[GFBS Auralis] 已向 " + finalSent + " 名玩家设置总线 (id=" + id + ", bus=" + bus + ")"), false);
+        return 1;
+    }
+
+    private static int busAction(CommandContext<CommandSourceStack> ctx, SoundControlPacket.Action action, float volume, Collection<ServerPlayer> explicitTargets) {
+        String bus = StringArgumentType.getString(ctx, "bus");
+        if (!validBus(ctx, bus)) return 0;
+        Collection<ServerPlayer> targets = resolveTargets(ctx, explicitTargets);
+        if (targets == null) return 0;
+
+        SoundControlPacket packet = SoundControlPacket.forBus(action, bus, volume);
+
+        int sent = 0;
+        for (ServerPlayer p : targets) {
+            NetworkHandler.CHANNEL.send(PacketDistributor.PLAYER.with(() -> p), packet);
+            sent++;
+        }
+        int finalSent = sent;
+        String what = switch (action) {
+            case SET_BUS_VOLUME -> "设置总线音量 (bus=" + bus + ", volume=" + volume + ")";
+            case MUTE_BUS -> "静音总线 (bus=" + bus + ")";
+            case UNMUTE_BUS -> "取消静音总线 (bus=" + bus + ")";
+            case PAUSE_BUS -> "暂停总线 (bus=" + bus + ")";
+            case RESUME_BUS -> "恢复总线 (bus=" + bus + ")";
+            default -> action + " (bus=" + bus + ")";
+        };
+        ctx.getSource().sendSuccess(() -> Component.literal("[GFBS Auralis] 已向 " + finalSent + " 名玩家" + what), false);
+        return 1;
+    }
+
+    private static RequiredArgumentBuilder<CommandSourceStack, Integer> rampTail(SoundControlPacket.Action action) {
+        return Commands.argument("duration-ms", IntegerArgumentType.integer(0, 600000))
+                .then(Commands.argument("curve", StringArgumentType.word())
+                        .suggests((ctx, builder) -> SharedSuggestionProvider.suggest(
+                                Arrays.stream(AuralisRampCurve.values()).map(AuralisRampCurve::serializedName), builder))
+                        .executes(ctx -> ramp(ctx, action, null))
+                        .then(Commands.argument("targets", EntityArgument.players())
+                                .executes(ctx -> ramp(ctx, action, EntityArgument.getPlayers(ctx, "targets")))));
+    }
+
+    private static int ramp(CommandContext<CommandSourceStack> ctx, SoundControlPacket.Action action, Collection<ServerPlayer> explicitTargets) {
+        String id = StringArgumentType.getString(ctx, "id");
+        int durationMillis = IntegerArgumentType.getInteger(ctx, "duration-ms");
+        String curveName = StringArgumentType.getString(ctx, "curve");
+        AuralisRampCurve curve = AuralisRampCurve.byName(curveName);
+        if (curve == null) {
+            ctx.getSource().sendFailure(Component.literal("[GFBS Auralis] 未知的渐变曲线: " + curveName));
+            return 0;
+        }
+        Collection<ServerPlayer> targets = resolveTargets(ctx, explicitTargets);
+        if (targets == null) return 0;
+
+        float value = 0f;
+        Vec3 pos = Vec3.ZERO;
+        String what;
+        switch (action) {
+            case RAMP_VOLUME -> {
+                value = FloatArgumentType.getFloat(ctx, "volume");
+                what = "渐变音量 (id=" + id + ", volume=" + value;
+            }
+            case RAMP_PITCH -> {
+                value = FloatArgumentType.getFloat(ctx, "pitch");
+                what = "渐变音高 (id=" + id + ", pitch=" + value;
+            }
+            default -> {
+                pos = Vec3Argument.getVec3(ctx, "position");
+                what = "渐变位置 (id=" + id + ", pos=" + pos;
+            }
+        }
+        SoundControlPacket packet = SoundControlPacket.forRamp(action, id, value, pos, durationMillis, curve);
+
+        int sent = 0;
+        for (ServerPlayer p : targets) {
+            NetworkHandler.CHANNEL.send(PacketDistributor.PLAYER.with(() -> p), packet);
+            sent++;
+        }
+        int finalSent = sent;
+        String message = what + ", ms=" + durationMillis + ", curve=" + curve.serializedName() + ")";
+        ctx.getSource().sendSuccess(() -> Component.literal("[GFBS Auralis] 已向 " + finalSent + " 名玩家" + message), false);
+        return 1;
+    }
+
+    private static int attach(CommandContext<CommandSourceStack> ctx, Vec3 offset, Collection<ServerPlayer> explicitTargets) throws CommandSyntaxException {
+        String id = StringArgumentType.getString(ctx, "id");
+        Entity entity = EntityArgument.getEntity(ctx, "entity");
+        Collection<ServerPlayer> targets = resolveTargets(ctx, explicitTargets);
+        if (targets == null) return 0;
+
+        SoundControlPacket packet = SoundControlPacket.forEntity(SoundControlPacket.Action.ATTACH_ENTITY, id, entity.getId(), offset);
+
+        int sent = 0;
+        for (ServerPlayer p : targets) {
+            NetworkHandler.CHANNEL.send(PacketDistributor.PLAYER.with(() -> p), packet);
+            sent++;
+        }
+        int finalSent = sent;
+        ctx.getSource().sendSuccess(() -> Component.literal("[GFBS Auralis] 已向 " + finalSent + " 名玩家绑定实体 (id=" + id + ", entity=" + entity.getName().getString() + ")"), false);
+        return 1;
+    }
+
+    private static int detach(CommandContext<CommandSourceStack> ctx, String id, Collection<ServerPlayer> explicitTargets) {
+        Collection<ServerPlayer> targets = resolveTargets(ctx, explicitTargets);
+        if (targets == null) return 0;
+
+        SoundControlPacket packet = SoundControlPacket.forEntity(SoundControlPacket.Action.DETACH_ENTITY, id, -1, Vec3.ZERO);
+
+        int sent = 0;
+        for (ServerPlayer p : targets) {
+            NetworkHandler.CHANNEL.send(PacketDistributor.PLAYER.with(() -> p), packet);
+            sent++;
+        }
+        int finalSent = sent;
+        ctx.getSource().sendSuccess(() -> Component.literal("[GFBS Auralis] 已向 " + finalSent + " 名玩家解除实体绑定 (id=" + id + ")"), false);
+        return 1;
+    }
+
+    private static int startTimeline(CommandContext<CommandSourceStack> ctx, Collection<ServerPlayer> explicitTargets) {
+        String run = StringArgumentType.getString(ctx, "run");
+        ResourceLocation timeline = ResourceLocationArgument.getId(ctx, "timeline");
+        Vec3 origin = Vec3Argument.getVec3(ctx, "position");
+        return timelineControl(ctx, TimelineControlPacket.start(run, timeline, origin, 0f), explicitTargets);
+    }
+
+    private static int timelineControl(CommandContext<CommandSourceStack> ctx, TimelineControlPacket packet, Collection<ServerPlayer> explicitTargets) {
+        Collection<ServerPlayer> targets = resolveTargets(ctx, explicitTargets);
+        if (targets == null) return 0;
+
+        int sent = 0;
+        for (ServerPlayer p : targets) {
+            NetworkHandler.CHANNEL.send(PacketDistributor.PLAYER.with(() -> p), packet);
+            sent++;
+        }
+        int finalSent = sent;
+        String what = switch (packet.action) {
+            case START -> "启动时间线 (run=" + packet.runId + ", timeline=" + packet.timelineId + ")";
+            case STOP -> "停止时间线 (run=" + packet.runId + ")";
+            case SEEK -> "跳转时间线 (run=" + packet.runId + ", seconds=" + packet.seconds + ")";
+        };
+        ctx.getSource().sendSuccess(() -> Component.literal("[GFBS Auralis] 已向 " + finalSent + " 名玩家" + what), false);
+        return 1;
+    }
+
+    private static boolean validBus(CommandContext<CommandSourceStack> ctx, String bus) {
+        if (AuralisBus.normalize(bus) != null) return true;
+        ctx.getSource().sendFailure(Component.literal("[GFBS Auralis] 无效的总线名称: " + bus + "（仅限 1-" + AuralisBus.MAX_NAME_LENGTH + " 个字符：a-z 0-9 _ . -）"));
+        return false;
+    }
+
     private static Collection<ServerPlayer> resolveTargets(CommandContext<CommandSourceStack> ctx, Collection<ServerPlayer> explicitTargets) {
         if (explicitTargets != null) {
             return explicitTargets;
@@ -33,7 +33,7 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 public class NetworkHandler {
-    private static final String PROTOCOL_VERSION = "2";
+    private static final String PROTOCOL_VERSION = "6";
     public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
             new ResourceLocation(GFBsAuralis.MODID, "gfbs_auralis_main"),
             () -> PROTOCOL_VERSION,
@@ -51,6 +51,7 @@ public class NetworkHandler {
 
         // New: server->client sound control for the /auralis command
         registerMessage(SoundControlPacket.class, SoundControlPacket::encode, SoundControlPacket::decode, SoundControlPacket::handle);
+        registerMessage(TimelineControlPacket.class, TimelineControlPacket::encode, TimelineControlPacket::decode, TimelineControlPacket::handle);
     }
 
     private static <MSG> void registerMessage(Class<MSG> messageType,
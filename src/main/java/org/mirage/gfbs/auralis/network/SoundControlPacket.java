@@ -15,6 +15,8 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.network.NetworkEvent;
 import org.mirage.gfbs.auralis.ClientSoundController;
+import org.mirage.gfbs.auralis.api.AuralisBus;
+import org.mirage.gfbs.auralis.api.AuralisRampCurve;
 
 import java.util.function.Supplier;
 
@@ -32,7 +34,21 @@ public class SoundControlPacket {
         SET_LOOPING,
         SET_PRIORITY,
         SET_MIN_DISTANCE,
-        SET_MAX_DISTANCE
+        SET_MAX_DISTANCE,
+        // Bus actions: SET_BUS routes sound `id` to `bus`; the others act on `bus` itself.
+        SET_BUS,
+        SET_BUS_VOLUME,
+        MUTE_BUS,
+        UNMUTE_BUS,
+        PAUSE_BUS,
+        RESUME_BUS,
+        // Ramps of sound `id` to `volume` / `pitch` / x,y,z over `durationMillis`, evaluated client-side.
+        RAMP_VOLUME,
+        RAMP_PITCH,
+        RAMP_POSITION,
+        // ATTACH_ENTITY makes sound `id` follow `entityId` at offset x,y,z; DETACH_ENTITY undoes it.
+        ATTACH_ENTITY,
+        DETACH_ENTITY
     }
 
     public final Action action;
@@ -51,6 +67,13 @@ public class SoundControlPacket {
     public final int priority;
     public final float minDistance;
     public final float maxDistance;
+    // Mixer bus for PLAY / STREAMED_PLAY and the bus actions.
+    public final String bus;
+    // For the RAMP_* actions.
+    public final int durationMillis;
+    public final AuralisRampCurve curve;
+    // Entity to follow for ATTACH_ENTITY, and for PLAY / STREAMED_PLAY when not -1; x,y,z is then the offset.
+    public final int entityId;
 
     public SoundControlPacket(
             Action action,
@@ -67,6 +90,49 @@ public class SoundControlPacket {
             int priority,
             float minDistance,
             float maxDistance
+    ) {
+        this(action, id, soundEventId, volume, pitch, speed, isStatic, x, y, z, looping, priority, minDistance, maxDistance, AuralisBus.MASTER);
+    }
+
+    public SoundControlPacket(
+            Action action,
+            String id,
+            ResourceLocation soundEventId,
+            float volume,
+            float pitch,
+            float speed,
+            boolean isStatic,
+            double x,
+            double y,
+            double z,
+            boolean looping,
+            int priority,
+            float minDistance,
+            float maxDistance,
+            String bus
+    ) {
+        this(action, id, soundEventId, volume, pitch, speed, isStatic, x, y, z, looping, priority, minDistance, maxDistance, bus, 0, AuralisRampCurve.LINEAR, -1);
+    }
+
+    public SoundControlPacket(
+            Action action,
+            String id,
+            ResourceLocation soundEventId,
+            float volume,
+            float pitch,
+            float speed,
+            boolean isStatic,
+            double x,
+            double y,
+            double z,
+            boolean looping,
+            int priority,
+            float minDistance,
+            float maxDistance,
+            String bus,
+            int durationMillis,
+            AuralisRampCurve curve,
+            int entityId
     ) {
         this.action = action;
         this.id = id;
@@ -82,6 +148,28 @@ public class SoundControlPacket {
         this.priority = priority;
         this.minDistance = minDistance;
         this.maxDistance = maxDistance;
+        this.bus = bus;
+        this.durationMillis = durationMillis;
+        this.curve = curve;
+        this.entityId = entityId;
+    }
+
+    /** A bus action ({@link Action#SET_BUS_VOLUME}, {@link Action#MUTE_BUS}, ...) on {@code bus}. */
+    public static SoundControlPacket forBus(Action action, String bus, float volume) {
+        return new SoundControlPacket(action, "", new ResourceLocation("minecraft", "empty"), volume, 0f, 0f, false, 0d, 0d, 0d, false, 0, 0.1f, 0.1f, bus);
+    }
+
+    /**
+     * A ramp of sound {@code id}: {@code value} is the target volume or pitch, {@code target}
+     * the target position for {@link Action#RAMP_POSITION}.
+     */
+    public static SoundControlPacket forRamp(Action action, String id, float value, Vec3 target, int durationMillis, AuralisRampCurve curve) {
+        return new SoundControlPacket(action, id, new ResourceLocation("minecraft", "empty"), value, value, 0f, false, target.x, target.y, target.z, false, 0, 0.1f, 0.1f, AuralisBus.MASTER, durationMillis, curve, -1);
+    }
+
+    /** Attaches sound {@code id} to {@code entityId} at {@code offset}, or detaches it for {@link Action#DETACH_ENTITY}. */
+    public static SoundControlPacket forEntity(Action action, String id, int entityId, Vec3 offset) {
+        return new SoundControlPacket(action, id, new ResourceLocation("minecraft", "empty"), 0f, 0f, 0f, false, offset.x, offset.y, offset.z, false, 0, 0.1f, 0.1f, AuralisBus.MASTER, 0, AuralisRampCurve.LINEAR, entityId);
     }
 
     public static void encode(SoundControlPacket packet, FriendlyByteBuf buffer) {
@@ -101,6 +189,10 @@ public class SoundControlPacket {
         buffer.writeVarInt(packet.priority);
         buffer.writeFloat(packet.minDistance);
         buffer.writeFloat(packet.maxDistance);
+        buffer.writeUtf(packet.bus, AuralisBus.MAX_NAME_LENGTH);
+        buffer.writeVarInt(packet.durationMillis);
+        buffer.writeEnum(packet.curve);
+        buffer.writeVarInt(packet.entityId);
     }
 
     public static SoundControlPacket decode(FriendlyByteBuf buffer) {
@@ -120,8 +212,12 @@ public class SoundControlPacket {
         int priority = buffer.readVarInt();
         float minDistance = buffer.readFloat();
         float maxDistance = buffer.readFloat();
+        String bus = buffer.readUtf(AuralisBus.MAX_NAME_LENGTH);
+        int durationMillis = buffer.readVarInt();
+        AuralisRampCurve curve = buffer.readEnum(AuralisRampCurve.class);
+        int entityId = buffer.readVarInt();
 
-        return new SoundControlPacket(action, id, soundEventId, volume, pitch, speed, isStatic, x, y, z, looping, priority, minDistance, maxDistance);
+        return new SoundControlPacket(action, id, soundEventId, volume, pitch, speed, isStatic, x, y, z, looping, priority, minDistance, maxDistance, bus, durationMillis, curve, entityId);
     }
 
     public static void handle(SoundControlPacket packet, Supplier<NetworkEvent.Context> context) {
@@ -145,7 +241,9 @@ public class SoundControlPacket {
                         packet.priority,
                         packet.minDistance,
                         packet.maxDistance,
-                        false
+                        false,
+                        packet.bus,
+                        packet.entityId
                 );
                 case STREAMED_PLAY -> ClientSoundController.play(
                         packet.id,
@@ -159,7 +257,9 @@ public class SoundControlPacket {
                         packet.priority,
                         packet.minDistance,
                         packet.maxDistance,
-                        true
+                        true,
+                        packet.bus,
+                        packet.entityId
                 );
                 case PAUSE -> ClientSoundController.pause(packet.id);
                 case STOP -> ClientSoundController.stop(packet.id);
@@ -172,6 +272,17 @@ public class SoundControlPacket {
                 case SET_PRIORITY -> ClientSoundController.setPriority(packet.id, packet.priority);
                 case SET_MIN_DISTANCE -> ClientSoundController.setMinDistance(packet.id, packet.minDistance);
                 case SET_MAX_DISTANCE -> ClientSoundController.setMaxDistance(packet.id, packet.maxDistance);
+                case SET_BUS -> ClientSoundController.setBus(packet.id, packet.bus);
+                case SET_BUS_VOLUME -> ClientSoundController.setBusVolume(packet.bus, packet.volume);
+                case MUTE_BUS -> ClientSoundController.setBusMuted(packet.bus, true);
+                case UNMUTE_BUS -> ClientSoundController.setBusMuted(packet.bus, false);
+                case PAUSE_BUS -> ClientSoundController.setBusPaused(packet.bus, true);
+                case RESUME_BUS -> ClientSoundController.setBusPaused(packet.bus, false);
+                case RAMP_VOLUME -> ClientSoundController.rampVolume(packet.id, packet.volume, packet.durationMillis, packet.curve);
+                case RAMP_PITCH -> ClientSoundController.rampPitch(packet.id, packet.pitch, packet.durationMillis, packet.curve);
+                case RAMP_POSITION -> ClientSoundController.rampPosition(packet.id, new Vec3(packet.x, packet.y, packet.z), packet.durationMillis, packet.curve);
+                case ATTACH_ENTITY -> ClientSoundController.attachToEntity(packet.id, packet.entityId, new Vec3(packet.x, packet.y, packet.z));
+                case DETACH_ENTITY -> ClientSoundController.detachFromEntity(packet.id);
             }
         });
         ctx.setPacketHandled(true);
@@ -0,0 +1,98 @@
+package org.mirage.gfbs.auralis.network;
+
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ *
+ * Client-bound timeline control packet.
+ *
+ * The timeline itself is a client asset; the server only starts, stops and seeks runs of it,
+ * and the client sequences the sounds with its own clock.
+ */
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.network.NetworkEvent;
+import org.mirage.gfbs.auralis.ClientSoundController;
+
+import java.util.function.Supplier;
+
+public class TimelineControlPacket {
+    public enum Action {
+        START,
+        STOP,
+        SEEK
+    }
+
+    public final Action action;
+    public final String runId;
+
+    // For START
+    public final ResourceLocation timelineId;
+    public final double x;
+    public final double y;
+    public final double z;
+    // Start offset for START, target time for SEEK.
+    public final float seconds;
+
+    public TimelineControlPacket(Action action, String runId, ResourceLocation timelineId, double x, double y, double z, float seconds) {
+        this.action = action;
+        this.runId = runId;
+        this.timelineId = timelineId;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.seconds = seconds;
+    }
+
+    public static TimelineControlPacket start(String runId, ResourceLocation timelineId, Vec3 origin, float startSeconds) {
+        return new TimelineControlPacket(Action.START, runId, timelineId, origin.x, origin.y, origin.z, startSeconds);
+    }
+
+    public static TimelineControlPacket stop(String runId) {
+        return new TimelineControlPacket(Action.STOP, runId, new ResourceLocation("minecraft", "empty"), 0d, 0d, 0d, 0f);
+    }
+
+    public static TimelineControlPacket seek(String runId, float seconds) {
+        return new TimelineControlPacket(Action.SEEK, runId, new ResourceLocation("minecraft", "empty"), 0d, 0d, 0d, seconds);
+    }
+
+    public static void encode(TimelineControlPacket packet, FriendlyByteBuf buffer) {
+        buffer.writeVarInt(packet.action.ordinal());
+        buffer.writeUtf(packet.runId);
+        buffer.writeResourceLocation(packet.timelineId);
+        buffer.writeDouble(packet.x);
+        buffer.writeDouble(packet.y);
+        buffer.writeDouble(packet.z);
+        buffer.writeFloat(packet.seconds);
+    }
+
+    public static TimelineControlPacket decode(FriendlyByteBuf buffer) {
+        int actionOrdinal = buffer.readVarInt();
+        Action action = Action.values()[Math.max(0, Math.min(actionOrdinal, Action.values().length - 1))];
+        String runId = buffer.readUtf();
+        ResourceLocation timelineId = buffer.readResourceLocation();
+        double x = buffer.readDouble();
+        double y = buffer.readDouble();
+        double z = buffer.readDouble();
+        float seconds = buffer.readFloat();
+        return new TimelineControlPacket(action, runId, timelineId, x, y, z, seconds);
+    }
+
+    public static void handle(TimelineControlPacket packet, Supplier<NetworkEvent.Context> context) {
+        NetworkEvent.Context ctx = context.get();
+        ctx.enqueueWork(() -> {
+            if (!ctx.getDirection().getReceptionSide().isClient()) {
+                return;
+            }
+
+            switch (packet.action) {
+                case START -> ClientSoundController.startTimeline(packet.runId, packet.timelineId, new Vec3(packet.x, packet.y, packet.z), packet.seconds);
+                case STOP -> ClientSoundController.stopTimeline(packet.runId);
+                case SEEK -> ClientSoundController.seekTimeline(packet.runId, packet.seconds);
+            }
+        });
+        ctx.setPacketHandled(true);
+    }
+}
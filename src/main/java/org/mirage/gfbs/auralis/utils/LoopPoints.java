@@ -0,0 +1,98 @@
+package org.mirage.gfbs.auralis.utils;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.stb.STBVorbis;
+import org.lwjgl.stb.STBVorbisComment;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * A loop region in frames, {@code [startFrame, endFrame)}, as authored into the file with the
+ * {@code LOOPSTART}/{@code LOOPLENGTH} (or {@code LOOPEND}) comment convention used by RPG Maker
+ * and most game audio tools. Playback runs through the intro once, then repeats the region.
+ */
+public record LoopPoints(long startFrame, long endFrame) {
+    public LoopPoints {
+        if (startFrame < 0 || endFrame <= startFrame) {
+            throw new IllegalArgumentException("Invalid loop region: " + startFrame + ".." + endFrame);
+        }
+    }
+
+    /**
+     * Reads the loop comments of an open stb_vorbis handle.
+     *
+     * @param lengthInFrames stream length used to clamp the region, or -1 if unknown
+     * @return the region, or null if the file has none or it is malformed
+     */
+    @Nullable
+    static LoopPoints fromVorbisComments(long handle, long lengthInFrames) {
+        long start = -1;
+        long length = -1;
+        long end = -1;
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            STBVorbisComment comment = STBVorbis.stb_vorbis_get_comment(handle, STBVorbisComment.malloc(stack));
+            int count = comment.comment_list_length();
+            if (count <= 0) return null;
+            PointerBuffer list = comment.comment_list();
+            if (list == null) return null;
+            for (int i = 0; i < count; i++) {
+                String entry = MemoryUtil.memUTF8Safe(list.get(i));
+                if (entry == null) continue;
+                int eq = entry.indexOf('=');
+                if (eq <= 0) continue;
+                String key = entry.substring(0, eq).trim().toUpperCase(Locale.ROOT);
+                switch (key) {
+                    case "LOOPSTART" -> start = parseFrames(entry.substring(eq + 1));
+                    case "LOOPLENGTH" -> length = parseFrames(entry.substring(eq + 1));
+                    case "LOOPEND" -> end = parseFrames(entry.substring(eq + 1));
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        if (start < 0) return null;
+        if (length > 0) {
+            end = start + length;
+        } else if (end <= 0) {
+            // LOOPSTART alone loops to the end of the file, wherever that turns out to be.
+            end = (lengthInFrames > 0) ? lengthInFrames : Long.MAX_VALUE;
+        }
+        if (lengthInFrames > 0 && end > lengthInFrames) {
+            end = lengthInFrames;
+        }
+        return (end > start) ? new LoopPoints(start, end) : null;
+    }
+
+    private static long parseFrames(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
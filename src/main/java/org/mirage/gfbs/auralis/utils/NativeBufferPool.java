@@ -0,0 +1,121 @@
+package org.mirage.gfbs.auralis.utils;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+
+/**
+ * Recycles native buffers in power-of-two size classes (4 KB .. 1 MB), so decode bursts reuse
+ * the same scratch and chunk memory instead of churning the native allocator. Requests above the
+ * largest class are allocated exactly and freed on release.
+ * <p>
+ * Thread-safe. A buffer must be released at most once, and only the instance returned by
+ * {@link #acquire(int)} (not a slice or view of it).
+ */
+public final class NativeBufferPool {
+    private static final int MIN_CLASS_SHIFT = 12;
+    private static final int MAX_CLASS_SHIFT = 20;
+    private static final int CLASS_COUNT = MAX_CLASS_SHIFT - MIN_CLASS_SHIFT + 1;
+    private static final long DEFAULT_MAX_RETAINED_BYTES = 16L * 1024 * 1024;
+
+    private static final NativeBufferPool SHARED = new NativeBufferPool(DEFAULT_MAX_RETAINED_BYTES);
+
+    private final ArrayDeque<ByteBuffer>[] slabs;
+    private final long maxRetainedBytes;
+    private long retainedBytes;
+
+    @SuppressWarnings("unchecked")
+    public NativeBufferPool(long maxRetainedBytes) {
+        this.maxRetainedBytes = Math.max(0L, maxRetainedBytes);
+        this.slabs = new ArrayDeque[CLASS_COUNT];
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            slabs[i] = new ArrayDeque<>();
+        }
+    }
+
+    public static NativeBufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns a native-order buffer with at least {@code bytes} capacity, positioned at 0 with
+     * its limit at {@code bytes}.
+     */
+    public ByteBuffer acquire(int bytes) {
+        if (bytes < 0) throw new IllegalArgumentException("bytes < 0: " + bytes);
+        int cls = sizeClass(bytes);
+        ByteBuffer buf = null;
+        if (cls >= 0) {
+            synchronized (this) {
+                buf = slabs[cls].pollLast();
+                if (buf != null) retainedBytes -= buf.capacity();
+            }
+            if (buf == null) {
+                buf = MemoryUtil.memAlloc(1 << (cls + MIN_CLASS_SHIFT));
+            }
+        } else {
+            buf = MemoryUtil.memAlloc(bytes);
+        }
+        buf.order(ByteOrder.nativeOrder());
+        buf.clear().limit(bytes);
+        return buf;
+    }
+
+    public void release(ByteBuffer buf) {
+        if (buf == null) return;
+        int cap = buf.capacity();
+        int cls = sizeClass(cap);
+        if (cls >= 0 && (1 << (cls + MIN_CLASS_SHIFT)) == cap) {
+            synchronized (this) {
+                if (retainedBytes + cap <= maxRetainedBytes) {
+                    slabs[cls].addLast(buf);
+                    retainedBytes += cap;
+                    return;
+                }
+            }
+        }
+        MemoryUtil.memFree(buf);
+    }
+
+    /** Frees every retained buffer. */
+    public void trim() {
+        synchronized (this) {
+            for (ArrayDeque<ByteBuffer> slab : slabs) {
+                ByteBuffer buf;
+                while ((buf = slab.pollLast()) != null) {
+                    MemoryUtil.memFree(buf);
+                }
+            }
+            retainedBytes = 0;
+        }
+    }
+
+    private static int sizeClass(int bytes) {
+        if (bytes > (1 << MAX_CLASS_SHIFT)) return -1;
+        int shift = (bytes <= 1) ? 0 : 32 - Integer.numberOfLeadingZeros(bytes - 1);
+        return Math.max(shift, MIN_CLASS_SHIFT) - MIN_CLASS_SHIFT;
+    }
+}
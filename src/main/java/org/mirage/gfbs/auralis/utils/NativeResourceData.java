@@ -0,0 +1,92 @@
+package org.mirage.gfbs.auralis.utils;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import org.lwjgl.system.MemoryUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Whole-file resource contents in a direct buffer, ready to hand to native decoders.
+ * <p>
+ * The stream is read once, straight into a native buffer sized from
+ * {@link InputStream#available()}, with no heap staging copy. The hint is exact for the
+ * streams resource packs hand out (directory files, stored and deflated zip entries), so
+ * the buffer normally never has to grow.
+ */
+public final class NativeResourceData implements AutoCloseable {
+    private static final int FALLBACK_CAPACITY = 64 * 1024;
+
+    private final ByteBuffer data;
+    private boolean closed;
+
+    private NativeResourceData(ByteBuffer data) {
+        this.data = data;
+    }
+
+    /** The file contents, positioned at 0 with limit at the end of the data. */
+    public ByteBuffer data() {
+        if (closed) throw new IllegalStateException("NativeResourceData is closed");
+        return data;
+    }
+
+    public static NativeResourceData open(InputStream in, int maxBytes) throws IOException {
+        return new NativeResourceData(readToNative(in, maxBytes));
+    }
+
+    private static ByteBuffer readToNative(InputStream in, int maxBytes) throws IOException {
+        int hint = in.available();
+        // +1 so an exact hint reaches EOF without a grow.
+        int cap = (hint > 0 && hint < maxBytes) ? hint + 1 : FALLBACK_CAPACITY;
+        ByteBuffer out = MemoryUtil.memAlloc(cap);
+        try {
+            ReadableByteChannel channel = Channels.newChannel(in);
+            while (true) {
+                if (!out.hasRemaining()) {
+                    if (out.capacity() >= maxBytes) {
+                        throw new IllegalStateException("Audio data exceeds limit");
+                    }
+                    int grown = (int) Math.min((long) maxBytes, (long) out.capacity() + (out.capacity() >> 1) + 1);
+                    out = MemoryUtil.memRealloc(out, grown);
+                }
+                int r = channel.read(out);
+                if (r < 0) break;
+            }
+            out.flip();
+            return out;
+        } catch (Throwable t) {
+            MemoryUtil.memFree(out);
+            throw t;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        MemoryUtil.memFree(data);
+    }
+}
@@ -21,7 +21,10 @@ package org.mirage.gfbs.auralis.utils;
  * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
  * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  */
+import org.lwjgl.PointerBuffer;
 import org.lwjgl.openal.AL11;
+import org.lwjgl.openal.EXTFloat32;
+import org.lwjgl.openal.EXTMCFormats;
 import org.lwjgl.stb.STBVorbis;
 import org.lwjgl.stb.STBVorbisInfo;
 import org.lwjgl.system.MemoryStack;
@@ -34,6 +37,9 @@ import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
 
 public class OggVorbisDecoder {
     private OggVorbisDecoder() {}
@@ -41,14 +47,81 @@ public class OggVorbisDecoder {
     // 16-bit PCM range
     private static final float PCM16_MAX = 32767.0f;
     private static final float PCM16_MIN = -32768.0f;
+    private static final int PCM16_BIAS = 32768;
+    private static final float PCM16_ROUND_BIAS = PCM16_BIAS + 0.5f;
 
     // Chunk sizes tuned for low GC & good throughput.
     private static final int FULL_DECODE_FRAMES_PER_CHUNK = 8192;
     private static final int STREAM_DECODE_FRAMES_PER_CHUNK = 4096;
+    // Frames decoded past a full, exactly sized buffer before deciding to grow it.
+    private static final int EOF_PROBE_FRAMES = 256;
+    // stb_vorbis only downmixes layouts up to 5.1 itself when converting to short.
+    private static final int MAX_STB_SHORT_DOWNMIX_CHANNELS = 6;
+
+    private static final NativeBufferPool POOL = NativeBufferPool.shared();
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /** Output options shared by all decode paths. */
+    public static final class Options {
+        /**
+         * TPDF-dither when quantizing to 16-bit. When off, pull-decoders let stb_vorbis
+         * produce shorts directly, skipping the float pass.
+         */
+        public final boolean dither;
+        /**
+         * Emit 32-bit float PCM ({@code AL_EXT_FLOAT32} formats) instead of 16-bit, skipping
+         * quantization entirely at twice the memory. Only valid if the context has the extension.
+         */
+        public final boolean float32;
+        /**
+         * Keep quad, 5.1, 6.1 and 7.1 streams multichannel ({@code AL_EXT_MCFORMATS}) instead of
+         * downmixing to stereo. Only valid if the context has the extension.
+         */
+        public final boolean multichannel;
+
+        public Options(boolean dither) {
+            this(dither, false, false);
+        }
+
+        public Options(boolean dither, boolean float32) {
+            this(dither, float32, false);
+        }
+
+        public Options(boolean dither, boolean float32, boolean multichannel) {
+            this.dither = dither;
+            this.float32 = float32;
+            this.multichannel = multichannel;
+        }
+
+        public Options withFloat32(boolean float32) {
+            return (float32 == this.float32) ? this : new Options(dither, float32, multichannel);
+        }
+
+        public Options withMultichannel(boolean multichannel) {
+            return (multichannel == this.multichannel) ? this : new Options(dither, float32, multichannel);
+        }
+
+        public static Options defaults() {
+            return new Options(true, false, false);
+        }
+    }
 
     public static DecodedPcm decodeFully(InputStream in) throws Exception {
-        ByteBuffer ogg = readAllToNative(in, Integer.MAX_VALUE);
+        return decodeFully(in, Options.defaults());
+    }
+
+    public static DecodedPcm decodeFully(InputStream in, Options options) throws Exception {
+        try (NativeResourceData ogg = NativeResourceData.open(in, Integer.MAX_VALUE)) {
+            return decodeFully(ogg.data(), options);
+        }
+    }
 
+    /**
+     * Decodes a complete in-memory OGG file. {@code ogg} must be a direct buffer;
+     * it is only read and may be released once this returns.
+     */
+    public static DecodedPcm decodeFully(ByteBuffer ogg, Options options) throws Exception {
+        Objects.requireNonNull(options, "options");
         try (MemoryStack stack = MemoryStack.stackPush()) {
             IntBuffer error = stack.mallocInt(1);
             long handle = STBVorbis.stb_vorbis_open_memory(ogg, error, null);
@@ -64,149 +137,137 @@ public class OggVorbisDecoder {
                     throw new IllegalStateException("Invalid OGG/Vorbis info: channels=" + inChannels + ", sampleRate=" + sampleRate);
                 }
 
-                // OpenAL AL11 only guarantees mono/stereo. For >2ch Vorbis, downmix to stereo.
-                int outChannels = (inChannels <= 1) ? 1 : 2;
-                int alFormat = (outChannels == 1) ? AL11.AL_FORMAT_MONO16 : AL11.AL_FORMAT_STEREO16;
+                PcmWriter writer = new PcmWriter(inChannels, options);
+                int outChannels = writer.outChannels;
+                int alFormat = writer.alFormat();
 
                 // stb_vorbis_stream_length_in_samples can be 0/-1 for some edge cases.
                 int lengthInSamplesPerChannel = STBVorbis.stb_vorbis_stream_length_in_samples(handle);
                 int estimatedFrames = (lengthInSamplesPerChannel > 0) ? lengthInSamplesPerChannel : (sampleRate * 2);
-                int estimatedBytes = safeMul(safeMul(estimatedFrames, outChannels), 2);
+                int frameBytes = writer.frameBytes();
+                int estimatedBytes = safeMul(estimatedFrames, frameBytes);
 
-                ByteBuffer pcm = MemoryUtil.memAlloc(estimatedBytes);
-                pcm.order(ByteOrder.nativeOrder());
+                // Exact when the length is known; pooled up to the largest size class.
+                ByteBuffer pcm = POOL.acquire(estimatedBytes);
+                pcm.clear();
                 ShortBuffer pcmShort = pcm.asShortBuffer();
 
                 int writePosBytes = 0;
 
-                // Decode in float, then dither+convert to 16-bit PCM.
+                // Decode in float, then dither+convert to 16-bit PCM (or copy out as float32);
+                // or straight to 16-bit when dithering is off.
                 int framesPerChunk = FULL_DECODE_FRAMES_PER_CHUNK;
-                FloatBuffer inFloat = MemoryUtil.memAllocFloat(framesPerChunk * inChannels);
+                ByteBuffer inScratch = writer.useStbShorts() ? null : POOL.acquire(framesPerChunk * inChannels * Float.BYTES);
+                FloatBuffer inFloat = (inScratch == null) ? null : inScratch.asFloatBuffer();
+                // With a known length the buffer fills exactly at EOF; probe before growing it.
+                ShortBuffer probe = (inFloat == null && lengthInSamplesPerChannel > 0)
+                        ? stack.mallocShort(EOF_PROBE_FRAMES * outChannels)
+                        : null;
 
                 try {
-                    Dither dither = new Dither();
-                    float[] downmixTmp = (inChannels > 2) ? new float[framesPerChunk * 2] : null;
-                    float downmixGain = 1.0f;
-
                     while (true) {
-                        inFloat.clear();
-                        int framesDecoded = STBVorbis.stb_vorbis_get_samples_float_interleaved(handle, inChannels, inFloat);
-                        if (framesDecoded <= 0) break;
-
-                        int neededBytes = safeMul(safeMul(framesDecoded, outChannels), 2);
-                        if (writePosBytes + neededBytes > pcm.capacity()) {
-                            int newCap = growCapacity(pcm.capacity(), writePosBytes + neededBytes);
-                            ByteBuffer grown = MemoryUtil.memAlloc(newCap);
-                            grown.order(ByteOrder.nativeOrder());
-                            try {
-                                pcm.position(0).limit(writePosBytes);
-                                grown.put(pcm);
-                                MemoryUtil.memFree(pcm);
-                                pcm = grown;
+                        int framesDecoded;
+                        if (inFloat == null) {
+                            if (pcm.capacity() - writePosBytes < outChannels * 2) {
+                                int probed = 0;
+                                if (probe != null) {
+                                    probe.clear();
+                                    probed = STBVorbis.stb_vorbis_get_samples_short_interleaved(handle, outChannels, probe);
+                                    if (probed <= 0) break;
+                                }
+                                // Longer than reported, or no length at all.
+                                pcm = grow(pcm, writePosBytes, writePosBytes + safeMul(framesPerChunk, outChannels) * 2);
                                 pcmShort = pcm.asShortBuffer();
-                            } catch (Exception e) {
-                                MemoryUtil.memFree(grown);
-                                throw e;
+                                if (probed > 0) {
+                                    probe.position(0).limit(probed * outChannels);
+                                    pcmShort.clear().position(writePosBytes >> 1);
+                                    pcmShort.put(probe);
+                                    writePosBytes += probed * frameBytes;
+                                }
                             }
-                        }
+                            int start = writePosBytes >> 1;
+                            pcmShort.limit(Math.min(pcmShort.capacity(), start + framesPerChunk * outChannels)).position(start);
+                            framesDecoded = STBVorbis.stb_vorbis_get_samples_short_interleaved(handle, outChannels, pcmShort);
+                            if (framesDecoded <= 0) break;
+                        } else {
+                            inFloat.clear();
+                            framesDecoded = STBVorbis.stb_vorbis_get_samples_float_interleaved(handle, inChannels, inFloat);
+                            if (framesDecoded <= 0) break;
 
-                        pcmShort.position(writePosBytes >> 1);
+                            int neededBytes = safeMul(framesDecoded, frameBytes);
+                            if (writePosBytes + neededBytes > pcm.capacity()) {
+                                pcm = grow(pcm, writePosBytes, writePosBytes + neededBytes);
+                            }
 
-                        inFloat.position(0).limit(framesDecoded * inChannels);
-                        if (inChannels == outChannels) {
-                            // 1->1 or 2->2
-                            convertFloatToPcm16Interleaved(inFloat, pcmShort, framesDecoded, outChannels, dither);
-                        } else if (inChannels == 1 && outChannels == 2) {
-                            // Mono -> stereo duplicate.
-                            convertMonoToStereoPcm16(inFloat, pcmShort, framesDecoded, dither);
-                        } else {
-                            // >2ch -> stereo downmix.
-                            downmixToStereo(inFloat, framesDecoded, inChannels, downmixTmp);
-                            downmixGain = applyLimiterStereoGain(downmixTmp, framesDecoded, downmixGain);
-                            convertFloatArrayToPcm16Interleaved(downmixTmp, pcmShort, framesDecoded, 2, dither);
+                            pcm.clear().position(writePosBytes);
+
+                            inFloat.position(0).limit(framesDecoded * inChannels);
+                            writer.write(inFloat, framesDecoded, pcm);
                         }
 
-                        writePosBytes += neededBytes;
+                        writePosBytes += framesDecoded * frameBytes;
                     }
 
                     pcm.position(0).limit(writePosBytes);
                     return new DecodedPcm(alFormat, sampleRate, pcm);
                 } catch (Exception e) {
-                    MemoryUtil.memFree(pcm);
+                    POOL.release(pcm);
                     throw e;
                 } finally {
-                    MemoryUtil.memFree(inFloat);
+                    POOL.release(inScratch);
                 }
             } finally {
                 STBVorbis.stb_vorbis_close(handle);
             }
-        } finally {
-            MemoryUtil.memFree(ogg);
         }
     }
 
+    /**
+     * Seekable decoder over the whole compressed file held in native memory.
+     * Does not close {@code in}.
+     */
     public static StreamDecoder createStreamDecoder(InputStream in) throws Exception {
-        return new StreamDecoder(in);
+        return new StreamDecoder(in, Options.defaults());
     }
 
-    private static ByteBuffer readAllToNative(InputStream in, int maxBytes) throws Exception {
-        int cap = 64 * 1024;
-        ByteBuffer out = MemoryUtil.memAlloc(cap);
-        byte[] tmp = new byte[8192];
-        int total = 0;
-        try {
-            while (true) {
-                int r = in.read(tmp);
-                if (r < 0) break;
-                total += r;
-                if (total < 0 || total > maxBytes) {
-                    throw new IllegalStateException("OGG data exceeds limit");
-                }
-                if (total > out.capacity()) {
-                    int newCap = growCapacity(out.capacity(), total);
-                    ByteBuffer grown = MemoryUtil.memAlloc(newCap);
-                    try {
-                        out.position(0).limit(total - r);
-                        grown.put(out);
-                        MemoryUtil.memFree(out);
-                        out = grown;
-                    } catch (Exception e) {
-                        MemoryUtil.memFree(grown);
-                        throw e;
-                    }
-                }
-                out.put(tmp, 0, r);
-            }
-            out.flip();
-            return out;
-        } catch (Exception e) {
-            MemoryUtil.memFree(out);
-            throw e;
-        }
+    public static StreamDecoder createStreamDecoder(InputStream in, Options options) throws Exception {
+        return new StreamDecoder(in, Objects.requireNonNull(options, "options"));
+    }
+
+    /**
+     * Forward-only decoder that pulls the OGG from {@code in} in small windows, so only the
+     * current pages are resident. Takes ownership of {@code in} and closes it on close.
+     */
+    public static PushdataStreamDecoder createPushdataStreamDecoder(InputStream in) throws Exception {
+        return new PushdataStreamDecoder(in, Options.defaults());
     }
 
-    public static class StreamDecoder implements AutoCloseable {
-        private final ByteBuffer oggBuffer;
+    public static PushdataStreamDecoder createPushdataStreamDecoder(InputStream in, Options options) throws Exception {
+        return new PushdataStreamDecoder(in, Objects.requireNonNull(options, "options"));
+    }
+
+    public static class StreamDecoder implements PcmStreamDecoder {
+        private final NativeResourceData oggData;
         private long handle;
         private int inChannels;
         private int outChannels;
         private int sampleRate;
         private int alFormat;
+        private LoopPoints loopPoints;
         private boolean isOpen;
         private boolean eof;
 
+        private ByteBuffer floatScratch;
         private FloatBuffer floatChunk;
-        private float[] downmixTmp;
-        private final Dither dither = new Dither();
-        private float downmixGain = 1.0f;
+        private PcmWriter writer;
 
-        private StreamDecoder(InputStream in) throws Exception {
-            oggBuffer = readAllToNative(in, Integer.MAX_VALUE);
+        private StreamDecoder(InputStream in, Options options) throws Exception {
+            oggData = NativeResourceData.open(in, Integer.MAX_VALUE);
 
             try {
                 try (MemoryStack stack = MemoryStack.stackPush()) {
                     IntBuffer error = stack.mallocInt(1);
-                    handle = STBVorbis.stb_vorbis_open_memory(oggBuffer, error, null);
+                    handle = STBVorbis.stb_vorbis_open_memory(oggData.data(), error, null);
                     if (handle == MemoryUtil.NULL) {
                         throw new IllegalStateException("stb_vorbis_open_memory failed, error=" + error.get(0));
                     }
@@ -219,38 +280,50 @@ public class OggVorbisDecoder {
                             throw new IllegalStateException("Invalid OGG/Vorbis info: channels=" + inChannels + ", sampleRate=" + sampleRate);
                         }
 
-                        // AL11 safest output is mono/stereo.
-                        outChannels = (inChannels <= 1) ? 1 : 2;
-                        alFormat = (outChannels == 1) ? AL11.AL_FORMAT_MONO16 : AL11.AL_FORMAT_STEREO16;
+                        writer = new PcmWriter(inChannels, options);
+                        outChannels = writer.outChannels;
+                        alFormat = writer.alFormat();
 
                         isOpen = true;
                         eof = false;
+                        loopPoints = LoopPoints.fromVorbisComments(handle, lengthInFrames());
 
-                        int frames = STREAM_DECODE_FRAMES_PER_CHUNK;
-                        floatChunk = MemoryUtil.memAllocFloat(frames * inChannels);
-                        if (inChannels > 2) {
-                            downmixTmp = new float[frames * 2];
+                        if (!writer.useStbShorts()) {
+                            floatScratch = POOL.acquire(STREAM_DECODE_FRAMES_PER_CHUNK * inChannels * Float.BYTES);
+                            floatChunk = floatScratch.asFloatBuffer();
                         }
                     }
                 }
             } catch (Exception e) {
-                MemoryUtil.memFree(oggBuffer);
+                if (handle != MemoryUtil.NULL) {
+                    STBVorbis.stb_vorbis_close(handle);
+                }
+                oggData.close();
                 throw e;
             }
         }
 
+        @Override
         public int getChannels() {
             return outChannels;
         }
 
+        @Override
         public int getSampleRate() {
             return sampleRate;
         }
 
+        @Override
         public int getAlFormat() {
             return alFormat;
         }
 
+        @Override
+        public int getFrameBytes() {
+            return writer.frameBytes();
+        }
+
+        @Override
         public int decodeChunk(ByteBuffer output) {
             if (!isOpen) {
                 throw new IllegalStateException("Decoder is closed");
@@ -261,14 +334,27 @@ public class OggVorbisDecoder {
 
             output.order(ByteOrder.nativeOrder());
 
-            int bytesPerSample = 2;
-            int framesWanted = output.remaining() / (outChannels * bytesPerSample);
+            int frameBytes = writer.frameBytes();
+            int framesWanted = output.remaining() / frameBytes;
             if (framesWanted <= 0) {
                 return 0;
             }
 
             int framesPerCall = Math.min(framesWanted, STREAM_DECODE_FRAMES_PER_CHUNK);
 
+            if (floatChunk == null) {
+                ShortBuffer outShort = output.slice().order(ByteOrder.nativeOrder()).asShortBuffer();
+                outShort.limit(framesPerCall * outChannels);
+                int framesDecoded = STBVorbis.stb_vorbis_get_samples_short_interleaved(handle, outChannels, outShort);
+                if (framesDecoded <= 0) {
+                    eof = true;
+                    return 0;
+                }
+                int bytesDecoded = framesDecoded * frameBytes;
+                output.position(output.position() + bytesDecoded);
+                return bytesDecoded;
+            }
+
             floatChunk.clear();
             floatChunk.limit(framesPerCall * inChannels);
 
@@ -278,35 +364,50 @@ public class OggVorbisDecoder {
                 return 0;
             }
 
-            int bytesDecoded = framesDecoded * outChannels * bytesPerSample;
-            ShortBuffer outShort = output.slice().order(ByteOrder.nativeOrder()).asShortBuffer();
+            int start = output.position();
             floatChunk.position(0).limit(framesDecoded * inChannels);
+            writer.write(floatChunk, framesDecoded, output);
+            return output.position() - start;
+        }
 
-            if (inChannels == outChannels) {
-                convertFloatToPcm16Interleaved(floatChunk, outShort, framesDecoded, outChannels, dither);
-            } else if (inChannels == 1 && outChannels == 2) {
-                convertMonoToStereoPcm16(floatChunk, outShort, framesDecoded, dither);
-            } else {
-                downmixToStereo(floatChunk, framesDecoded, inChannels, downmixTmp);
-                downmixGain = applyLimiterStereoGain(downmixTmp, framesDecoded, downmixGain);
-                convertFloatArrayToPcm16Interleaved(downmixTmp, outShort, framesDecoded, 2, dither);
+        @Override
+        public boolean isEof() {
+            return !isOpen || eof;
+        }
+
+        @Override
+        public boolean seekToFrame(long frame) {
+            if (!isOpen) {
+                throw new IllegalStateException("Decoder is closed");
             }
+            if (frame < 0 || frame > Integer.MAX_VALUE) return false;
+            long length = lengthInFrames();
+            if (length >= 0 && frame >= length) return false;
+            if (!STBVorbis.stb_vorbis_seek(handle, (int) frame)) return false;
+            eof = false;
+            return true;
+        }
 
-            output.position(output.position() + bytesDecoded);
-            return bytesDecoded;
+        @Override
+        public long lengthInFrames() {
+            if (!isOpen) return -1;
+            int length = STBVorbis.stb_vorbis_stream_length_in_samples(handle);
+            return (length > 0) ? length : -1;
         }
 
-        public boolean isEof() {
-            return !isOpen || eof;
+        @Override
+        public LoopPoints loopPoints() {
+            return loopPoints;
         }
 
         @Override
         public void close() {
             if (isOpen) {
                 STBVorbis.stb_vorbis_close(handle);
-                MemoryUtil.memFree(oggBuffer);
-                if (floatChunk != null) {
-                    MemoryUtil.memFree(floatChunk);
+                oggData.close();
+                if (floatScratch != null) {
+                    POOL.release(floatScratch);
+                    floatScratch = null;
                     floatChunk = null;
                 }
                 isOpen = false;
@@ -314,6 +415,409 @@ public class OggVorbisDecoder {
         }
     }
 
+    public static final class PushdataStreamDecoder implements PcmStreamDecoder {
+        private static final int INITIAL_WINDOW_BYTES = 16 * 1024;
+        // Header packets (e.g. embedded cover art in comments) must fit in one window.
+        private static final int MAX_WINDOW_BYTES = 4 * 1024 * 1024;
+
+        private final InputStream in;
+        private final ReadableByteChannel channel;
+        // Read mode: [position, limit) is compressed data not yet consumed by stb_vorbis.
+        private ByteBuffer window;
+        private boolean inputEof;
+
+        private long handle;
+        private final int inChannels;
+        private final int sampleRate;
+        private final PcmWriter writer;
+
+        // Interleaved float frames decoded from the last Vorbis frame but not yet emitted.
+        private ByteBuffer pendingScratch;
+        private FloatBuffer pending;
+        private int pendingOffset;
+        private int pendingFrames;
+
+        private LoopPoints loopPoints;
+        private boolean isOpen;
+        private boolean eof;
+
+        private PushdataStreamDecoder(InputStream in, Options options) throws Exception {
+            this.in = in;
+            this.channel = Channels.newChannel(in);
+            this.window = POOL.acquire(INITIAL_WINDOW_BYTES);
+            this.window.limit(0);
+
+            try (MemoryStack stack = MemoryStack.stackPush()) {
+                IntBuffer consumed = stack.mallocInt(1);
+                IntBuffer error = stack.mallocInt(1);
+                while (true) {
+                    fillWindow();
+                    handle = STBVorbis.stb_vorbis_open_pushdata(window, consumed, error, null);
+                    if (handle != MemoryUtil.NULL) {
+                        window.position(window.position() + consumed.get(0));
+                        break;
+                    }
+                    if (error.get(0) != STBVorbis.VORBIS_need_more_data || inputEof) {
+                        throw new IllegalStateException("stb_vorbis_open_pushdata failed, error=" + error.get(0));
+                    }
+                }
+
+                try (STBVorbisInfo info = STBVorbisInfo.malloc(stack)) {
+                    STBVorbis.stb_vorbis_get_info(handle, info);
+                    inChannels = info.channels();
+                    sampleRate = info.sample_rate();
+                    if (inChannels <= 0 || sampleRate <= 0) {
+                        throw new IllegalStateException("Invalid OGG/Vorbis info: channels=" + inChannels + ", sampleRate=" + sampleRate);
+                    }
+                    int maxFrame = Math.max(info.max_frame_size(), STREAM_DECODE_FRAMES_PER_CHUNK);
+                    allocPending(maxFrame * inChannels);
+                }
+                writer = new PcmWriter(inChannels, options);
+                // The length is unknown here, so an unterminated region runs to EOF.
+                loopPoints = LoopPoints.fromVorbisComments(handle, -1);
+                isOpen = true;
+            } catch (Exception e) {
+                if (handle != MemoryUtil.NULL) {
+                    STBVorbis.stb_vorbis_close(handle);
+                }
+                POOL.release(window);
+                POOL.release(pendingScratch);
+                in.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public int getChannels() {
+            return writer.outChannels;
+        }
+
+        @Override
+        public int getSampleRate() {
+            return sampleRate;
+        }
+
+        @Override
+        public int getAlFormat() {
+            return writer.alFormat();
+        }
+
+        @Override
+        public int getFrameBytes() {
+            return writer.frameBytes();
+        }
+
+        @Override
+        public int decodeChunk(ByteBuffer output) {
+            if (!isOpen) {
+                throw new IllegalStateException("Decoder is closed");
+            }
+            output.order(ByteOrder.nativeOrder());
+
+            int frameBytes = writer.frameBytes();
+            int framesWanted = output.remaining() / frameBytes;
+            int framesWritten = 0;
+
+            while (framesWritten < framesWanted) {
+                if (pendingFrames == 0 && (eof || !decodeNextFrame())) {
+                    eof = true;
+                    break;
+                }
+                int n = Math.min(pendingFrames, framesWanted - framesWritten);
+                pending.limit((pendingOffset + n) * inChannels).position(pendingOffset * inChannels);
+                writer.write(pending, n, output);
+                pendingOffset += n;
+                pendingFrames -= n;
+                framesWritten += n;
+            }
+
+            return framesWritten * frameBytes;
+        }
+
+        private boolean decodeNextFrame() {
+            try (MemoryStack stack = MemoryStack.stackPush()) {
+                IntBuffer channels = stack.mallocInt(1);
+                PointerBuffer output = stack.mallocPointer(1);
+                IntBuffer samples = stack.mallocInt(1);
+                while (true) {
+                    int used = STBVorbis.stb_vorbis_decode_frame_pushdata(handle, window, channels, output, samples);
+                    window.position(window.position() + used);
+                    if (used == 0) {
+                        // Needs more data than the window currently holds.
+                        if (inputEof) return false;
+                        fillWindow();
+                        continue;
+                    }
+
+                    int frames = samples.get(0);
+                    if (frames <= 0) continue; // resync or header packet
+
+                    if (frames * inChannels > pending.capacity()) {
+                        POOL.release(pendingScratch);
+                        pendingScratch = null;
+                        allocPending(frames * inChannels);
+                    }
+                    // Bulk-copy each plane out and interleave over arrays, then one bulk put.
+                    Scratch scratch = SCRATCH.get();
+                    float[] plane = scratch.plane(frames);
+                    float[] interleaved = scratch.floats(frames * inChannels);
+                    PointerBuffer planes = MemoryUtil.memPointerBuffer(output.get(0), inChannels);
+                    for (int ch = 0; ch < inChannels; ch++) {
+                        MemoryUtil.memFloatBuffer(planes.get(ch), frames).get(plane, 0, frames);
+                        for (int f = 0, i = ch; f < frames; f++, i += inChannels) {
+                            interleaved[i] = plane[f];
+                        }
+                    }
+                    pending.put(0, interleaved, 0, frames * inChannels);
+                    pendingOffset = 0;
+                    pendingFrames = frames;
+                    return true;
+                }
+            } catch (java.io.IOException e) {
+                throw new IllegalStateException("Failed to read OGG data", e);
+            }
+        }
+
+        private void allocPending(int floats) {
+            pendingScratch = POOL.acquire(floats * Float.BYTES);
+            pending = pendingScratch.asFloatBuffer();
+        }
+
+        /** Compacts the unconsumed bytes to the front and reads more, growing a full window. */
+        private void fillWindow() throws java.io.IOException {
+            if (inputEof) return;
+            if (window.position() == 0 && window.limit() == window.capacity()) {
+                if (window.capacity() >= MAX_WINDOW_BYTES) {
+                    throw new IllegalStateException("OGG page exceeds pushdata window limit");
+                }
+                ByteBuffer grown = POOL.acquire(Math.min(MAX_WINDOW_BYTES, window.capacity() * 2));
+                grown.clear();
+                grown.put(window);
+                grown.flip();
+                POOL.release(window);
+                window = grown;
+            }
+            window.compact();
+            int r = channel.read(window);
+            if (r < 0) inputEof = true;
+            window.flip();
+        }
+
+        @Override
+        public boolean isEof() {
+            return !isOpen || eof;
+        }
+
+        /** Pushdata decoding is forward-only; use {@link StreamDecoder} to seek. */
+        @Override
+        public boolean seekToFrame(long frame) {
+            return false;
+        }
+
+        @Override
+        public boolean isSeekable() {
+            return false;
+        }
+
+        @Override
+        public long lengthInFrames() {
+            return -1;
+        }
+
+        @Override
+        public LoopPoints loopPoints() {
+            return loopPoints;
+        }
+
+        @Override
+        public void close() {
+            if (!isOpen) return;
+            isOpen = false;
+            STBVorbis.stb_vorbis_close(handle);
+            POOL.release(window);
+            POOL.release(pendingScratch);
+            try {
+                in.close();
+            } catch (java.io.IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Per-decoder conversion from decoded float samples to the output format: dithered or
+     * plain PCM16, or float32 with {@link Options#float32}. With {@link Options#multichannel},
+     * 4, 6, 7 and 8 channel layouts pass through, remapped to OpenAL's channel order;
+     * everything else above 2 channels is downmixed to stereo.
+     * <p>
+     * Samples are copied out in bulk and converted over plain arrays, which keeps the
+     * inner loops free of buffer bounds checks so the JIT can vectorize them.
+     */
+    private static final class PcmWriter {
+        final int inChannels;
+        final int outChannels;
+        private final Options options;
+        private final Dither dither;
+        // Vorbis -> OpenAL channel order for multichannel passthrough, else null.
+        private final int[] channelMap;
+        private float downmixGain = 1.0f;
+
+        PcmWriter(int inChannels, Options options) {
+            this.inChannels = inChannels;
+            this.options = options;
+            this.dither = options.dither ? new Dither() : null;
+            this.channelMap = options.multichannel ? vorbisToAlChannelMap(inChannels) : null;
+            this.outChannels = (channelMap != null) ? inChannels : ((inChannels <= 1) ? 1 : 2);
+        }
+
+        int alFormat() {
+            if (channelMap != null) {
+                return multichannelAlFormat(outChannels, options.float32);
+            }
+            if (options.float32) {
+                return (outChannels == 1) ? EXTFloat32.AL_FORMAT_MONO_FLOAT32 : EXTFloat32.AL_FORMAT_STEREO_FLOAT32;
+            }
+            return (outChannels == 1) ? AL11.AL_FORMAT_MONO16 : AL11.AL_FORMAT_STEREO16;
+        }
+
+        int frameBytes() {
+            return outChannels * (options.float32 ? 4 : 2);
+        }
+
+        /** Whether a pull decoder should skip the float pass and use stb_vorbis' own short output. */
+        boolean useStbShorts() {
+            // stb keeps Vorbis channel order, so multichannel output needs the remap pass.
+            return !options.float32 && !options.dither && channelMap == null
+                    && inChannels <= MAX_STB_SHORT_DOWNMIX_CHANNELS;
+        }
+
+        /**
+         * Reads {@code frames} interleaved frames from {@code in}'s position and writes them at
+         * {@code out}'s position in the output format, advancing both.
+         */
+        void write(FloatBuffer in, int frames, ByteBuffer out) {
+            Scratch scratch = SCRATCH.get();
+            int inSamples = frames * inChannels;
+            float[] floatTmp = scratch.floats(inSamples);
+            in.get(floatTmp, 0, inSamples);
+
+            float[] src = floatTmp;
+            if (channelMap != null) {
+                float[] remapped = scratch.downmix(inSamples);
+                remapChannels(floatTmp, frames, channelMap, remapped);
+                src = remapped;
+            } else if (inChannels > 2) {
+                // >2ch -> stereo downmix.
+                float[] downmixTmp = scratch.downmix(frames * 2);
+                downmixToStereo(floatTmp, frames, inChannels, downmixTmp);
+                downmixGain = applyLimiterStereoGain(downmixTmp, frames, downmixGain);
+                src = downmixTmp;
+            }
+
+            int outSamples = frames * outChannels;
+            out.order(ByteOrder.nativeOrder());
+            if (options.float32) {
+                out.asFloatBuffer().put(src, 0, outSamples);
+                out.position(out.position() + outSamples * 4);
+                return;
+            }
+
+            // Mono stays mono (outChannels is 1), so src already holds outSamples samples.
+            short[] shortTmp = scratch.shorts(outSamples);
+            float[] noise = null;
+            if (dither != null) {
+                float[] noiseTmp = scratch.noise(outSamples);
+                dither.fillTpdf(noiseTmp, outSamples);
+                noise = noiseTmp;
+            }
+            convertToPcm16(src, noise, shortTmp, outSamples);
+
+            out.asShortBuffer().put(shortTmp, 0, outSamples);
+            out.position(out.position() + outSamples * 2);
+        }
+    }
+
+    /**
+     * Conversion arrays, reused per thread since a write() never spans threads; only the
+     * limiter gain is per-stream state and stays in {@link PcmWriter}.
+     */
+    private static final class Scratch {
+        private float[] floats = new float[0];
+        private float[] plane = new float[0];
+        private float[] noise = new float[0];
+        private float[] downmix = new float[0];
+        private short[] shorts = new short[0];
+
+        float[] floats(int n) {
+            if (floats.length < n) floats = new float[n];
+            return floats;
+        }
+
+        float[] plane(int n) {
+            if (plane.length < n) plane = new float[n];
+            return plane;
+        }
+
+        float[] noise(int n) {
+            if (noise.length < n) noise = new float[n];
+            return noise;
+        }
+
+        float[] downmix(int n) {
+            if (downmix.length < n) downmix = new float[n];
+            return downmix;
+        }
+
+        short[] shorts(int n) {
+            if (shorts.length < n) shorts = new short[n];
+            return shorts;
+        }
+    }
+
+    /**
+     * Vorbis orders surround channels L, C, R, ...; OpenAL's multichannel formats use the
+     * WAVE order FL, FR, FC, LFE, ... Entry {@code i} is the Vorbis channel for AL channel {@code i}.
+     * Layouts without an AL format (3 and 5 channels) return null and are downmixed.
+     */
+    private static int[] vorbisToAlChannelMap(int channels) {
+        return switch (channels) {
+            case 4 -> new int[]{0, 1, 2, 3};                // FL FR RL RR
+            case 6 -> new int[]{0, 2, 1, 5, 3, 4};          // FL C FR RL RR LFE
+            case 7 -> new int[]{0, 2, 1, 6, 5, 3, 4};       // FL C FR SL SR RC LFE
+            case 8 -> new int[]{0, 2, 1, 7, 5, 6, 3, 4};    // FL C FR SL SR RL RR LFE
+            default -> null;
+        };
+    }
+
+    private static int multichannelAlFormat(int channels, boolean float32) {
+        return switch (channels) {
+            case 4 -> float32 ? EXTMCFormats.AL_FORMAT_QUAD32 : EXTMCFormats.AL_FORMAT_QUAD16;
+            case 6 -> float32 ? EXTMCFormats.AL_FORMAT_51CHN32 : EXTMCFormats.AL_FORMAT_51CHN16;
+            case 7 -> float32 ? EXTMCFormats.AL_FORMAT_61CHN32 : EXTMCFormats.AL_FORMAT_61CHN16;
+            case 8 -> float32 ? EXTMCFormats.AL_FORMAT_71CHN32 : EXTMCFormats.AL_FORMAT_71CHN16;
+            default -> throw new IllegalArgumentException("No multichannel format for " + channels + " channels");
+        };
+    }
+
+    private static void remapChannels(float[] in, int frames, int[] map, float[] out) {
+        int channels = map.length;
+        for (int ch = 0; ch < channels; ch++) {
+            int src = map[ch];
+            for (int f = 0, i = 0; f < frames; f++, i += channels) {
+                out[i + ch] = in[i + src];
+            }
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer pcm, int usedBytes, int neededBytes) {
+        ByteBuffer grown = POOL.acquire(growCapacity(pcm.capacity(), neededBytes));
+        pcm.position(0).limit(usedBytes);
+        grown.clear();
+        grown.put(pcm);
+        grown.clear();
+        POOL.release(pcm);
+        return grown;
+    }
+
     private static int safeMul(int a, int b) {
         long v = (long) a * (long) b;
         if (v > Integer.MAX_VALUE) {
@@ -331,7 +835,7 @@ public class OggVorbisDecoder {
         return cap;
     }
 
-    private static void downmixToStereo(FloatBuffer in, int frames, int inChannels, float[] outStereoInterleaved) {
+    private static void downmixToStereo(float[] in, int frames, int inChannels, float[] outStereoInterleaved) {
         // Heuristics assume Vorbis channel order similar to WAV for common layouts.
         // 1: mono
         // 3: L C R
@@ -343,48 +847,48 @@ public class OggVorbisDecoder {
         final float lfe = 0.0f; // ignore LFE for safety
 
         int dstIdx = 0;
-        int base = in.position();
+        int base = 0;
         for (int f = 0; f < frames; f++) {
             float L = 0, R = 0;
             if (inChannels == 3) {
                 int srcIdx = base + f * inChannels;
-                float l = in.get(srcIdx);
-                float c = in.get(srcIdx + 1);
-                float r = in.get(srcIdx + 2);
+                float l = in[srcIdx];
+                float c = in[srcIdx + 1];
+                float r = in[srcIdx + 2];
                 L = l + c * center;
                 R = r + c * center;
             } else if (inChannels == 4) {
                 int srcIdx = base + f * inChannels;
-                float l = in.get(srcIdx);
-                float r = in.get(srcIdx + 1);
-                float ls = in.get(srcIdx + 2);
-                float rs = in.get(srcIdx + 3);
+                float l = in[srcIdx];
+                float r = in[srcIdx + 1];
+                float ls = in[srcIdx + 2];
+                float rs = in[srcIdx + 3];
                 L = l + ls * surround;
                 R = r + rs * surround;
             } else if (inChannels == 5) {
                 int srcIdx = base + f * inChannels;
-                float l = in.get(srcIdx);
-                float c = in.get(srcIdx + 1);
-                float r = in.get(srcIdx + 2);
-                float ls = in.get(srcIdx + 3);
-                float rs = in.get(srcIdx + 4);
+                float l = in[srcIdx];
+                float c = in[srcIdx + 1];
+                float r = in[srcIdx + 2];
+                float ls = in[srcIdx + 3];
+                float rs = in[srcIdx + 4];
                 L = l + c * center + ls * surround;
                 R = r + c * center + rs * surround;
             } else if (inChannels >= 6) {
                 int srcIdx = base + f * inChannels;
-                float l = in.get(srcIdx);
-                float c = in.get(srcIdx + 1);
-                float r = in.get(srcIdx + 2);
-                float ls = in.get(srcIdx + 3);
-                float rs = in.get(srcIdx + 4);
-                float lfeCh = in.get(srcIdx + 5);
+                float l = in[srcIdx];
+                float c = in[srcIdx + 1];
+                float r = in[srcIdx + 2];
+                float ls = in[srcIdx + 3];
+                float rs = in[srcIdx + 4];
+                float lfeCh = in[srcIdx + 5];
                 L = l + c * center + ls * surround + lfeCh * lfe;
                 R = r + c * center + rs * surround + lfeCh * lfe;
             } else {
                 // Fallback: average even/odd channels
                 int srcIdx = base + f * inChannels;
                 for (int ch = 0; ch < inChannels; ch++) {
-                    float v = in.get(srcIdx + ch);
+                    float v = in[srcIdx + ch];
                     if ((ch & 1) == 0) L += v; else R += v;
                 }
                 float inv = 1.0f / Math.max(1, inChannels / 2);
@@ -423,40 +927,25 @@ public class OggVorbisDecoder {
         return newGain;
     }
 
-    private static void convertMonoToStereoPcm16(FloatBuffer mono, ShortBuffer outStereo, int frames, Dither dither) {
-        for (int i = 0; i < frames; i++) {
-            float v = mono.get();
-            short s = floatToPcm16(v, dither);
-            outStereo.put(s);
-            outStereo.put(s);
-        }
-    }
-
-    private static void convertFloatToPcm16Interleaved(FloatBuffer in, ShortBuffer out, int frames, int channels, Dither dither) {
-        int samples = frames * channels;
-        for (int i = 0; i < samples; i++) {
-            out.put(floatToPcm16(in.get(), dither));
-        }
-    }
-
-    private static void convertFloatArrayToPcm16Interleaved(float[] in, ShortBuffer out, int frames, int channels, Dither dither) {
-        int samples = frames * channels;
-        for (int i = 0; i < samples; i++) {
-            out.put(floatToPcm16(in[i], dither));
-        }
-    }
-
     /**
-     * Float PCM expected in [-1, 1]. Apply TPDF dithering then clamp and convert.
-     * This avoids nasty quantization distortion at low levels.
+     * Float PCM expected in [-1, 1]. Adds the (pre-scaled, optional) dither, clamps and
+     * rounds to 16-bit. Rounding is done by biasing into the positive range and truncating,
+     * which unlike {@link Math#round(float)} vectorizes.
      */
-    private static short floatToPcm16(float v, Dither dither) {
-        // TPDF dither amplitude ~= 1 LSB.
-        float d = dither.nextTpdf() * (1.0f / PCM16_MAX);
-        float x = (v + d) * PCM16_MAX;
-        if (x > PCM16_MAX) x = PCM16_MAX;
-        if (x < PCM16_MIN) x = PCM16_MIN;
-        return (short) Math.round(x);
+    private static void convertToPcm16(float[] in, float[] noise, short[] out, int samples) {
+        if (noise == null) {
+            for (int i = 0; i < samples; i++) {
+                float x = in[i] * PCM16_MAX;
+                x = Math.max(PCM16_MIN, Math.min(PCM16_MAX, x));
+                out[i] = (short) ((int) (x + PCM16_ROUND_BIAS) - PCM16_BIAS);
+            }
+        } else {
+            for (int i = 0; i < samples; i++) {
+                float x = (in[i] + noise[i]) * PCM16_MAX;
+                x = Math.max(PCM16_MIN, Math.min(PCM16_MAX, x));
+                out[i] = (short) ((int) (x + PCM16_ROUND_BIAS) - PCM16_BIAS);
+            }
+        }
     }
 
     private static final class Dither {
@@ -478,5 +967,12 @@ public class OggVorbisDecoder {
         float nextTpdf() {
             return (nextUniform() - nextUniform());
         }
+
+        /** TPDF noise of ~1 LSB amplitude, already scaled to float PCM. */
+        void fillTpdf(float[] out, int samples) {
+            for (int i = 0; i < samples; i++) {
+                out[i] = nextTpdf() * (1.0f / PCM16_MAX);
+            }
+        }
     }
 }
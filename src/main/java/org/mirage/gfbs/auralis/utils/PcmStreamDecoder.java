@@ -0,0 +1,75 @@
+package org.mirage.gfbs.auralis.utils;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Forward PCM decoder producing data ready for {@code alBufferData}.
+ * Not thread-safe; confine each decoder to one thread at a time.
+ */
+public interface PcmStreamDecoder extends AutoCloseable {
+    /** Output channel count. */
+    int getChannels();
+
+    int getSampleRate();
+
+    int getAlFormat();
+
+    /** Bytes per output frame, for all channels. */
+    int getFrameBytes();
+
+    /**
+     * Decodes into {@code output} from its position, advancing it.
+     *
+     * @return bytes written, or 0 once the stream is exhausted
+     */
+    int decodeChunk(ByteBuffer output);
+
+    boolean isEof();
+
+    /**
+     * Repositions decoding to {@code frame} (per-channel sample index) and clears EOF.
+     *
+     * @return false if the decoder cannot seek or the frame is past the end
+     */
+    boolean seekToFrame(long frame);
+
+    /** Whether {@link #seekToFrame} can succeed at all; forward-only decoders return false. */
+    default boolean isSeekable() {
+        return true;
+    }
+
+    /** Total length in frames, or -1 if unknown. */
+    long lengthInFrames();
+
+    /** Loop region authored into the file, or null if it has none. */
+    @Nullable
+    default LoopPoints loopPoints() {
+        return null;
+    }
+
+    @Override
+    void close();
+}
@@ -0,0 +1,135 @@
+package org.mirage.gfbs.auralis.utils;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: constant-time scheduling and expiry for many timers at a fixed tick
+ * resolution. A timer lands in the slot of its deadline tick; deadlines more than one
+ * rotation away share that slot and are skipped until their tick comes round.
+ * Timers never fire early and fire at most one tick late.
+ * Not thread-safe; confine to one thread.
+ */
+public final class TimingWheel<T> {
+    private static final class Entry<T> {
+        final long tick;
+        final T value;
+        Entry<T> next;
+
+        Entry(long tick, T value) {
+            this.tick = tick;
+            this.value = value;
+        }
+    }
+
+    private final long tickNanos;
+    private final Entry<T>[] slots;
+    private final int mask;
+    // Last tick processed by advance.
+    private long currentTick;
+    private int size;
+    // Cached result of nextDeadline while nextDeadlineValid.
+    private long nextDeadline;
+    private boolean nextDeadlineValid;
+
+    /**
+     * @param slotCount rounded up to a power of two
+     * @param nowNanos  current time on the same clock later passed to {@link #advance}
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickNanos, int slotCount, long nowNanos) {
+        if (tickNanos <= 0L) throw new IllegalArgumentException("tickNanos must be positive");
+        int n = Integer.highestOneBit(Math.max(2, slotCount - 1)) << 1;
+        this.tickNanos = tickNanos;
+        this.slots = (Entry<T>[]) new Entry[n];
+        this.mask = n - 1;
+        this.currentTick = Math.floorDiv(nowNanos, tickNanos);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Schedules {@code value} for {@code deadlineNanos}; a past deadline fires on the next advance. */
+    public void schedule(long deadlineNanos, T value) {
+        long tick = Math.max(currentTick + 1, -Math.floorDiv(-deadlineNanos, tickNanos));
+        int slot = (int) (tick & mask);
+        Entry<T> e = new Entry<>(tick, value);
+        e.next = slots[slot];
+        slots[slot] = e;
+        size++;
+        nextDeadlineValid = false;
+    }
+
+    /** Fires every timer due at {@code nowNanos}. Timers scheduled from {@code expired} wait for the next call. */
+    public void advance(long nowNanos, Consumer<? super T> expired) {
+        long target = Math.floorDiv(nowNanos, tickNanos);
+        if (target <= currentTick) return;
+        // A gap of more than one rotation still only needs to visit each slot once.
+        long end = Math.min(target, currentTick + slots.length);
+        long from = currentTick + 1;
+        currentTick = target;
+        if (size == 0) return;
+        nextDeadlineValid = false;
+
+        Entry<T> due = null;
+        for (long t = from; t <= end; t++) {
+            int slot = (int) (t & mask);
+            Entry<T> prev = null;
+            Entry<T> e = slots[slot];
+            while (e != null) {
+                Entry<T> next = e.next;
+                if (e.tick <= target) {
+                    if (prev == null) slots[slot] = next; else prev.next = next;
+                    size--;
+                    e.next = due;
+                    due = e;
+                } else {
+                    prev = e;
+                }
+                e = next;
+            }
+        }
+        // Fire after unlinking so callbacks can schedule freely.
+        for (Entry<T> e = due; e != null; e = e.next) {
+            expired.accept(e.value);
+        }
+    }
+
+    /**
+     * Time of the next tick that holds a timer, looking at most one rotation ahead, or
+     * {@link Long#MAX_VALUE} if the wheel is empty. Waking then is always safe: a timer a
+     * rotation or more away simply stays in its slot.
+     */
+    public long nextDeadline() {
+        if (size == 0) return Long.MAX_VALUE;
+        if (nextDeadlineValid) return nextDeadline;
+        long t = currentTick + 1;
+        for (int i = 0; i < slots.length; i++, t++) {
+            if (slots[(int) (t & mask)] != null) break;
+        }
+        nextDeadline = t * tickNanos;
+        nextDeadlineValid = true;
+        return nextDeadline;
+    }
+}
@@ -0,0 +1,228 @@
+package org.mirage.gfbs.auralis.utils;
+/**
+ * G.F.B.S.-Auralis (gfbs_auralis) - A Minecraft Mod
+ * Copyright (C) 2025-2029 Mirage-MC
+ * <p>
+ * This program is licensed under the MIT License.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software
+ * is provided to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all copies
+ * or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE
+ * FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+import org.lwjgl.openal.AL11;
+import org.mirage.gfbs.auralis.DecodedPcm;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * RIFF/WAVE loader for uncompressed 8/16-bit mono or stereo PCM. There is nothing to decode:
+ * the file is copied once into native memory and its data chunk is handed to OpenAL as-is.
+ */
+public final class WavDecoder {
+    private WavDecoder() {}
+
+    private static final int WAVE_FORMAT_PCM = 0x0001;
+    private static final int WAVE_FORMAT_EXTENSIBLE = 0xFFFE;
+
+    private static final int RIFF = 0x46464952; // "RIFF"
+    private static final int WAVE = 0x45564157; // "WAVE"
+    private static final int FMT = 0x20746D66;  // "fmt "
+    private static final int DATA = 0x61746164; // "data"
+
+    public static boolean isWavPath(String path) {
+        return path.regionMatches(true, path.length() - 4, ".wav", 0, 4);
+    }
+
+    /** The returned PCM usually views the file's native copy; {@link DecodedPcm} releases it when freed. */
+    public static DecodedPcm decodeFully(InputStream in) throws Exception {
+        NativeResourceData file = NativeResourceData.open(in, Integer.MAX_VALUE);
+        try {
+            Layout layout = parse(file.data());
+            ByteBuffer pcm = layout.data(file.data());
+            if (layout.bitsPerSample == 16 && ByteOrder.nativeOrder() != ByteOrder.LITTLE_ENDIAN) {
+                ByteBuffer swapped = NativeBufferPool.shared().acquire(pcm.remaining());
+                swapped.asShortBuffer().put(pcm.order(ByteOrder.LITTLE_ENDIAN).asShortBuffer());
+                file.close();
+                return new DecodedPcm(layout.alFormat(), layout.sampleRate, swapped);
+            }
+            return new DecodedPcm(layout.alFormat(), layout.sampleRate, pcm, file);
+        } catch (Exception e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /** Seekable stream over the data chunk. Does not close {@code in}. */
+    public static StreamDecoder createStreamDecoder(InputStream in) throws Exception {
+        NativeResourceData file = NativeResourceData.open(in, Integer.MAX_VALUE);
+        try {
+            return new StreamDecoder(file);
+        } catch (Exception e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    public static final class StreamDecoder implements PcmStreamDecoder {
+        private final NativeResourceData file;
+        private final Layout layout;
+        private final ByteBuffer data;
+        private boolean isOpen = true;
+
+        private StreamDecoder(NativeResourceData file) {
+            this.file = file;
+            this.layout = parse(file.data());
+            this.data = layout.data(file.data());
+        }
+
+        @Override
+        public int getChannels() {
+            return layout.channels;
+        }
+
+        @Override
+        public int getSampleRate() {
+            return layout.sampleRate;
+        }
+
+        @Override
+        public int getAlFormat() {
+            return layout.alFormat();
+        }
+
+        @Override
+        public int getFrameBytes() {
+            return layout.blockAlign;
+        }
+
+        @Override
+        public int decodeChunk(ByteBuffer output) {
+            if (!isOpen) {
+                throw new IllegalStateException("Decoder is closed");
+            }
+            int frameBytes = layout.blockAlign;
+            int n = Math.min(data.remaining(), output.remaining()) / frameBytes * frameBytes;
+            if (n <= 0) return 0;
+
+            ByteBuffer src = data.slice().limit(n);
+            if (layout.bitsPerSample == 16 && ByteOrder.nativeOrder() != ByteOrder.LITTLE_ENDIAN) {
+                output.slice().order(ByteOrder.nativeOrder()).asShortBuffer()
+                        .put(src.order(ByteOrder.LITTLE_ENDIAN).asShortBuffer());
+            } else {
+                output.slice().put(src);
+            }
+            data.position(data.position() + n);
+            output.position(output.position() + n);
+            return n;
+        }
+
+        @Override
+        public boolean isEof() {
+            return !isOpen || !data.hasRemaining();
+        }
+
+        @Override
+        public boolean seekToFrame(long frame) {
+            if (!isOpen) {
+                throw new IllegalStateException("Decoder is closed");
+            }
+            if (frame < 0 || frame >= lengthInFrames()) return false;
+            data.position((int) (frame * layout.blockAlign));
+            return true;
+        }
+
+        @Override
+        public long lengthInFrames() {
+            return data.limit() / layout.blockAlign;
+        }
+
+        @Override
+        public void close() {
+            if (!isOpen) return;
+            isOpen = false;
+            file.close();
+        }
+    }
+
+    private record Layout(int channels, int sampleRate, int bitsPerSample, int blockAlign, int dataOffset, int dataLength) {
+        int alFormat() {
+            if (bitsPerSample == 8) {
+                return (channels == 1) ? AL11.AL_FORMAT_MONO8 : AL11.AL_FORMAT_STEREO8;
+            }
+            return (channels == 1) ? AL11.AL_FORMAT_MONO16 : AL11.AL_FORMAT_STEREO16;
+        }
+
+        /** View of the data chunk in {@code file}, positioned at 0. */
+        ByteBuffer data(ByteBuffer file) {
+            return file.duplicate().position(dataOffset).limit(dataOffset + dataLength).slice();
+        }
+    }
+
+    private static Layout parse(ByteBuffer file) {
+        ByteBuffer b = file.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        b.position(0);
+        if (b.remaining() < 12 || b.getInt() != RIFF) {
+            throw new IllegalStateException("Not a RIFF file");
+        }
+        b.getInt(); // RIFF size, often wrong for streamed writers; chunk sizes are used instead.
+        if (b.getInt() != WAVE) {
+            throw new IllegalStateException("Not a WAVE file");
+        }
+
+        int channels = 0, sampleRate = 0, bits = 0, blockAlign = 0;
+        boolean haveFmt = false;
+        while (b.remaining() >= 8) {
+            int id = b.getInt();
+            long size = b.getInt() & 0xFFFFFFFFL;
+            int body = b.position();
+
+            if (id == FMT) {
+                if (size < 16) throw new IllegalStateException("Truncated WAV fmt chunk");
+                int tag = b.getShort() & 0xFFFF;
+                channels = b.getShort() & 0xFFFF;
+                sampleRate = b.getInt();
+                b.getInt(); // byte rate
+                blockAlign = b.getShort() & 0xFFFF;
+                bits = b.getShort() & 0xFFFF;
+                if (tag == WAVE_FORMAT_EXTENSIBLE && size >= 26) {
+                    // cbSize, valid bits, channel mask, then the sub-format GUID whose first field is the tag.
+                    b.position(body + 24);
+                    tag = b.getShort() & 0xFFFF;
+                }
+                if (tag != WAVE_FORMAT_PCM) {
+                    throw new IllegalStateException("Unsupported WAV encoding: 0x" + Integer.toHexString(tag));
+                }
+                if ((bits != 8 && bits != 16) || channels < 1 || channels > 2 || sampleRate <= 0
+                        || blockAlign != channels * bits / 8) {
+                    throw new IllegalStateException("Unsupported WAV layout: channels=" + channels + ", bits=" + bits + ", sampleRate=" + sampleRate);
+                }
+                haveFmt = true;
+            } else if (id == DATA) {
+                if (!haveFmt) throw new IllegalStateException("WAV data chunk before fmt chunk");
+                // Clamp to what is actually there, then to whole frames.
+                int length = (int) Math.min(size, b.limit() - body);
+                length -= length % blockAlign;
+                return new Layout(channels, sampleRate, bits, blockAlign, body, length);
+            }
+
+            long next = body + size + (size & 1); // chunks are word aligned
+            if (next > b.limit()) break;
+            b.position((int) next);
+        }
+        throw new IllegalStateException("WAV file has no data chunk");
+    }
+}